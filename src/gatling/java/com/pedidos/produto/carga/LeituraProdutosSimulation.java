@@ -0,0 +1,59 @@
+package com.pedidos.produto.carga;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.percent;
+import static io.gatling.javaapi.core.CoreDsl.randomSwitch;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Carga de leitura com usuários concorrentes fixos (modelo fechado): cada usuário dispara a próxima
+ * requisição assim que recebe a resposta, então o throughput mostra quantas requisições o serviço
+ * sustenta com aquela concorrência. Para comparar os modos, rode contra o serviço com
+ * {@code spring.threads.virtual.enabled} falso e verdadeiro.
+ * <p>
+ * Parâmetros: {@code -Dcarga.url}, {@code -Dcarga.usuarios}, {@code -Dcarga.duracao-segundos},
+ * {@code -Dcarga.maior-id} (maior ID existente na base usada).
+ */
+public class LeituraProdutosSimulation extends Simulation {
+
+    private static final String[] CATEGORIAS = {"CASA", "MODA", "ESPORTE", "LIVROS"};
+
+    private final String url = System.getProperty("carga.url", "http://localhost:8082");
+    private final int usuarios = Integer.getInteger("carga.usuarios", 400);
+    private final Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao-segundos", 60));
+    private final int maiorId = Integer.getInteger("carga.maior-id", 100_000);
+
+    private final HttpProtocolBuilder protocolo = http
+            .baseUrl(url)
+            .acceptHeader("application/json");
+
+    private final ScenarioBuilder leitura = scenario("Leitura de produtos")
+            .forever().on(
+                    randomSwitch().on(
+                            // Busca por ID: parte dos acessos cai no cache, parte vai ao banco
+                            percent(70).then(exec(http("buscar por id")
+                                    .get(sessao -> "/api/produtos/" + ThreadLocalRandom.current().nextInt(1, maiorId + 1))
+                                    .check(status().in(200, 404)))),
+                            // Listagem com filtros combinados: sempre vai ao banco
+                            percent(30).then(exec(http("listar por categoria e preço")
+                                    .get(sessao -> "/api/produtos?tamanho=20&categoria="
+                                            + CATEGORIAS[ThreadLocalRandom.current().nextInt(CATEGORIAS.length)]
+                                            + "&precoMin=" + ThreadLocalRandom.current().nextInt(10, 4000))
+                                    .check(status().is(200))))));
+
+    {
+        setUp(leitura.injectClosed(constantConcurrentUsers(usuarios).during(duracao)))
+                .protocols(protocolo)
+                .maxDuration(duracao);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pedidos.produto.benchmark;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados dos benchmarks, com o formato dos produtos reais: nomes e descrições com acento,
+ * SKU no padrão validado por {@link Produto} e preço com duas casas decimais.
+ */
+final class DadosBenchmark {
+
+    private static final String[] NOMES = {"Notebook Gamer", "Câmera Digital", "Tênis de Corrida",
+            "Cadeira de Escritório", "Fone Bluetooth", "Panela de Pressão", "Livro de Receitas", "Relógio Inteligente"};
+    private static final String[] CATEGORIAS = {"ELETRÔNICOS", "INFORMÁTICA", "CASA", "MODA", "ESPORTE", "LIVROS"};
+    private static final LocalDateTime DATA_BASE = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private DadosBenchmark() {
+    }
+
+    static String nome(int indice) {
+        return NOMES[indice % NOMES.length] + " " + indice;
+    }
+
+    static String sku(int indice) {
+        return String.format("SKU-%08d", indice);
+    }
+
+    static String descricao(int indice) {
+        return "Descrição do produto " + indice + " com especificações técnicas e garantia de fábrica";
+    }
+
+    static BigDecimal preco(int indice) {
+        return BigDecimal.valueOf(1_000 + (indice * 37L) % 500_000, 2);
+    }
+
+    static String categoria(int indice) {
+        return CATEGORIAS[indice % CATEGORIAS.length];
+    }
+
+    static List<ProdutoEntity> entidades(int quantidade) {
+        List<ProdutoEntity> entidades = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            entidades.add(ProdutoEntity.builder()
+                    .id((long) i + 1)
+                    .nome(nome(i))
+                    .sku(sku(i))
+                    .descricao(descricao(i))
+                    .preco(preco(i))
+                    .categoria(categoria(i))
+                    .ativo(i % 5 != 0)
+                    .createdAt(DATA_BASE.plusMinutes(i))
+                    .updatedAt(DATA_BASE.plusMinutes(i))
+                    .build());
+        }
+        return entidades;
+    }
+}
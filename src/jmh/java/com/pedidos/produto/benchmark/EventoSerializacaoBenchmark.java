@@ -0,0 +1,153 @@
+package com.pedidos.produto.benchmark;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.kafka.FormatoEvento;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoDeserializer;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoSerializer;
+import com.pedidos.produto.gateway.kafka.ProdutoTopicos;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eventos de produto em JSON e em Avro: tempo por evento para serializar e desserializar, e montagem de um
+ * lote do produtor comprimido em lz4 e zstd. O lote tem o tamanho de um ciclo do relay do outbox, com um evento
+ * enxuto e um snapshot por produto. Os tamanhos (bytes por evento e do lote comprimido) saem como contadores
+ * auxiliares de {@link #tamanhoLote}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EventoSerializacaoBenchmark {
+
+    private static final int EVENTOS = 500;
+
+    @Param({"JSON", "AVRO"})
+    private FormatoEvento formato;
+
+    private ProdutoEventoSerializer serializer;
+    private ProdutoEventoDeserializer deserializer;
+    private List<ProdutoEventMessage> eventos;
+    private byte[][] chaves;
+    private byte[][] serializados;
+
+    @Setup
+    public void preparar() {
+        serializer = new ProdutoEventoSerializer(formato);
+        deserializer = new ProdutoEventoDeserializer();
+        eventos = new ArrayList<>(EVENTOS);
+        chaves = new byte[EVENTOS][];
+        DadosBenchmark.entidades(EVENTOS / 2).forEach(entidade -> {
+            Produto produto = Produto.builder()
+                    .id(entidade.getId())
+                    .nome(entidade.getNome())
+                    .sku(entidade.getSku())
+                    .descricao(entidade.getDescricao())
+                    .preco(entidade.getPreco())
+                    .categoria(entidade.getCategoria())
+                    .ativo(entidade.getAtivo())
+                    .versao(1L)
+                    .build();
+            eventos.add(ProdutoEventMessage.de("PRODUTO_ATUALIZADO", produto));
+            eventos.add(ProdutoEventMessage.snapshot("PRODUTO_ATUALIZADO", produto));
+        });
+        serializados = new byte[EVENTOS][];
+        for (int i = 0; i < EVENTOS; i++) {
+            chaves[i] = ProdutoTopicos.chave(eventos.get(i).getProdutoId()).getBytes(StandardCharsets.UTF_8);
+            serializados[i] = serializer.serialize(ProdutoTopicos.EVENTOS, eventos.get(i));
+        }
+    }
+
+    /**
+     * Tamanhos em bytes do lote no formato do parâmetro, publicados como métricas secundárias do resultado.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TamanhoLote {
+        public double bytesPorEvento;
+        public long loteSemCompressao;
+        public long loteLz4;
+        public long loteZstd;
+    }
+
+    // Uma medição basta: os tamanhos não variam entre execuções, só o tempo de montagem dos três lotes
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void tamanhoLote(TamanhoLote tamanho) {
+        long bytes = 0;
+        for (byte[] dados : serializados) {
+            bytes += dados.length;
+        }
+        tamanho.bytesPorEvento = (double) bytes / EVENTOS;
+        tamanho.loteSemCompressao = montarLote(Compression.NONE);
+        tamanho.loteLz4 = montarLote(Compression.lz4().build());
+        tamanho.loteZstd = montarLote(Compression.zstd().build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public void serializar(Blackhole blackhole) {
+        for (ProdutoEventMessage evento : eventos) {
+            blackhole.consume(serializer.serialize(ProdutoTopicos.EVENTOS, evento));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public void desserializar(Blackhole blackhole) {
+        for (byte[] dados : serializados) {
+            blackhole.consume(deserializer.deserialize(ProdutoTopicos.EVENTOS, dados));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public int comprimirLoteLz4() {
+        return montarLote(Compression.lz4().build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public int comprimirLoteZstd() {
+        return montarLote(Compression.zstd().build());
+    }
+
+    // Mesmo formato de lote (v2, com chave e timestamp) que o produtor envia ao broker
+    private int montarLote(Compression compressao) {
+        MemoryRecordsBuilder lote = MemoryRecords.builder(ByteBuffer.allocate(256 * 1024), compressao,
+                TimestampType.CREATE_TIME, 0L);
+        long agora = System.currentTimeMillis();
+        for (int i = 0; i < EVENTOS; i++) {
+            lote.append(agora, chaves[i], serializados[i]);
+        }
+        return lote.build().sizeInBytes();
+    }
+}
@@ -0,0 +1,66 @@
+package com.pedidos.produto.benchmark;
+
+import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.gateway.jpa.ProdutoJpaGateway;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapeamento {@code ProdutoEntity -> Produto -> ProdutoJson} das respostas de listagem, passando pelo
+ * {@link ProdutoJpaGateway} real. O repositório é um proxy que devolve entidades já carregadas, de modo
+ * que só a conversão é medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapeamentoBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int quantidade;
+
+    private ProdutoJpaGateway gateway;
+    private List<Long> ids;
+
+    @Setup
+    public void preparar() {
+        List<ProdutoEntity> entidades = DadosBenchmark.entidades(quantidade);
+        ids = entidades.stream().map(ProdutoEntity::getId).collect(Collectors.toList());
+
+        ProdutoRepository repositorio = (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(),
+                new Class<?>[]{ProdutoRepository.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("findAllById")) {
+                        return entidades;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        gateway = new ProdutoJpaGateway(repositorio, null);
+    }
+
+    @Benchmark
+    public List<ProdutoJson> entidadeParaJson() {
+        return gateway.buscarPorIds(ids).stream()
+                .map(ProdutoJson::fromDomain)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,63 @@
+package com.pedidos.produto.benchmark;
+
+import com.pedidos.produto.domain.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção de {@link Produto} pelo construtor com validação (nome, SKU por regex e preço),
+ * caminho da criação, da atualização e de cada linha da importação em massa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ProdutoBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int quantidade;
+
+    private String[] nomes;
+    private String[] skus;
+    private String[] descricoes;
+    private BigDecimal[] precos;
+    private String[] categorias;
+
+    @Setup
+    public void preparar() {
+        nomes = new String[quantidade];
+        skus = new String[quantidade];
+        descricoes = new String[quantidade];
+        precos = new BigDecimal[quantidade];
+        categorias = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            nomes[i] = DadosBenchmark.nome(i);
+            skus[i] = DadosBenchmark.sku(i);
+            descricoes[i] = DadosBenchmark.descricao(i);
+            precos[i] = DadosBenchmark.preco(i);
+            categorias[i] = DadosBenchmark.categoria(i);
+        }
+    }
+
+    @Benchmark
+    public void criarProdutos(Blackhole blackhole) {
+        for (int i = 0; i < quantidade; i++) {
+            blackhole.consume(new Produto(nomes[i], skus[i], descricoes[i], precos[i], categorias[i]));
+        }
+    }
+}
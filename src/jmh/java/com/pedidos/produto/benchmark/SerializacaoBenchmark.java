@@ -0,0 +1,69 @@
+package com.pedidos.produto.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.domain.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialização Jackson do corpo de {@code GET /api/produtos} ({@code List<ProdutoJson>}), com o
+ * ObjectMapper montado pelo mesmo builder usado pelo Spring Boot. A saída é descartada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SerializacaoBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int quantidade;
+
+    private ObjectWriter writer;
+    private List<ProdutoJson> produtos;
+
+    @Setup
+    public void preparar() {
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(new TypeReference<List<ProdutoJson>>() {
+                });
+        produtos = DadosBenchmark.entidades(quantidade).stream()
+                .map(entidade -> Produto.builder()
+                        .id(entidade.getId())
+                        .nome(entidade.getNome())
+                        .sku(entidade.getSku())
+                        .descricao(entidade.getDescricao())
+                        .preco(entidade.getPreco())
+                        .categoria(entidade.getCategoria())
+                        .ativo(entidade.getAtivo())
+                        .createdAt(entidade.getCreatedAt())
+                        .updatedAt(entidade.getUpdatedAt())
+                        .build())
+                .map(ProdutoJson::fromDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void serializarListagem() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), produtos);
+    }
+}
@@ -0,0 +1,44 @@
+package com.pedidos.produto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Política de Cache-Control por endpoint de leitura ({@code produto.http.cache.<endpoint>.*}). Sem
+ * {@code max-age} a resposta sai com {@code no-cache}: pode ser guardada, mas é revalidada a cada uso.
+ */
+@Component
+@ConfigurationProperties(prefix = "produto.http.cache")
+@Getter
+@Setter
+public class CacheHttpProperties {
+
+    private Politica porId = new Politica();
+    private Politica porSku = new Politica();
+
+    @Getter
+    @Setter
+    public static class Politica {
+        private Duration maxAge;
+        /** Validade em caches compartilhados (CDN), enviada como {@code s-maxage}. */
+        private Duration maxAgeCdn;
+        private Duration staleWhileRevalidate;
+        private boolean publico = true;
+
+        public CacheControl paraCacheControl() {
+            CacheControl cacheControl = maxAge != null ? CacheControl.maxAge(maxAge) : CacheControl.noCache();
+            if (maxAgeCdn != null) {
+                cacheControl.sMaxAge(maxAgeCdn);
+            }
+            if (staleWhileRevalidate != null) {
+                cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+            }
+            return publico ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+        }
+    }
+}
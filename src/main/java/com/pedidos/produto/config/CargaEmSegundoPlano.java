@@ -0,0 +1,38 @@
+package com.pedidos.produto.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Carga inicial de estruturas em memória fora da thread de subida, repetida até dar certo.
+ */
+@Slf4j
+final class CargaEmSegundoPlano {
+
+    private CargaEmSegundoPlano() {
+    }
+
+    static void iniciar(String nome, Runnable carga, Duration intervaloNovaTentativa) {
+        Thread thread = new Thread(() -> executar(nome, carga, intervaloNovaTentativa), nome);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void executar(String nome, Runnable carga, Duration intervaloNovaTentativa) {
+        while (true) {
+            try {
+                carga.run();
+                return;
+            } catch (Exception e) {
+                log.error("Erro na carga {}, nova tentativa em {}: {}", nome, intervaloNovaTentativa, e.getMessage(), e);
+            }
+            try {
+                Thread.sleep(intervaloNovaTentativa.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
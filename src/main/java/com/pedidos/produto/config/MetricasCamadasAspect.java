@@ -0,0 +1,105 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.domain.Pagina;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de cada operação dos casos de uso e do {@code ProdutoGateway}, quantidade de itens devolvidos pelas
+ * consultas de lista e erros por tipo de exceção. Comparando as camadas dá para ver onde a requisição passou
+ * o tempo sem ligar o log de SQL; o gateway aparece uma vez por implementação (cache e JPA), na tag classe.
+ * Os histogramas (p50/p95/p99 no Prometheus) são ligados em {@code management.metrics.distribution.*}.
+ */
+@Aspect
+@Component
+public class MetricasCamadasAspect {
+
+    static final String TEMPO_USECASE = "produto.usecase";
+    static final String TEMPO_GATEWAY = "produto.gateway";
+    static final String ITENS_GATEWAY = "produto.gateway.itens";
+    static final String ERROS = "produto.erros";
+
+    private static final String SEM_EXCECAO = "none";
+
+    private final Meter.MeterProvider<Timer> tempoUsecase;
+    private final Meter.MeterProvider<Timer> tempoGateway;
+    private final Meter.MeterProvider<DistributionSummary> itensGateway;
+    private final Meter.MeterProvider<Counter> erros;
+
+    public MetricasCamadasAspect(MeterRegistry meterRegistry) {
+        this.tempoUsecase = Timer.builder(TEMPO_USECASE)
+                .description("Duração das operações dos casos de uso")
+                .withRegistry(meterRegistry);
+        this.tempoGateway = Timer.builder(TEMPO_GATEWAY)
+                .description("Duração das operações do gateway de produtos")
+                .withRegistry(meterRegistry);
+        this.itensGateway = DistributionSummary.builder(ITENS_GATEWAY)
+                .description("Itens devolvidos pelas consultas de lista do gateway de produtos")
+                .baseUnit("produtos")
+                .withRegistry(meterRegistry);
+        this.erros = Counter.builder(ERROS)
+                .description("Exceções lançadas pelos casos de uso e pelo gateway de produtos")
+                .withRegistry(meterRegistry);
+    }
+
+    // Quem devolve Publisher só monta o fluxo; o tempo da leitura reativa fica no http.server.requests
+    @Around("execution(public * com.pedidos.produto.usecase..*(..)) && !execution(org.reactivestreams.Publisher+ *(..))")
+    public Object medirUsecase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "usecase", tempoUsecase);
+    }
+
+    @Around("execution(* com.pedidos.produto.gateway.ProdutoGateway.*(..))")
+    public Object medirGateway(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object resultado = medir(joinPoint, "gateway", tempoGateway);
+        int itens = contarItens(resultado);
+        if (itens >= 0) {
+            itensGateway.withTags("classe", classe(joinPoint), "metodo", joinPoint.getSignature().getName())
+                    .record(itens);
+        }
+        return resultado;
+    }
+
+    private Object medir(ProceedingJoinPoint joinPoint, String camada, Meter.MeterProvider<Timer> tempo) throws Throwable {
+        String excecao = SEM_EXCECAO;
+        long inicio = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            erros.withTags("camada", camada, "excecao", excecao).increment();
+            throw e;
+        } finally {
+            tempo.withTags("classe", classe(joinPoint), "metodo", joinPoint.getSignature().getName(), "excecao", excecao)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String classe(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getTarget().getClass().getSimpleName();
+    }
+
+    // -1 para retornos que não são listas (Optional, contagens, void)
+    private static int contarItens(Object resultado) {
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Map<?, ?> mapa) {
+            return mapa.size();
+        }
+        if (resultado instanceof Pagina<?> pagina) {
+            return pagina.getItens().size();
+        }
+        return -1;
+    }
+}
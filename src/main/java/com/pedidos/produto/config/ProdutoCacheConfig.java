@@ -0,0 +1,65 @@
+package com.pedidos.produto.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.cache.ProdutoCacheGateway;
+import com.pedidos.produto.gateway.jpa.ProdutoJpaGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "produto.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ProdutoCacheConfig {
+
+    @Value("${produto.cache.maximo-entradas:10000}")
+    private long maximoEntradas;
+
+    @Value("${produto.cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${produto.cache.distribuicao-precos-ttl:30s}")
+    private Duration ttlDistribuicaoPrecos;
+
+    @Bean
+    @Primary
+    public ProdutoCacheGateway produtoCacheGateway(ProdutoJpaGateway produtoJpaGateway, MeterRegistry meterRegistry) {
+        Cache<Long, Produto> cachePorId = criarCache();
+        Cache<String, Produto> cachePorSku = criarCache();
+        Cache<String, List<DistribuicaoPrecosCategoria>> cacheDistribuicaoPrecos = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttlDistribuicaoPrecos)
+                .recordStats()
+                .build();
+        // Versão anunciada pelo último evento de cada produto; só precisa durar o que dura uma entrada do cache
+        Cache<Long, Long> versaoMinimaPorId = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(ttl)
+                .build();
+
+        // Expõe hits, misses e evictions em /actuator/metrics/cache.*
+        CaffeineCacheMetrics.monitor(meterRegistry, cachePorId, "produto.por-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, cachePorSku, "produto.por-sku");
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheDistribuicaoPrecos, "produto.distribuicao-precos");
+
+        return new ProdutoCacheGateway(produtoJpaGateway, cachePorId, cachePorSku, cacheDistribuicaoPrecos,
+                versaoMinimaPorId);
+    }
+
+    private <K> Cache<K, Produto> criarCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
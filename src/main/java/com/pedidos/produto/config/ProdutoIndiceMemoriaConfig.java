@@ -0,0 +1,38 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.gateway.jpa.ProdutoJpaGateway;
+import com.pedidos.produto.gateway.memoria.ProdutoIndiceMemoriaGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "produto.indice-memoria.enabled", havingValue = "true")
+public class ProdutoIndiceMemoriaConfig {
+
+    @Value("${produto.indice-memoria.intervalo-nova-tentativa:30s}")
+    private Duration intervaloNovaTentativa;
+
+    // Lê direto do gateway JPA: a releitura por evento não pode receber uma cópia ainda não invalidada do cache
+    @Bean
+    public ProdutoIndiceMemoriaGateway produtoIndiceMemoriaGateway(ProdutoJpaGateway produtoJpaGateway, MeterRegistry meterRegistry) {
+        ProdutoIndiceMemoriaGateway indice = new ProdutoIndiceMemoriaGateway(produtoJpaGateway);
+        Gauge.builder("produto.indice-memoria.documentos", indice, ProdutoIndiceMemoriaGateway::quantidadeDocumentos)
+                .description("Produtos ativos no índice de sugestões em memória")
+                .register(meterRegistry);
+        return indice;
+    }
+
+    // A carga inicial roda fora da thread de subida; até terminar, /suggest responde 503
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> carregarIndiceMemoria(ProdutoIndiceMemoriaGateway indice) {
+        return evento -> CargaEmSegundoPlano.iniciar("indice-memoria-carga", indice::construir, intervaloNovaTentativa);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.gateway.jpa.ProdutoJpaGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoPosicao;
+import com.pedidos.produto.gateway.memoria.ProdutoProjecaoMemoriaGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "produto.projecao.enabled", havingValue = "true")
+public class ProdutoProjecaoMemoriaConfig {
+
+    @Value("${produto.projecao.lag-maximo:100}")
+    private long lagMaximo;
+
+    @Value("${produto.projecao.atraso-maximo:15s}")
+    private Duration atrasoMaximo;
+
+    @Value("${produto.projecao.intervalo-nova-tentativa:30s}")
+    private Duration intervaloNovaTentativa;
+
+    // Lê direto do gateway JPA, como o índice de sugestões: a releitura por evento não pode vir do cache
+    @Bean
+    public ProdutoProjecaoMemoriaGateway produtoProjecaoMemoriaGateway(ProdutoJpaGateway produtoJpaGateway,
+                                                                       ProdutoEventoPosicao posicao,
+                                                                       MeterRegistry meterRegistry) {
+        ProdutoProjecaoMemoriaGateway projecao =
+                new ProdutoProjecaoMemoriaGateway(produtoJpaGateway, posicao, lagMaximo, atrasoMaximo);
+        Gauge.builder("produto.projecao.produtos", projecao, ProdutoProjecaoMemoriaGateway::quantidadeProdutos)
+                .description("Produtos na projeção de leitura em memória")
+                .register(meterRegistry);
+        Gauge.builder("produto.projecao.atualizada", projecao, p -> p.estaAtualizada() ? 1 : 0)
+                .description("1 quando as leituras por ID e SKU estão sendo atendidas pela projeção")
+                .register(meterRegistry);
+        return projecao;
+    }
+
+    // Até a carga terminar, as leituras vão ao banco
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> carregarProjecaoMemoria(ProdutoProjecaoMemoriaGateway projecao) {
+        return evento -> CargaEmSegundoPlano.iniciar("projecao-memoria-carga", projecao::construir, intervaloNovaTentativa);
+    }
+}
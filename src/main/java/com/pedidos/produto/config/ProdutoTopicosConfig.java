@@ -0,0 +1,47 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.gateway.kafka.ProdutoTopicos;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.time.Duration;
+
+/**
+ * Cria os tópicos de produto na inicialização (o KafkaAdmin ignora os que já existem). O de snapshot é
+ * compactado: quem chega lê o tópico do início e obtém o estado atual de todos os produtos, sem consultar a API.
+ */
+@Configuration
+public class ProdutoTopicosConfig {
+
+    @Value("${produto.topicos.particoes:3}")
+    private int particoes;
+
+    @Value("${produto.topicos.replicas:1}")
+    private short replicas;
+
+    // A compactação só alcança segmentos fechados; segmentos menores deixam menos registros repetidos para trás
+    @Value("${produto.topicos.snapshot.duracao-segmento:1h}")
+    private Duration duracaoSegmentoSnapshot;
+
+    @Bean
+    public NewTopic topicoEventosProduto() {
+        return TopicBuilder.name(ProdutoTopicos.EVENTOS)
+                .partitions(particoes)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic topicoSnapshotProduto() {
+        return TopicBuilder.name(ProdutoTopicos.SNAPSHOT)
+                .partitions(particoes)
+                .replicas(replicas)
+                .compact()
+                .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(duracaoSegmentoSnapshot.toMillis()))
+                .build();
+    }
+}
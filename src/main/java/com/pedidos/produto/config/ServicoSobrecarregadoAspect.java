@@ -0,0 +1,49 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.exception.ServicoSobrecarregadoException;
+import com.pedidos.produto.gateway.jpa.ConexaoRecusadaException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Traduz a recusa do bulkhead de conexões em {@link ServicoSobrecarregadoException} na saída dos casos de uso.
+ * A recusa atravessa Hikari, Hibernate, o gerenciador de transação e o gateway, e cada camada a embrulha em
+ * outra exceção; sem a tradução ela chegaria ao controller como erro de repositório (500). Fica por fora do
+ * {@code @Transactional} para pegar também a recusa ao abrir a transação.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServicoSobrecarregadoAspect {
+
+    @Around("execution(public * com.pedidos.produto.usecase..*(..)) && !execution(org.reactivestreams.Publisher+ *(..))")
+    public Object traduzirRecusa(ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return joinPoint.proceed();
+        } catch (ServicoSobrecarregadoException e) {
+            throw e;
+        } catch (Throwable e) {
+            ConexaoRecusadaException recusa = recusa(e);
+            if (recusa != null) {
+                throw new ServicoSobrecarregadoException("Serviço sobrecarregado: " + recusa.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private static ConexaoRecusadaException recusa(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConexaoRecusadaException recusa) {
+                return recusa;
+            }
+            if (causa.getCause() == causa) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.gateway.jpa.LimitadorConexoesDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Modo de threads virtuais ({@code spring.threads.virtual.enabled=true}): requisições HTTP em threads
+ * virtuais, com bulkhead no acesso ao banco. O cliente Kafka bloqueia dentro de {@code synchronized}
+ * (coordenador do consumidor, espera por metadata no produtor), o que prenderia a carrier de uma thread
+ * virtual, por isso consumidores e relay do outbox continuam em threads de plataforma.
+ */
+@Configuration
+public class ThreadsVirtuaisConfig {
+
+    public static final String SCHEDULER_OUTBOX_RELAY = "produtoOutboxRelayScheduler";
+    public static final String SCHEDULER_ESTATISTICAS = "produtoEstatisticaScheduler";
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static BeanPostProcessor limitadorConexoesPostProcessor(
+            @Value("${produto.conexoes.maximo-emprestadas:0}") int maximoEmprestadas,
+            @Value("${produto.conexoes.maximo-aguardando:1000}") int maximoAguardando,
+            @Value("${produto.conexoes.tempo-maximo-espera:2s}") Duration tempoMaximoEspera) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LimitadorConexoesDataSource) {
+                    return bean;
+                }
+                // Sem valor explícito, o limite acompanha o tamanho do pool do Hikari
+                int limite = maximoEmprestadas > 0 ? maximoEmprestadas
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                return new LimitadorConexoesDataSource(dataSource, limite, maximoAguardando, tempoMaximoEspera);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public MeterBinder limitadorConexoesMetrics(DataSource dataSource) {
+        return registry -> {
+            LimitadorConexoesDataSource limitador;
+            try {
+                limitador = dataSource.unwrap(LimitadorConexoesDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("produto.conexoes.emprestadas", limitador, LimitadorConexoesDataSource::conexoesEmprestadas)
+                    .description("Conexões emprestadas pelo bulkhead do banco")
+                    .register(registry);
+            Gauge.builder("produto.conexoes.aguardando", limitador, LimitadorConexoesDataSource::threadsAguardando)
+                    .description("Threads aguardando uma conexão no bulkhead do banco")
+                    .register(registry);
+            FunctionCounter.builder("produto.conexoes.rejeitadas", limitador, LimitadorConexoesDataSource::rejeicoes)
+                    .description("Pedidos de conexão recusados pelo bulkhead do banco")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> consumidoresKafkaEmThreadsDePlataforma() {
+        return container -> container.getContainerProperties()
+                .setListenerTaskExecutor(new SimpleAsyncTaskExecutor("kafka-consumidor-"));
+    }
+
+    @Bean(name = SCHEDULER_OUTBOX_RELAY)
+    @ConditionalOnProperty(name = "produto.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public ThreadPoolTaskScheduler produtoOutboxRelayScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("outbox-relay-");
+        scheduler.setPoolSize(1);
+        return scheduler;
+    }
+
+    // Thread própria: com o broker fora do ar o relay fica preso no envio e atrasaria a consolidação
+    @Bean(name = SCHEDULER_ESTATISTICAS)
+    public ThreadPoolTaskScheduler produtoEstatisticaScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("estatisticas-");
+        scheduler.setPoolSize(1);
+        return scheduler;
+    }
+}
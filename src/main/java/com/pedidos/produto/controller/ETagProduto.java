@@ -0,0 +1,94 @@
+package com.pedidos.produto.controller;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.VersaoProduto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Validadores HTTP de produto: ETag derivado da coluna de versão ({@code "<versao>"}) e Last-Modified
+ * a partir de {@code updatedAt}.
+ */
+final class ETagProduto {
+
+    private ETagProduto() {
+    }
+
+    static String de(Produto produto) {
+        return "\"" + produto.getVersao() + "\"";
+    }
+
+    static String de(VersaoProduto versao) {
+        return "\"" + versao.getVersao() + "\"";
+    }
+
+    /**
+     * Instante da última alteração em milissegundos, ou -1 quando desconhecido. {@code updatedAt} é gravado
+     * no fuso da JVM, o mesmo usado aqui na conversão.
+     */
+    static long ultimaModificacao(VersaoProduto versao) {
+        LocalDateTime atualizadoEm = versao.getAtualizadoEm();
+        return atualizadoEm != null ? atualizadoEm.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    /**
+     * Leitura condicional (RFC 9110, seção 13.2.2): com If-None-Match vale só a comparação fraca de ETags e o
+     * If-Modified-Since é ignorado; sem ele, a resposta não mudou se a última alteração não for posterior à data
+     * informada. Datas inválidas são ignoradas.
+     */
+    static boolean naoModificado(VersaoProduto versao, String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            String etag = de(versao);
+            for (String candidato : ifNoneMatch.split(",")) {
+                String valor = candidato.trim();
+                if (valor.equals("*") || (valor.startsWith("W/") ? valor.substring(2) : valor).equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ultimaModificacao = ultimaModificacao(versao);
+        if (ifModifiedSince == null || ultimaModificacao < 0) {
+            return false;
+        }
+        try {
+            long desde = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            // O cabeçalho tem precisão de segundos
+            return ultimaModificacao / 1000 * 1000 <= desde;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Versão esperada a partir do If-Match. Ausente ou {@code *} resultam em nulo (escrita sem conferência
+     * de versão): {@code *} só exige que o produto exista, então um conflito nessa escrita é concorrência
+     * comum (409), não uma pré-condição do cliente que falhou (412). O prefixo fraco {@code W/} é aceito
+     * porque proxies com compressão enfraquecem o ETag.
+     */
+    static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.contains(",")) {
+            throw new IllegalArgumentException("If-Match deve conter um único ETag");
+        }
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+}
@@ -1,11 +1,35 @@
 package com.pedidos.produto.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pedidos.produto.controller.importacao.LeitorCsvImportacao;
+import com.pedidos.produto.controller.importacao.LeitorNdjsonImportacao;
+import com.pedidos.produto.controller.importacao.LeitorNdjsonPrecos;
+import com.pedidos.produto.config.CacheHttpProperties;
 import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.controller.json.ResumoProdutoJson;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
+import com.pedidos.produto.domain.LinhaImportacao;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoAtualizacaoPrecos;
+import com.pedidos.produto.domain.ResultadoBuscaEmLote;
+import com.pedidos.produto.domain.ResultadoImportacao;
+import com.pedidos.produto.domain.ResumoProduto;
+import com.pedidos.produto.domain.VersaoProduto;
+import com.pedidos.produto.domain.VisaoListagem;
+import com.pedidos.produto.exception.ConflitoDeVersaoException;
+import com.pedidos.produto.exception.ServicoSobrecarregadoException;
 import com.pedidos.produto.exception.SystemBaseException;
+import com.pedidos.produto.usecase.AtualizarPrecosEmLoteUsecase;
 import com.pedidos.produto.usecase.AtualizarProdutoUsecase;
 import com.pedidos.produto.usecase.BuscarProdutoUsecase;
 import com.pedidos.produto.usecase.CriarProdutoUsecase;
+import com.pedidos.produto.usecase.ImportarProdutosUsecase;
+import com.pedidos.produto.usecase.PublicarSnapshotProdutosUsecase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -20,7 +44,9 @@ import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,25 +55,47 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/produtos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {ProdutoController.HEADER_PROXIMO_CURSOR, HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER})
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Produtos", description = "API para gerenciamento de produtos")
 public class ProdutoController {
 
+    static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    static final String TEXT_CSV = "text/csv";
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+
+    // ServicoSobrecarregadoException atravessa os catch de cada endpoint e vira 503 em ServicoSobrecarregadoAdvice
+
     private final CriarProdutoUsecase criarProdutoUsecase;
     private final BuscarProdutoUsecase buscarProdutoUsecase;
     private final AtualizarProdutoUsecase atualizarProdutoUsecase;
+    private final ImportarProdutosUsecase importarProdutosUsecase;
+    private final AtualizarPrecosEmLoteUsecase atualizarPrecosEmLoteUsecase;
+    private final PublicarSnapshotProdutosUsecase publicarSnapshotProdutosUsecase;
+    private final ObjectMapper objectMapper;
+    private final CacheHttpProperties cacheHttpProperties;
 
     @PostMapping
     @Operation(summary = "Criar produto", description = "Cria um novo produto no sistema")
@@ -79,9 +127,41 @@ public class ProdutoController {
             log.warn("Dados inválidos ao criar produto: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao criar produto: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao criar produto: {}");
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    @Operation(summary = "Importar produtos em massa", description = "Importa produtos a partir de um corpo CSV ou NDJSON lido em " +
+            "streaming. Linhas inválidas ou com SKU repetido são reportadas sem interromper a carga")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; erros por linha no corpo da resposta",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacaoResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou cabeçalho inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> importarProdutos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                              InputStream corpo) {
+        try {
+            Iterator<LinhaImportacao> linhas = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                    ? new LeitorCsvImportacao(corpo)
+                    : new LeitorNdjsonImportacao(corpo, objectMapper);
+
+            ResultadoImportacao resultado = importarProdutosUsecase.executar(linhas);
+
+            List<ErroImportacaoResponse> erros = resultado.getErros().stream()
+                    .map(erro -> new ErroImportacaoResponse(erro.getLinha(), erro.getSku(), erro.getMensagem()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new ImportacaoResponse(resultado.getTotalLinhas(), resultado.getImportados(),
+                    resultado.getTotalErros(), erros));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Arquivo de importação inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao importar produtos: {}");
         }
     }
 
@@ -90,24 +170,33 @@ public class ProdutoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produto encontrado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
+            @ApiResponse(responseCode = "304", description = "Produto não alterado desde o ETag ou a data informados"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<?> buscarProdutoPorId(@PathVariable @Parameter(description = "ID do produto", example = "1") Long id) {
+    public ResponseEntity<?> buscarProdutoPorId(
+            @PathVariable @Parameter(description = "ID do produto", example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Parameter(description = "ETags já conhecidos pelo cliente", example = "\"3\"") String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) @Parameter(description = "Data da cópia em poder do cliente") String ifModifiedSince) {
         try {
+            CacheHttpProperties.Politica politica = cacheHttpProperties.getPorId();
+            if (ifNoneMatch != null || ifModifiedSince != null) {
+                Optional<VersaoProduto> versao = buscarProdutoUsecase.buscarVersaoPorId(id);
+                if (versao.isPresent() && ETagProduto.naoModificado(versao.get(), ifNoneMatch, ifModifiedSince)) {
+                    return comValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao.get(), politica).build();
+                }
+            }
             Produto produto = buscarProdutoUsecase.buscarPorId(id);
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return comValidadores(ResponseEntity.ok(), VersaoProduto.de(produto), politica).body(response);
 
         } catch (SystemBaseException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao buscar produto por ID {}: {}", id, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao buscar produto por ID {}: {}", id);
         }
     }
 
@@ -116,32 +205,100 @@ public class ProdutoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produto encontrado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
+            @ApiResponse(responseCode = "304", description = "Produto não alterado desde o ETag ou a data informados"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<?> buscarProdutoPorSku(@PathVariable @Parameter(description = "SKU do produto", example = "PROD-001") String sku) {
+    public ResponseEntity<?> buscarProdutoPorSku(
+            @PathVariable @Parameter(description = "SKU do produto", example = "PROD-001") String sku,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Parameter(description = "ETags já conhecidos pelo cliente", example = "\"3\"") String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) @Parameter(description = "Data da cópia em poder do cliente") String ifModifiedSince) {
         try {
+            CacheHttpProperties.Politica politica = cacheHttpProperties.getPorSku();
+            if (ifNoneMatch != null || ifModifiedSince != null) {
+                Optional<VersaoProduto> versao = buscarProdutoUsecase.buscarVersaoPorSku(sku);
+                if (versao.isPresent() && ETagProduto.naoModificado(versao.get(), ifNoneMatch, ifModifiedSince)) {
+                    return comValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao.get(), politica).build();
+                }
+            }
             Produto produto = buscarProdutoUsecase.buscarPorSku(sku);
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return comValidadores(ResponseEntity.ok(), VersaoProduto.de(produto), politica).body(response);
 
         } catch (SystemBaseException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao buscar produto por SKU {}: {}", sku, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao buscar produto por SKU {}: {}", sku);
+        }
+    }
+
+    /**
+     * Resposta 500 do {@code catch (Exception)} de cada endpoint, com o log do erro: a mensagem recebe os argumentos
+     * e, por último, a mensagem da exceção. A recusa por sobrecarga não é erro do servidor e segue para o
+     * {@link ServicoSobrecarregadoAdvice}, que responde 503.
+     */
+    private static ResponseEntity<ErrorResponse> erroInterno(Exception e, String mensagem, Object... argumentos) {
+        if (e instanceof ServicoSobrecarregadoException sobrecarga) {
+            throw sobrecarga;
+        }
+        Object[] argumentosLog = Arrays.copyOf(argumentos, argumentos.length + 2);
+        argumentosLog[argumentos.length] = e.getMessage();
+        argumentosLog[argumentos.length + 1] = e;
+        log.error(mensagem, argumentosLog);
+        return ResponseEntity.internalServerError().body(new ErrorResponse("Erro interno do servidor"));
+    }
+
+    // O 304 repete ETag, Last-Modified e Cache-Control para que o cliente renove a cópia que já tem
+    private ResponseEntity.BodyBuilder comValidadores(ResponseEntity.BodyBuilder resposta, VersaoProduto versao,
+                                                      CacheHttpProperties.Politica politica) {
+        long ultimaModificacao = ETagProduto.ultimaModificacao(versao);
+        if (ultimaModificacao >= 0) {
+            resposta.lastModified(ultimaModificacao);
+        }
+        return resposta.eTag(ETagProduto.de(versao)).cacheControl(politica.paraCacheControl());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Buscar produtos em lote", description = "Busca vários produtos por ID e/ou SKU em uma única requisição, " +
+            "informando as chaves não encontradas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca em lote realizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BuscaEmLoteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Nenhuma chave informada ou limite do lote excedido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> buscarProdutosEmLote(@RequestBody @Parameter(description = "IDs e SKUs a buscar") BuscaEmLoteRequest request) {
+        try {
+            ResultadoBuscaEmLote resultado = buscarProdutoUsecase.buscarEmLote(request.getIds(), request.getSkus());
+
+            List<ProdutoJson> produtos = resultado.getProdutos().stream()
+                    .map(ProdutoJson::fromDomain)
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(new BuscaEmLoteResponse(produtos,
+                    resultado.getIdsNaoEncontrados(), resultado.getSkusNaoEncontrados()));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao buscar produtos em lote: {}");
         }
     }
 
     @GetMapping
-    @Operation(summary = "Listar produtos", description = "Lista produtos com filtros opcionais")
+    @Operation(summary = "Listar produtos", description = "Lista produtos paginados por cursor. Os filtros informados são " +
+            "combinados entre si (ex.: categoria e faixa de preço). Categoria sem apenasAtivos lista apenas produtos ativos. " +
+            "O cursor da próxima página é retornado no header " + HEADER_PROXIMO_CURSOR + " e deve ser enviado com os mesmos filtros. " +
+            "Com visao=RESUMO cada item traz apenas id, nome, SKU, preço, categoria e ativo, sem ler a descrição do banco")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso",
-                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProdutoJson.class)))),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(
+                            oneOf = {ProdutoJson.class, ResumoProdutoJson.class})))),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
@@ -151,32 +308,119 @@ public class ProdutoController {
             @RequestParam(required = false) @Parameter(description = "Filtrar por categoria", example = "ELETRÔNICOS") String categoria,
             @RequestParam(required = false) @Parameter(description = "Listar apenas produtos ativos", example = "true") Boolean apenasAtivos,
             @RequestParam(required = false) @Parameter(description = "Preço mínimo", example = "10.00") BigDecimal precoMin,
-            @RequestParam(required = false) @Parameter(description = "Preço máximo", example = "100.00") BigDecimal precoMax) {
+            @RequestParam(required = false) @Parameter(description = "Preço máximo", example = "100.00") BigDecimal precoMax,
+            @RequestParam(required = false) @Parameter(description = "Termo que deve aparecer em nome, SKU, categoria ou descrição", example = "notebook") String termo,
+            @RequestParam(required = false) @Parameter(description = "Cursor opaco retornado pela página anterior") String cursor,
+            @RequestParam(required = false) @Parameter(description = "Quantidade de itens por página (1-500)", example = "50") Integer tamanho,
+            @RequestParam(required = false) @Parameter(description = "Ordenação da listagem paginada: ID, PRECO ou NOME", example = "ID") String ordenacao,
+            @RequestParam(required = false) @Parameter(description = "Visão dos itens: COMPLETA (padrão) ou RESUMO", example = "RESUMO") String visao) {
         try {
-            List<Produto> produtos;
-
-            if (categoria != null && !categoria.trim().isEmpty()) {
-                produtos = buscarProdutoUsecase.buscarPorCategoria(categoria);
-            } else if (precoMin != null || precoMax != null) {
-                produtos = buscarProdutoUsecase.buscarPorFaixaPreco(precoMin, precoMax);
-            } else if (Boolean.TRUE.equals(apenasAtivos)) {
-                produtos = buscarProdutoUsecase.buscarAtivos();
+            FiltroProduto filtro = FiltroProduto.builder()
+                    .categoria(categoria)
+                    .apenasAtivos(apenasAtivos)
+                    .precoMin(precoMin)
+                    .precoMax(precoMax)
+                    .termo(termo)
+                    .build();
+
+            List<?> response;
+            String proximoCursor;
+            if (VisaoListagem.de(visao) == VisaoListagem.RESUMO) {
+                Pagina<ResumoProduto> pagina = buscarProdutoUsecase.buscarPaginaResumida(filtro, cursor, Ordenacao.de(ordenacao), tamanho);
+                response = pagina.getItens().stream()
+                        .map(ResumoProdutoJson::fromDomain)
+                        .collect(Collectors.toList());
+                proximoCursor = pagina.getProximoCursor();
             } else {
-                produtos = buscarProdutoUsecase.buscarTodos();
+                Pagina<Produto> pagina = buscarProdutoUsecase.buscarPagina(filtro, cursor, Ordenacao.de(ordenacao), tamanho);
+                response = pagina.getItens().stream()
+                        .map(ProdutoJson::fromDomain)
+                        .collect(Collectors.toList());
+                proximoCursor = pagina.getProximoCursor();
+            }
+
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+            if (proximoCursor != null) {
+                builder.header(HEADER_PROXIMO_CURSOR, proximoCursor);
             }
+            return builder.body(response);
 
-            List<ProdutoJson> response = produtos.stream()
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao listar produtos: {}");
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar produtos por texto", description = "Busca textual em nome, SKU, categoria e descrição, " +
+            "ordenada por relevância. Aceita aspas para frases, OR e '-' para excluir termos. O cursor da próxima " +
+            "página é retornado no header " + HEADER_PROXIMO_CURSOR)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados, do mais ao menos relevante",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProdutoJson.class)))),
+            @ApiResponse(responseCode = "400", description = "Termo, cursor ou tamanho inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> buscarProdutosPorTexto(
+            @RequestParam(required = false) @Parameter(description = "Termo de busca", example = "notebook gamer") String q,
+            @RequestParam(required = false) @Parameter(description = "Cursor opaco retornado pela página anterior") String cursor,
+            @RequestParam(required = false) @Parameter(description = "Quantidade de itens por página (1-500)", example = "50") Integer tamanho) {
+        try {
+            Pagina<Produto> pagina = buscarProdutoUsecase.buscarPorTexto(q, cursor, tamanho);
+
+            List<ProdutoJson> response = pagina.getItens().stream()
                     .map(ProdutoJson::fromDomain)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(response);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+            if (pagina.temProxima()) {
+                builder.header(HEADER_PROXIMO_CURSOR, pagina.getProximoCursor());
+            }
+            return builder.body(response);
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao listar produtos: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao buscar produtos por texto '{}': {}", q);
+        }
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    @Operation(summary = "Exportar produtos", description = "Exporta todo o catálogo em NDJSON (um produto por linha), " +
+            "lido do banco por cursor e escrito no stream de resposta à medida que é consumido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catálogo exportado com sucesso",
+                    content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = ProdutoJson.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportarProdutos() {
+        ObjectWriter writer = objectMapper.writerFor(ProdutoJson.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        // A escrita bloqueia quando o buffer do socket enche, o que pausa a leitura do cursor no banco
+        StreamingResponseBody body = outputStream -> {
+            OutputStream saida = new BufferedOutputStream(outputStream, TAMANHO_BUFFER_EXPORTACAO);
+            try {
+                buscarProdutoUsecase.exportarTodos(produto -> escreverLinha(writer, saida, produto));
+                saida.flush();
+            } catch (UncheckedIOException e) {
+                log.warn("Exportação de produtos interrompida: {}", e.getMessage());
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
+    private void escreverLinha(ObjectWriter writer, OutputStream saida, Produto produto) {
+        try {
+            writer.writeValue(saida, ProdutoJson.fromDomain(produto));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -189,11 +433,16 @@ public class ProdutoController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Produto alterado por outra requisição durante a atualização",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do produto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<?> atualizarProduto(
             @PathVariable @Parameter(description = "ID do produto", example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag lido do produto; a escrita só acontece se ainda for a versão atual", example = "\"3\"") String ifMatch,
             @Valid @RequestBody @Parameter(description = "Novos dados do produto") ProdutoJson produtoJson) {
         try {
             Produto produto = atualizarProdutoUsecase.atualizarDados(
@@ -201,12 +450,18 @@ public class ProdutoController {
                     produtoJson.getNome(),
                     produtoJson.getDescricao(),
                     produtoJson.getPreco(),
-                    produtoJson.getCategoria()
+                    produtoJson.getCategoria(),
+                    ETagProduto.versaoEsperada(ifMatch)
             );
 
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(response);
 
+        } catch (ConflitoDeVersaoException e) {
+            // Sem versão no If-Match (ausente ou *) o conflito vem de uma escrita concorrente detectada pelo @Version
+            HttpStatus status = ETagProduto.versaoEsperada(ifMatch) != null
+                    ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(new ErrorResponse(e.getMessage()));
         } catch (SystemBaseException e) {
             HttpStatus status = e instanceof com.pedidos.produto.exception.ProdutoNaoEncontradoException
                     ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
@@ -214,9 +469,32 @@ public class ProdutoController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao atualizar produto ID {}: {}", id, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao atualizar produto ID {}: {}", id);
+        }
+    }
+
+    @PatchMapping(value = "/precos", consumes = APPLICATION_NDJSON)
+    @Operation(summary = "Atualizar preços em massa", description = "Aplica novos preços a partir de um corpo NDJSON lido em " +
+            "streaming, uma linha {\"id\" ou \"sku\", \"preco\"} por produto. Os preços são gravados em lotes com um " +
+            "único evento PRODUTO_PRECO_ATUALIZADO agrupado por lote; produtos com o mesmo preço não são alterados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista processada; erros por linha no corpo da resposta",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AtualizacaoPrecosResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> atualizarPrecos(InputStream corpo) {
+        try {
+            ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(new LeitorNdjsonPrecos(corpo, objectMapper));
+
+            List<ErroAtualizacaoPrecoResponse> erros = resultado.getErros().stream()
+                    .map(erro -> new ErroAtualizacaoPrecoResponse(erro.getLinha(), erro.getId(), erro.getSku(), erro.getMensagem()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new AtualizacaoPrecosResponse(resultado.getTotalLinhas(), resultado.getAtualizados(),
+                    resultado.getInalterados(), resultado.getTotalErros(), erros));
+
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao atualizar preços em massa: {}");
         }
     }
 
@@ -229,17 +507,23 @@ public class ProdutoController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do produto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<?> atualizarPreco(
             @PathVariable @Parameter(description = "ID do produto", example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag lido do produto; a escrita só acontece se ainda for a versão atual", example = "\"3\"") String ifMatch,
             @RequestBody @Valid @Parameter(description = "Novo preço do produto") PrecoRequest precoRequest) {
         try {
-            Produto produto = atualizarProdutoUsecase.atualizarPreco(id, precoRequest.getPreco());
+            Produto produto = atualizarProdutoUsecase.atualizarPreco(id, precoRequest.getPreco(),
+                    ETagProduto.versaoEsperada(ifMatch));
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(response);
 
+        } catch (ConflitoDeVersaoException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse(e.getMessage()));
         } catch (SystemBaseException e) {
             HttpStatus status = e instanceof com.pedidos.produto.exception.ProdutoNaoEncontradoException
                     ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
@@ -247,9 +531,7 @@ public class ProdutoController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao atualizar preço do produto ID {}: {}", id, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao atualizar preço do produto ID {}: {}", id);
         }
     }
 
@@ -260,23 +542,29 @@ public class ProdutoController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do produto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<?> ativarProduto(@PathVariable @Parameter(description = "ID do produto", example = "1") Long id) {
+    public ResponseEntity<?> ativarProduto(
+            @PathVariable @Parameter(description = "ID do produto", example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag lido do produto; a escrita só acontece se ainda for a versão atual", example = "\"3\"") String ifMatch) {
         try {
-            Produto produto = atualizarProdutoUsecase.ativar(id);
+            Produto produto = atualizarProdutoUsecase.ativar(id, ETagProduto.versaoEsperada(ifMatch));
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(response);
 
+        } catch (ConflitoDeVersaoException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse(e.getMessage()));
         } catch (SystemBaseException e) {
             HttpStatus status = e instanceof com.pedidos.produto.exception.ProdutoNaoEncontradoException
                     ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao ativar produto ID {}: {}", id, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao ativar produto ID {}: {}", id);
         }
     }
 
@@ -287,28 +575,34 @@ public class ProdutoController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do produto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<?> desativarProduto(@PathVariable @Parameter(description = "ID do produto", example = "1") Long id) {
+    public ResponseEntity<?> desativarProduto(
+            @PathVariable @Parameter(description = "ID do produto", example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag lido do produto; a escrita só acontece se ainda for a versão atual", example = "\"3\"") String ifMatch) {
         try {
-            Produto produto = atualizarProdutoUsecase.desativar(id);
+            Produto produto = atualizarProdutoUsecase.desativar(id, ETagProduto.versaoEsperada(ifMatch));
             ProdutoJson response = ProdutoJson.fromDomain(produto);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(response);
 
+        } catch (ConflitoDeVersaoException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse(e.getMessage()));
         } catch (SystemBaseException e) {
             HttpStatus status = e instanceof com.pedidos.produto.exception.ProdutoNaoEncontradoException
                     ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
             return ResponseEntity.status(status).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            log.error("Erro interno ao desativar produto ID {}: {}", id, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao desativar produto ID {}: {}", id);
         }
     }
 
     @GetMapping("/stats")
-    @Operation(summary = "Obter estatísticas", description = "Retorna estatísticas gerais dos produtos")
+    @Operation(summary = "Obter estatísticas", description = "Retorna contagens e preços mínimo, médio e máximo dos produtos, no total e por categoria")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatisticsResponse.class))),
@@ -317,16 +611,65 @@ public class ProdutoController {
     })
     public ResponseEntity<?> obterEstatisticas() {
         try {
-            long totalProdutos = buscarProdutoUsecase.contarProdutos();
-            long produtosAtivos = buscarProdutoUsecase.contarProdutosAtivos();
-
-            StatisticsResponse stats = new StatisticsResponse(totalProdutos, produtosAtivos);
+            EstatisticasProdutos estatisticas = buscarProdutoUsecase.buscarEstatisticas();
+
+            List<EstatisticaCategoriaResponse> categorias = estatisticas.getCategorias().stream()
+                    .map(categoria -> new EstatisticaCategoriaResponse(categoria.getCategoria(), categoria.getTotalProdutos(),
+                            categoria.getProdutosAtivos(), categoria.getPrecoMinimo(), categoria.getPrecoMedio(),
+                            categoria.getPrecoMaximo()))
+                    .toList();
+            StatisticsResponse stats = new StatisticsResponse(estatisticas.getTotalProdutos(), estatisticas.getProdutosAtivos(),
+                    estatisticas.getPrecoMinimo(), estatisticas.getPrecoMedio(), estatisticas.getPrecoMaximo(), categorias);
             return ResponseEntity.ok(stats);
 
         } catch (Exception e) {
-            log.error("Erro interno ao obter estatísticas: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Erro interno do servidor"));
+            return erroInterno(e, "Erro interno ao obter estatísticas: {}");
+        }
+    }
+
+    @GetMapping("/stats/categorias")
+    @Operation(summary = "Obter distribuição de preços por categoria",
+            description = "Retorna, para cada categoria, as contagens de produtos e os percentis 25, 50, 75, 90 e 99 dos preços. " +
+                    "O resultado é mantido em cache por alguns segundos e descartado a cada alteração de produto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Distribuição retornada com sucesso",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = DistribuicaoPrecosCategoriaResponse.class)))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> obterDistribuicaoPrecosPorCategoria() {
+        try {
+            List<DistribuicaoPrecosCategoriaResponse> categorias = buscarProdutoUsecase.buscarDistribuicaoPrecosPorCategoria().stream()
+                    .map(distribuicao -> new DistribuicaoPrecosCategoriaResponse(distribuicao.getCategoria(),
+                            distribuicao.getTotalProdutos(), distribuicao.getProdutosAtivos(), distribuicao.getPercentil25(),
+                            distribuicao.getMediana(), distribuicao.getPercentil75(), distribuicao.getPercentil90(),
+                            distribuicao.getPercentil99()))
+                    .toList();
+            return ResponseEntity.ok(categorias);
+
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao obter distribuição de preços por categoria: {}");
+        }
+    }
+
+    @PostMapping("/snapshot")
+    @Operation(summary = "Semear tópico de snapshot",
+            description = "Registra no outbox o estado atual de todos os produtos, publicado pelo relay no tópico " +
+                    "compactado produto-snapshot na mesma ordem das demais alterações. Necessário só quando o tópico é " +
+                    "criado ou perde dados; depois disso cada escrita o mantém atualizado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot registrado no outbox com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SnapshotResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> publicarSnapshot() {
+        try {
+            long publicados = publicarSnapshotProdutosUsecase.publicarTodos();
+            return ResponseEntity.ok(new SnapshotResponse(publicados));
+
+        } catch (Exception e) {
+            return erroInterno(e, "Erro interno ao publicar snapshot de produtos: {}");
         }
     }
 
@@ -342,6 +685,114 @@ public class ProdutoController {
         private BigDecimal preco;
     }
 
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Request para busca de produtos em lote")
+    public static class BuscaEmLoteRequest {
+        @Schema(description = "IDs dos produtos", example = "[1, 2, 3]")
+        private List<Long> ids;
+
+        @Schema(description = "SKUs dos produtos", example = "[\"PROD-001\", \"PROD-002\"]")
+        private List<String> skus;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Resultado da busca de produtos em lote")
+    public static class BuscaEmLoteResponse {
+        @Schema(description = "Produtos encontrados, na ordem da requisição")
+        private List<ProdutoJson> produtos;
+
+        @Schema(description = "IDs sem produto correspondente", example = "[3]")
+        private List<Long> idsNaoEncontrados;
+
+        @Schema(description = "SKUs sem produto correspondente", example = "[\"PROD-002\"]")
+        private List<String> skusNaoEncontrados;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Resultado da importação em massa")
+    public static class ImportacaoResponse {
+        @Schema(description = "Número de linhas de dados lidas", example = "100000")
+        private long totalLinhas;
+
+        @Schema(description = "Número de produtos criados", example = "99870")
+        private long importados;
+
+        @Schema(description = "Número de linhas rejeitadas", example = "130")
+        private long totalErros;
+
+        @Schema(description = "Detalhe das primeiras linhas rejeitadas")
+        private List<ErroImportacaoResponse> erros;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Linha rejeitada na importação")
+    public static class ErroImportacaoResponse {
+        @Schema(description = "Número da linha no arquivo", example = "42")
+        private long linha;
+
+        @Schema(description = "SKU informado na linha, se houver", example = "PROD-001")
+        private String sku;
+
+        @Schema(description = "Motivo da rejeição", example = "SKU já cadastrado no sistema: PROD-001")
+        private String mensagem;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Resultado da atualização de preços em massa")
+    public static class AtualizacaoPrecosResponse {
+        @Schema(description = "Número de linhas lidas", example = "300000")
+        private long totalLinhas;
+
+        @Schema(description = "Número de produtos com preço alterado", example = "41250")
+        private long atualizados;
+
+        @Schema(description = "Número de produtos que já tinham o preço informado", example = "258700")
+        private long inalterados;
+
+        @Schema(description = "Número de linhas rejeitadas", example = "50")
+        private long totalErros;
+
+        @Schema(description = "Detalhe das primeiras linhas rejeitadas")
+        private List<ErroAtualizacaoPrecoResponse> erros;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Linha rejeitada na atualização de preços")
+    public static class ErroAtualizacaoPrecoResponse {
+        @Schema(description = "Número da linha no corpo", example = "42")
+        private long linha;
+
+        @Schema(description = "ID informado na linha, se houver", example = "1")
+        private Long id;
+
+        @Schema(description = "SKU informado na linha, se houver", example = "PROD-001")
+        private String sku;
+
+        @Schema(description = "Motivo da rejeição", example = "Produto não encontrado com SKU: PROD-001")
+        private String mensagem;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Resultado da publicação do snapshot")
+    public static class SnapshotResponse {
+        @Schema(description = "Número de produtos registrados no outbox para o tópico de snapshot", example = "100000")
+        private long produtosPublicados;
+    }
+
     @lombok.Data
     @lombok.AllArgsConstructor
     @lombok.NoArgsConstructor
@@ -352,6 +803,72 @@ public class ProdutoController {
         
         @Schema(description = "Número de produtos ativos", example = "120")
         private long produtosAtivos;
+
+        @Schema(description = "Menor preço entre todos os produtos", example = "9.90")
+        private BigDecimal precoMinimo;
+
+        @Schema(description = "Preço médio de todos os produtos", example = "249.90")
+        private BigDecimal precoMedio;
+
+        @Schema(description = "Maior preço entre todos os produtos", example = "4999.99")
+        private BigDecimal precoMaximo;
+
+        @Schema(description = "Estatísticas por categoria, em ordem de categoria")
+        private List<EstatisticaCategoriaResponse> categorias;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Estatísticas de uma categoria")
+    public static class EstatisticaCategoriaResponse {
+        @Schema(description = "Categoria; nula para os produtos sem categoria", example = "ELETRÔNICOS")
+        private String categoria;
+
+        @Schema(description = "Número de produtos da categoria", example = "40")
+        private long totalProdutos;
+
+        @Schema(description = "Número de produtos ativos da categoria", example = "32")
+        private long produtosAtivos;
+
+        @Schema(description = "Menor preço da categoria", example = "49.90")
+        private BigDecimal precoMinimo;
+
+        @Schema(description = "Preço médio da categoria", example = "899.90")
+        private BigDecimal precoMedio;
+
+        @Schema(description = "Maior preço da categoria", example = "4999.99")
+        private BigDecimal precoMaximo;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    @Schema(description = "Contagens e percentis de preço de uma categoria")
+    public static class DistribuicaoPrecosCategoriaResponse {
+        @Schema(description = "Categoria; nula para os produtos sem categoria", example = "ELETRÔNICOS")
+        private String categoria;
+
+        @Schema(description = "Número de produtos da categoria", example = "40")
+        private long totalProdutos;
+
+        @Schema(description = "Número de produtos ativos da categoria", example = "32")
+        private long produtosAtivos;
+
+        @Schema(description = "Percentil 25 dos preços", example = "199.90")
+        private BigDecimal percentil25;
+
+        @Schema(description = "Mediana dos preços", example = "499.90")
+        private BigDecimal mediana;
+
+        @Schema(description = "Percentil 75 dos preços", example = "1299.90")
+        private BigDecimal percentil75;
+
+        @Schema(description = "Percentil 90 dos preços", example = "2499.90")
+        private BigDecimal percentil90;
+
+        @Schema(description = "Percentil 99 dos preços", example = "4899.90")
+        private BigDecimal percentil99;
     }
 
     @lombok.Data
@@ -0,0 +1,136 @@
+package com.pedidos.produto.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.SystemBaseException;
+import com.pedidos.produto.usecase.BuscarProdutoReativoUsecase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.pedidos.produto.controller.ProdutoController.APPLICATION_NDJSON;
+
+/**
+ * Leituras de produto sem thread por requisição: a requisição do Tomcat entra em modo assíncrono e a
+ * resposta é escrita quando o R2DBC entrega os dados. Nos streams NDJSON cada linha só é pedida ao banco
+ * depois que a anterior foi escrita, então um cliente lento desacelera a leitura em vez de acumular
+ * memória.
+ */
+@RestController
+@RequestMapping("/api/reativo/produtos")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Produtos (reativo)", description = "Leituras de produtos não bloqueantes")
+public class ProdutoReativoController {
+
+    static final int PRODUTOS_POR_ESCRITA = 256;
+
+    private final BuscarProdutoReativoUsecase buscarProdutoReativoUsecase;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar produto por ID", description = "Busca um produto específico pelo seu ID sem bloquear thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produto encontrado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<?>> buscarProdutoPorId(@PathVariable @Parameter(description = "ID do produto", example = "1") Long id) {
+        return buscarProdutoReativoUsecase.buscarPorId(id)
+                .<ResponseEntity<?>>map(produto -> ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(ProdutoJson.fromDomain(produto)))
+                .onErrorResume(SystemBaseException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ProdutoController.ErrorResponse(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Erro interno ao buscar produto por ID {}: {}", id, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(new ProdutoController.ErrorResponse("Erro interno do servidor")));
+                });
+    }
+
+    @GetMapping("/sku/{sku}")
+    @Operation(summary = "Buscar produto por SKU", description = "Busca um produto específico pelo seu SKU sem bloquear thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produto encontrado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoJson.class))),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<?>> buscarProdutoPorSku(@PathVariable @Parameter(description = "SKU do produto", example = "PROD-001") String sku) {
+        return buscarProdutoReativoUsecase.buscarPorSku(sku)
+                .<ResponseEntity<?>>map(produto -> ResponseEntity.ok().eTag(ETagProduto.de(produto)).body(ProdutoJson.fromDomain(produto)))
+                .onErrorResume(SystemBaseException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ProdutoController.ErrorResponse(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Erro interno ao buscar produto por SKU {}: {}", sku, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(new ProdutoController.ErrorResponse("Erro interno do servidor")));
+                });
+    }
+
+    @GetMapping(value = "/ativos", produces = APPLICATION_NDJSON)
+    @Operation(summary = "Listar produtos ativos", description = "Stream NDJSON de todos os produtos ativos, em ordem de ID, " +
+            "lido do banco conforme o cliente consome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos enviados com sucesso",
+                    content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = ProdutoJson.class)))
+    })
+    public Flux<String> listarAtivos() {
+        return emNdjson(buscarProdutoReativoUsecase.buscarAtivos())
+                .doOnError(e -> log.warn("Stream de produtos ativos interrompido: {}", e.getMessage()));
+    }
+
+    @GetMapping(value = "/categoria/{categoria}", produces = APPLICATION_NDJSON)
+    @Operation(summary = "Listar produtos por categoria", description = "Stream NDJSON dos produtos ativos da categoria " +
+            "(sem diferenciar maiúsculas), em ordem de ID, lido do banco conforme o cliente consome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos enviados com sucesso",
+                    content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = ProdutoJson.class)))
+    })
+    public Flux<String> listarPorCategoria(@PathVariable @Parameter(description = "Categoria", example = "ELETRÔNICOS") String categoria) {
+        return emNdjson(buscarProdutoReativoUsecase.buscarPorCategoria(categoria))
+                .doOnError(e -> log.warn("Stream de produtos da categoria {} interrompido: {}", categoria, e.getMessage()));
+    }
+
+    // O Spring MVC faz uma escrita com flush por elemento do Flux; agrupar as linhas em blocos de NDJSON
+    // já serializado troca um flush por produto por um flush por lote, sem perder o controle de demanda
+    private Flux<String> emNdjson(Flux<Produto> produtos) {
+        ObjectWriter writer = objectMapper.writerFor(ProdutoJson.class);
+        return produtos.buffer(PRODUTOS_POR_ESCRITA)
+                .map(lote -> {
+                    StringBuilder linhas = new StringBuilder(lote.size() * 256);
+                    for (Produto produto : lote) {
+                        try {
+                            linhas.append(writer.writeValueAsString(ProdutoJson.fromDomain(produto))).append('\n');
+                        } catch (JsonProcessingException e) {
+                            throw new IllegalStateException("Erro ao serializar produto " + produto.getId(), e);
+                        }
+                    }
+                    return linhas.toString();
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package com.pedidos.produto.controller;
+
+import com.pedidos.produto.exception.ServicoSobrecarregadoException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+
+/**
+ * Carga recusada pelo bulkhead de conexões vira 503 com Retry-After, para o cliente tentar de novo mais tarde
+ * em vez de tratar como falha do servidor.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ServicoSobrecarregadoAdvice {
+
+    private final long tentarNovamenteEmSegundos;
+
+    public ServicoSobrecarregadoAdvice(@Value("${produto.conexoes.tentar-novamente-em:1s}") Duration tentarNovamenteEm) {
+        this.tentarNovamenteEmSegundos = Math.max(1, (tentarNovamenteEm.toMillis() + 999) / 1000);
+    }
+
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<ProdutoController.ErrorResponse> servicoSobrecarregado(ServicoSobrecarregadoException e) {
+        log.debug("Requisição recusada por sobrecarga: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(tentarNovamenteEmSegundos))
+                .body(new ProdutoController.ErrorResponse("Serviço sobrecarregado, tente novamente em instantes"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.pedidos.produto.controller;
+
+import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.exception.IndiceIndisponivelException;
+import com.pedidos.produto.usecase.SugerirProdutosUsecase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/produtos")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "produto.indice-memoria.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Produtos", description = "API para gerenciamento de produtos")
+public class SugestaoProdutoController {
+
+    private final SugerirProdutosUsecase sugerirProdutosUsecase;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir produtos", description = "Sugestões para busca enquanto o usuário digita, respondidas " +
+            "pelo índice em memória. O último termo é tratado como prefixo e acentos são ignorados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProdutoJson.class)))),
+            @ApiResponse(responseCode = "400", description = "Termo ou limite inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Índice ainda em carga",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProdutoController.ErrorResponse.class)))
+    })
+    public ResponseEntity<?> sugerirProdutos(
+            @RequestParam(required = false) @Parameter(description = "Texto digitado", example = "eletr") String q,
+            @RequestParam(required = false) @Parameter(description = "Quantidade máxima de sugestões (1-50)", example = "10") Integer limite) {
+        try {
+            List<ProdutoJson> response = sugerirProdutosUsecase.executar(q, limite).stream()
+                    .map(ProdutoJson::fromDomain)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ProdutoController.ErrorResponse(e.getMessage()));
+        } catch (IndiceIndisponivelException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ProdutoController.ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Erro interno ao sugerir produtos para '{}': {}", q, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(new ProdutoController.ErrorResponse("Erro interno do servidor"));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.pedidos.produto.controller.importacao;
+
+import com.pedidos.produto.domain.LinhaImportacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê um CSV de produtos linha a linha, sem carregar o arquivo em memória.
+ * <p>
+ * A primeira linha é o cabeçalho, com as colunas nome, sku e preco obrigatórias e descricao
+ * e categoria opcionais. O separador é ';' quando o cabeçalho o contém, senão ','. Campos
+ * entre aspas podem conter o separador; quebras de linha dentro de campos não são suportadas.
+ */
+public class LeitorCsvImportacao implements Iterator<LinhaImportacao> {
+
+    private final BufferedReader reader;
+    private final char separador;
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private long numeroLinha = 1;
+    private String proximaLinha;
+
+    public LeitorCsvImportacao(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecalho = lerLinha();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        this.separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> nomes = dividir(cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(), i);
+        }
+        if (!colunas.containsKey("nome") || !colunas.containsKey("sku") || !colunas.containsKey("preco")) {
+            throw new IllegalArgumentException("Cabeçalho do CSV deve conter as colunas nome, sku e preco");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (proximaLinha == null) {
+            String linha = lerLinha();
+            if (linha == null) {
+                return false;
+            }
+            numeroLinha++;
+            if (!linha.isBlank()) {
+                proximaLinha = linha;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String linha = proximaLinha;
+        proximaLinha = null;
+
+        List<String> campos;
+        try {
+            campos = dividir(linha);
+        } catch (IllegalArgumentException e) {
+            return LinhaImportacao.comErro(numeroLinha, e.getMessage());
+        }
+
+        String sku = campo(campos, "sku");
+        String preco = campo(campos, "preco");
+        BigDecimal valorPreco = null;
+        if (preco != null && !preco.isBlank()) {
+            try {
+                valorPreco = converterPreco(preco.trim());
+            } catch (NumberFormatException e) {
+                return LinhaImportacao.builder()
+                        .numero(numeroLinha)
+                        .sku(sku)
+                        .erro("Preço inválido: " + preco)
+                        .build();
+            }
+        }
+
+        return LinhaImportacao.builder()
+                .numero(numeroLinha)
+                .nome(campo(campos, "nome"))
+                .sku(sku)
+                .descricao(campo(campos, "descricao"))
+                .preco(valorPreco)
+                .categoria(campo(campos, "categoria"))
+                .build();
+    }
+
+    private String campo(List<String> campos, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice);
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Aceita "1299.99" e, em arquivos separados por ';', também "1299,99"
+    private BigDecimal converterPreco(String preco) {
+        if (preco.indexOf(',') >= 0 && preco.indexOf('.') < 0) {
+            preco = preco.replace(',', '.');
+        }
+        return new BigDecimal(preco);
+    }
+
+    private List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private String lerLinha() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
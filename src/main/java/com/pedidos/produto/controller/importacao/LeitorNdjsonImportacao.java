@@ -0,0 +1,75 @@
+package com.pedidos.produto.controller.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pedidos.produto.controller.json.ProdutoJson;
+import com.pedidos.produto.domain.LinhaImportacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê produtos em NDJSON (um {@link ProdutoJson} por linha) sem carregar o corpo em memória.
+ */
+public class LeitorNdjsonImportacao implements Iterator<LinhaImportacao> {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long numeroLinha;
+    private String proximaLinha;
+
+    public LeitorNdjsonImportacao(InputStream entrada, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.objectReader = objectMapper.readerFor(ProdutoJson.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (proximaLinha == null) {
+            String linha;
+            try {
+                linha = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (linha == null) {
+                return false;
+            }
+            numeroLinha++;
+            if (!linha.isBlank()) {
+                proximaLinha = linha;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String linha = proximaLinha;
+        proximaLinha = null;
+
+        try {
+            ProdutoJson json = objectReader.readValue(linha);
+            return LinhaImportacao.builder()
+                    .numero(numeroLinha)
+                    .nome(json.getNome())
+                    .sku(json.getSku())
+                    .descricao(json.getDescricao())
+                    .preco(json.getPreco())
+                    .categoria(json.getCategoria())
+                    .build();
+        } catch (JsonProcessingException e) {
+            return LinhaImportacao.comErro(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pedidos.produto.controller.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pedidos.produto.controller.json.NovoPrecoJson;
+import com.pedidos.produto.domain.LinhaAtualizacaoPreco;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê novos preços em NDJSON (um {@link NovoPrecoJson} por linha) sem carregar o corpo em memória.
+ */
+public class LeitorNdjsonPrecos implements Iterator<LinhaAtualizacaoPreco> {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long numeroLinha;
+    private String proximaLinha;
+
+    public LeitorNdjsonPrecos(InputStream entrada, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.objectReader = objectMapper.readerFor(NovoPrecoJson.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (proximaLinha == null) {
+            String linha;
+            try {
+                linha = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (linha == null) {
+                return false;
+            }
+            numeroLinha++;
+            if (!linha.isBlank()) {
+                proximaLinha = linha;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LinhaAtualizacaoPreco next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String linha = proximaLinha;
+        proximaLinha = null;
+
+        try {
+            NovoPrecoJson json = objectReader.readValue(linha);
+            return LinhaAtualizacaoPreco.builder()
+                    .numero(numeroLinha)
+                    .id(json.getId())
+                    .sku(json.getSku())
+                    .preco(json.getPreco())
+                    .build();
+        } catch (JsonProcessingException e) {
+            return LinhaAtualizacaoPreco.comErro(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.pedidos.produto.controller.json;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Novo preço de um produto, identificado pelo ID ou pelo SKU")
+public class NovoPrecoJson {
+
+    @Schema(description = "ID do produto (informe o ID ou o SKU)", example = "1")
+    private Long id;
+
+    @Schema(description = "SKU do produto (informe o ID ou o SKU)", example = "PROD-001")
+    private String sku;
+
+    @Schema(description = "Novo preço do produto", example = "99.99", required = true)
+    private BigDecimal preco;
+}
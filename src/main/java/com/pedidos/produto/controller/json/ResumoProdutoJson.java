@@ -0,0 +1,51 @@
+package com.pedidos.produto.controller.json;
+
+import com.pedidos.produto.domain.ResumoProduto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Resumo de um produto para listagens, sem descrição e datas")
+public class ResumoProdutoJson {
+
+    @Schema(description = "ID único do produto", example = "1")
+    private Long id;
+
+    @Schema(description = "Nome do produto", example = "Smartphone Samsung Galaxy")
+    private String nome;
+
+    @Schema(description = "Código SKU do produto", example = "SMARTPHONE-GALAXY-S23")
+    private String sku;
+
+    @Schema(description = "Preço do produto", example = "1299.99")
+    private BigDecimal preco;
+
+    @Schema(description = "Categoria do produto", example = "ELETRÔNICOS")
+    private String categoria;
+
+    @Schema(description = "Indica se o produto está ativo", example = "true")
+    private Boolean ativo;
+
+    public static ResumoProdutoJson fromDomain(ResumoProduto resumo) {
+        return ResumoProdutoJson.builder()
+                .id(resumo.getId())
+                .nome(resumo.getNome())
+                .sku(resumo.getSku())
+                .preco(resumo.getPreco())
+                .categoria(resumo.getCategoria())
+                .ativo(resumo.getAtivo())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de leitura da busca textual: relevância e ID do último item entregue.
+ * A próxima página continua de {@code (relevancia, id)} em diante, sem OFFSET.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class CursorBusca {
+    private static final String SEPARADOR = "|";
+
+    private final float ultimaRelevancia;
+    private final Long ultimoId;
+
+    public String codificar() {
+        // Float.toString faz ida e volta exata, então a comparação de igualdade no banco continua válida
+        String conteudo = ultimaRelevancia + SEPARADOR + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorBusca decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\|", 2);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            float ultimaRelevancia = Float.parseFloat(partes[0]);
+            if (!Float.isFinite(ultimaRelevancia)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new CursorBusca(ultimaRelevancia, Long.valueOf(partes[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
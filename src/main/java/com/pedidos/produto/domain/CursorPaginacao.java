@@ -0,0 +1,55 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de leitura para paginação por keyset: guarda a chave de ordenação e o ID
+ * do último item entregue, de modo que a próxima página seja buscada com
+ * {@code WHERE (chave, id) > (ultimoValor, ultimoId)} em vez de OFFSET.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class CursorPaginacao {
+    private static final String SEPARADOR = "|";
+
+    private final Ordenacao ordenacao;
+    private final Long ultimoId;
+    private final String ultimoValor;
+
+    public String codificar() {
+        String conteudo = ordenacao.name() + SEPARADOR + ultimoId + SEPARADOR + (ultimoValor != null ? ultimoValor : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacao decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\|", 3);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            Ordenacao ordenacao = Ordenacao.valueOf(partes[0]);
+            Long ultimoId = Long.valueOf(partes[1]);
+            String ultimoValor = partes[2].isEmpty() ? null : partes[2];
+            if (ordenacao != Ordenacao.ID && ultimoValor == null) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            if (ordenacao == Ordenacao.PRECO) {
+                new BigDecimal(ultimoValor);
+            }
+            return new CursorPaginacao(ordenacao, ultimoId, ultimoValor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Contagens e percentis de preço (interpolados, como {@code percentile_cont}) dos produtos de uma categoria.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class DistribuicaoPrecosCategoria {
+    // Nula para os produtos sem categoria
+    private final String categoria;
+    private final long totalProdutos;
+    private final long produtosAtivos;
+    private final BigDecimal percentil25;
+    private final BigDecimal mediana;
+    private final BigDecimal percentil75;
+    private final BigDecimal percentil90;
+    private final BigDecimal percentil99;
+}
@@ -0,0 +1,34 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class EstatisticaCategoria {
+    // Nula para os produtos sem categoria
+    private final String categoria;
+    private final long totalProdutos;
+    private final long produtosAtivos;
+
+    // Soma guardada em vez da média para que a média geral possa ser calculada a partir das categorias
+    private final BigDecimal somaPrecos;
+    private final BigDecimal precoMinimo;
+    private final BigDecimal precoMaximo;
+
+    public BigDecimal getPrecoMedio() {
+        return media(somaPrecos, totalProdutos);
+    }
+
+    static BigDecimal media(BigDecimal soma, long quantidade) {
+        if (quantidade == 0) {
+            return null;
+        }
+        return soma.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_EVEN);
+    }
+}
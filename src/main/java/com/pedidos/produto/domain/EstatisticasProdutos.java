@@ -0,0 +1,42 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estatísticas do catálogo: contagens e preços (mínimo, médio e máximo, sobre todos os produtos)
+ * no total e por categoria. Os totais são derivados das categorias.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class EstatisticasProdutos {
+    private final long totalProdutos;
+    private final long produtosAtivos;
+    private final BigDecimal precoMinimo;
+    private final BigDecimal precoMedio;
+    private final BigDecimal precoMaximo;
+    private final List<EstatisticaCategoria> categorias;
+
+    public static EstatisticasProdutos de(List<EstatisticaCategoria> categorias) {
+        long total = 0;
+        long ativos = 0;
+        BigDecimal soma = BigDecimal.ZERO;
+        for (EstatisticaCategoria categoria : categorias) {
+            total += categoria.getTotalProdutos();
+            ativos += categoria.getProdutosAtivos();
+            soma = soma.add(categoria.getSomaPrecos());
+        }
+        BigDecimal minimo = categorias.stream().map(EstatisticaCategoria::getPrecoMinimo)
+                .filter(Objects::nonNull).min(BigDecimal::compareTo).orElse(null);
+        BigDecimal maximo = categorias.stream().map(EstatisticaCategoria::getPrecoMaximo)
+                .filter(Objects::nonNull).max(BigDecimal::compareTo).orElse(null);
+        return new EstatisticasProdutos(total, ativos, minimo, EstatisticaCategoria.media(soma, total), maximo,
+                List.copyOf(categorias));
+    }
+}
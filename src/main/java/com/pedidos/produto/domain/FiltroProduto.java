@@ -0,0 +1,26 @@
+package com.pedidos.produto.domain;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros da listagem de produtos. Os filtros informados são combinados com E em uma única
+ * consulta; campos nulos não restringem o resultado.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+public class FiltroProduto {
+    public static final FiltroProduto VAZIO = FiltroProduto.builder().build();
+
+    private final String categoria;
+    private final Boolean apenasAtivos;
+    private final BigDecimal precoMin;
+    private final BigDecimal precoMax;
+    private final String termo;
+}
@@ -0,0 +1,32 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Item da reprecificação em massa: o produto é identificado pelo ID ou pelo SKU.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class LinhaAtualizacaoPreco {
+    private final long numero;
+    private final Long id;
+    private final String sku;
+    private final BigDecimal preco;
+
+    // Preenchido quando a linha não pôde ser lida
+    private final String erro;
+
+    public static LinhaAtualizacaoPreco comErro(long numero, String erro) {
+        return LinhaAtualizacaoPreco.builder()
+                .numero(numero)
+                .erro(erro)
+                .build();
+    }
+}
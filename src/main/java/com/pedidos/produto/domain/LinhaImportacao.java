@@ -0,0 +1,31 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class LinhaImportacao {
+    private final long numero;
+    private final String nome;
+    private final String sku;
+    private final String descricao;
+    private final BigDecimal preco;
+    private final String categoria;
+
+    // Preenchido quando a linha não pôde ser lida do arquivo
+    private final String erro;
+
+    public static LinhaImportacao comErro(long numero, String erro) {
+        return LinhaImportacao.builder()
+                .numero(numero)
+                .erro(erro)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.pedidos.produto.domain;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalização de texto para comparação e busca: minúsculas e sem acentos,
+ * de modo que "ELETRÔNICOS", "Eletrônicos" e "eletronicos" sejam equivalentes.
+ */
+public final class NormalizadorTexto {
+
+    private NormalizadorTexto() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String minusculo = texto.toLowerCase(Locale.ROOT);
+        if (apenasAscii(minusculo)) {
+            return minusculo;
+        }
+        // NFD separa a letra base do acento, que é então descartado
+        String decomposto = Normalizer.normalize(minusculo, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Quebra o texto normalizado em termos formados apenas por letras e dígitos.
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> termos = new ArrayList<>();
+        String normalizado = normalizar(texto);
+        if (normalizado == null) {
+            return termos;
+        }
+        int inicio = -1;
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (Character.isLetterOrDigit(normalizado.charAt(i))) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                termos.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        if (inicio >= 0) {
+            termos.add(normalizado.substring(inicio));
+        }
+        return termos;
+    }
+
+    private static boolean apenasAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pedidos.produto.domain;
+
+public enum Ordenacao {
+    ID,
+    PRECO,
+    NOME;
+
+    public static Ordenacao de(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Ordenacao.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ordenação inválida: " + valor + ". Valores aceitos: ID, PRECO, NOME");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class Pagina<T> {
+    private final List<T> itens;
+
+    // Cursor opaco para a próxima página; null quando não há mais itens
+    private final String proximoCursor;
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @ToString
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Produto {
@@ -38,6 +38,9 @@ public class Produto {
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Versão da última escrita persistida; nula enquanto o produto não foi salvo
+    private Long versao;
+
     public Produto(String nome, String sku, String descricao, BigDecimal preco, String categoria) {
         this();
         validarNome(nome);
@@ -73,7 +76,7 @@ public class Produto {
         }
     }
 
-    private void validarPreco(BigDecimal preco) {
+    public static void validarPreco(BigDecimal preco) {
         if (preco == null) {
             throw new IllegalArgumentException("Preço é obrigatório");
         }
@@ -112,6 +115,18 @@ public class Produto {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Categoria em minúsculas e sem acentos, gravada junto com o produto: as buscas por categoria comparam
+     * essa chave, de modo que "ELETRÔNICOS" e "eletronicos" encontram os mesmos produtos.
+     */
+    public String getCategoriaChave() {
+        return chaveCategoria(categoria);
+    }
+
+    public static String chaveCategoria(String categoria) {
+        return categoria != null ? NormalizadorTexto.normalizar(categoria.trim()) : null;
+    }
+
     public boolean isAtivo() {
         return this.ativo != null && this.ativo;
     }
@@ -0,0 +1,32 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResultadoAtualizacaoPrecos {
+    private final long totalLinhas;
+    private final long atualizados;
+
+    // Produtos que já tinham o preço informado: não são alterados nem geram evento
+    private final long inalterados;
+    private final long totalErros;
+
+    // Limitada às primeiras ocorrências para que a resposta não cresça com a lista
+    private final List<ErroAtualizacaoPreco> erros;
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class ErroAtualizacaoPreco {
+        private final long linha;
+        private final Long id;
+        private final String sku;
+        private final String mensagem;
+    }
+}
@@ -0,0 +1,16 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResultadoBuscaEmLote {
+    private final List<Produto> produtos;
+    private final List<Long> idsNaoEncontrados;
+    private final List<String> skusNaoEncontrados;
+}
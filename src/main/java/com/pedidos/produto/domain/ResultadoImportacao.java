@@ -0,0 +1,28 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResultadoImportacao {
+    private final long totalLinhas;
+    private final long importados;
+    private final long totalErros;
+
+    // Limitada às primeiras ocorrências para que a resposta não cresça com o arquivo
+    private final List<ErroImportacao> erros;
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class ErroImportacao {
+        private final long linha;
+        private final String sku;
+        private final String mensagem;
+    }
+}
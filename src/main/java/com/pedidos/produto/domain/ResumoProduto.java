@@ -0,0 +1,22 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Colunas exibidas nas listagens, sem a descrição e as datas de auditoria do produto.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResumoProduto {
+    private final Long id;
+    private final String nome;
+    private final String sku;
+    private final BigDecimal preco;
+    private final String categoria;
+    private final Boolean ativo;
+}
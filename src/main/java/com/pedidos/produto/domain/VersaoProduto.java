@@ -0,0 +1,25 @@
+package com.pedidos.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão e data da última alteração de um produto: o suficiente para responder a uma leitura
+ * condicional (If-None-Match / If-Modified-Since) sem carregar nem serializar o produto.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class VersaoProduto {
+    private final Long versao;
+    private final LocalDateTime atualizadoEm;
+
+    public static VersaoProduto de(Produto produto) {
+        return new VersaoProduto(produto.getVersao(), produto.getUpdatedAt());
+    }
+}
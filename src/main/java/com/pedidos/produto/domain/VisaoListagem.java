@@ -0,0 +1,17 @@
+package com.pedidos.produto.domain;
+
+public enum VisaoListagem {
+    COMPLETA,
+    RESUMO;
+
+    public static VisaoListagem de(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return COMPLETA;
+        }
+        try {
+            return VisaoListagem.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Visão inválida: " + valor + ". Valores aceitos: COMPLETA, RESUMO");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.pedidos.produto.exception;
+
+public class ConflitoDeVersaoException extends SystemBaseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflitoDeVersaoException(String message) {
+        super(message);
+    }
+
+    public ConflitoDeVersaoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.pedidos.produto.exception;
+
+public class IndiceIndisponivelException extends SystemBaseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IndiceIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pedidos.produto.exception;
+
+/**
+ * Requisição recusada por falta de capacidade, respondida com 503 pelo ServicoSobrecarregadoAdvice. Não estende
+ * {@link SystemBaseException} para não cair nos tratamentos de erro de negócio (400/404) dos endpoints.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ServicoSobrecarregadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.pedidos.produto.gateway;
+
+import com.pedidos.produto.domain.Produto;
+
+import java.util.List;
+
+public interface ProdutoEventoGateway {
+    void registrar(String tipoEvento, Produto produto);
+
+    void registrarTodos(String tipoEvento, List<Produto> produtos);
+
+    /**
+     * Um único evento para todos os produtos, com apenas ID, SKU, preço e versão de cada um. Na publicação
+     * ele é dividido por partição, para que cada produto siga na partição da sua chave.
+     */
+    void registrarAgrupado(String tipoEvento, List<Produto> produtos);
+
+    /**
+     * Só o estado completo de cada produto, para o tópico de snapshot, sem evento de alteração.
+     */
+    void registrarSnapshots(String tipoEvento, List<Produto> produtos);
+}
@@ -1,31 +1,116 @@
 package com.pedidos.produto.gateway;
 
+import com.pedidos.produto.domain.CursorBusca;
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResumoProduto;
+import com.pedidos.produto.domain.VersaoProduto;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProdutoGateway {
     Produto salvar(Produto produto);
 
+    List<Produto> salvarTodos(List<Produto> produtos);
+
     Optional<Produto> buscarPorId(Long id);
 
+    /**
+     * Sempre lido do banco, mesmo com o produto em cache: base das escritas, que conferem a versão lida.
+     */
+    Optional<Produto> buscarPorIdSemCache(Long id);
+
     Optional<Produto> buscarPorSku(String sku);
 
+    /**
+     * Apenas versão e última alteração do produto, para validar ETag e Last-Modified sem buscar a linha inteira.
+     */
+    Optional<VersaoProduto> buscarVersaoPorId(Long id);
+
+    Optional<VersaoProduto> buscarVersaoPorSku(String sku);
+
+    List<Produto> buscarPorIds(Collection<Long> ids);
+
+    List<Produto> buscarPorSkus(Collection<String> skus);
+
     List<Produto> buscarTodos();
 
+    Pagina<Produto> buscarPagina(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho);
+
+    /**
+     * Mesma página e cursor de {@link #buscarPagina}, lendo apenas as colunas do resumo (sem a descrição).
+     */
+    Pagina<ResumoProduto> buscarPaginaResumida(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho);
+
+    Pagina<Produto> buscarPorTexto(String termo, CursorBusca cursor, int tamanho);
+
+    void exportarTodos(Consumer<Produto> consumidor);
+
     List<Produto> buscarPorCategoria(String categoria);
 
     List<Produto> buscarAtivos();
 
     List<Produto> buscarPorFaixaPreco(BigDecimal precoMin, BigDecimal precoMax);
 
+    /**
+     * Atualiza o preço sem leitura prévia. Com {@code versaoEsperada} nula a escrita é incondicional.
+     * Vazio quando nenhuma linha foi alterada: o produto não existe ou a versão não confere.
+     */
+    Optional<Produto> atualizarPreco(Long id, BigDecimal preco, Long versaoEsperada);
+
+    /**
+     * Aplica novos preços, por ID, em um comando UPDATE de várias linhas, sem carregar os produtos.
+     * Só os produtos cujo preço muda são alterados, com a versão incrementada, e devolvidos.
+     */
+    List<Produto> atualizarPrecos(Map<Long, BigDecimal> precosPorId);
+
+    /**
+     * Ativa ou desativa sem leitura prévia, com a mesma regra de versão de {@link #atualizarPreco}.
+     */
+    Optional<Produto> atualizarAtivo(Long id, boolean ativo, Long versaoEsperada);
+
     void deletar(Long id);
 
     boolean existePorSku(String sku);
 
+    Set<String> buscarSkusExistentes(Collection<String> skus);
+
+    Set<Long> buscarIdsExistentes(Collection<Long> ids);
+
+    /**
+     * Próximo lote de produtos em ordem de ID, a partir do ID seguinte a {@code aposId}, com as linhas travadas
+     * para escrita até o fim da transação corrente. O estado lido já inclui as escritas confirmadas nesses
+     * produtos, e as próximas só acontecem depois do commit.
+     */
+    List<Produto> buscarLoteTravado(Long aposId, int limite);
+
+    /**
+     * ID de cada SKU informado que existe; os inexistentes ficam fora do mapa.
+     */
+    Map<String, Long> buscarIdsPorSkus(Collection<String> skus);
+
     long contarProdutos();
 
     long contarProdutosAtivos();
+
+    /**
+     * Estatísticas mantidas de forma incremental a cada escrita, sem contar a tabela de produtos.
+     */
+    EstatisticasProdutos buscarEstatisticas();
+
+    /**
+     * Contagens e percentis de preço por categoria, calculados no banco em uma única consulta agrupada.
+     */
+    List<DistribuicaoPrecosCategoria> buscarDistribuicaoPrecosPorCategoria();
 }
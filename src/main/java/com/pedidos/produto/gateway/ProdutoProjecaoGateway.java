@@ -0,0 +1,24 @@
+package com.pedidos.produto.gateway;
+
+import com.pedidos.produto.domain.Produto;
+
+import java.util.Optional;
+
+/**
+ * Lado de leitura (CQRS): cópia local do catálogo mantida pelos eventos de produto.
+ */
+public interface ProdutoProjecaoGateway {
+    /**
+     * Carregada e com o consumidor de eventos dentro do atraso máximo configurado.
+     */
+    boolean estaAtualizada();
+
+    /**
+     * Eventos ainda não aplicados à projeção; -1 enquanto a posição do consumidor é desconhecida.
+     */
+    long lag();
+
+    Optional<Produto> buscarPorId(Long id);
+
+    Optional<Produto> buscarPorSku(String sku);
+}
@@ -0,0 +1,19 @@
+package com.pedidos.produto.gateway;
+
+import com.pedidos.produto.domain.Produto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leituras de produto sem bloqueio de thread, para o caminho de leitura reativo. As escritas continuam
+ * em {@link ProdutoGateway}.
+ */
+public interface ProdutoReativoGateway {
+    Mono<Produto> buscarPorId(Long id);
+
+    Mono<Produto> buscarPorSku(String sku);
+
+    Flux<Produto> buscarAtivos();
+
+    Flux<Produto> buscarPorCategoria(String categoria);
+}
@@ -0,0 +1,11 @@
+package com.pedidos.produto.gateway;
+
+import com.pedidos.produto.domain.Produto;
+
+import java.util.List;
+
+public interface ProdutoSugestaoGateway {
+    boolean estaDisponivel();
+
+    List<Produto> sugerir(String termo, int limite);
+}
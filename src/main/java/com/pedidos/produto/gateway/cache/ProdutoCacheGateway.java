@@ -0,0 +1,335 @@
+package com.pedidos.produto.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pedidos.produto.domain.CursorBusca;
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResumoProduto;
+import com.pedidos.produto.domain.VersaoProduto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Decorator de leitura com cache em memória para as buscas por ID e por SKU e para a distribuição de
+ * preços por categoria, que é descartada a cada evento de produto.
+ * <p>
+ * {@link Produto} é mutável e os usecases alteram a instância retornada antes de salvar,
+ * por isso o cache guarda e devolve sempre cópias.
+ * <p>
+ * Cada evento de outra réplica registra a versão que ele anuncia como mínima para o produto. Uma leitura do banco
+ * feita antes da escrita dessa réplica e concluída depois do evento não entra no cache, em vez de servir o estado
+ * anterior até o TTL.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoCacheGateway implements ProdutoGateway, ProdutoEventoHandler {
+
+    private final ProdutoGateway delegate;
+    private final Cache<Long, Produto> cachePorId;
+    private final Cache<String, Produto> cachePorSku;
+    private final Cache<String, List<DistribuicaoPrecosCategoria>> cacheDistribuicaoPrecos;
+    private final Cache<Long, Long> versaoMinimaPorId;
+
+    // Entrada única: a distribuição é sempre calculada para o catálogo inteiro
+    static final String CHAVE_DISTRIBUICAO_PRECOS = "categorias";
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto produtoSalvo = delegate.salvar(produto);
+        invalidar(produto.getId(), produto.getSku());
+        invalidar(produtoSalvo.getId(), produtoSalvo.getSku());
+        armazenarAposCommit(produtoSalvo);
+        return produtoSalvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        List<Produto> produtosSalvos = delegate.salvarTodos(produtos);
+        produtosSalvos.forEach(produto -> {
+            invalidar(produto.getId(), produto.getSku());
+            armazenarAposCommit(produto);
+        });
+        return produtosSalvos;
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        Produto emCache = cachePorId.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(copiar(emCache));
+        }
+        Optional<Produto> produto = delegate.buscarPorId(id);
+        produto.ifPresent(this::armazenar);
+        return produto;
+    }
+
+    // Não popula o cache: quem escreve em seguida invalida a entrada de qualquer forma
+    @Override
+    public Optional<Produto> buscarPorIdSemCache(Long id) {
+        return delegate.buscarPorIdSemCache(id);
+    }
+
+    @Override
+    public Optional<Produto> buscarPorSku(String sku) {
+        Produto emCache = cachePorSku.getIfPresent(sku);
+        if (emCache != null) {
+            return Optional.of(copiar(emCache));
+        }
+        Optional<Produto> produto = delegate.buscarPorSku(sku);
+        produto.ifPresent(this::armazenar);
+        return produto;
+    }
+
+    // Com o produto em cache a versão sai da memória; sem ele, a consulta de versão não popula o cache
+    @Override
+    public Optional<VersaoProduto> buscarVersaoPorId(Long id) {
+        Produto emCache = cachePorId.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(VersaoProduto.de(emCache));
+        }
+        return delegate.buscarVersaoPorId(id);
+    }
+
+    @Override
+    public Optional<VersaoProduto> buscarVersaoPorSku(String sku) {
+        Produto emCache = cachePorSku.getIfPresent(sku);
+        if (emCache != null) {
+            return Optional.of(VersaoProduto.de(emCache));
+        }
+        return delegate.buscarVersaoPorSku(sku);
+    }
+
+    @Override
+    public List<Produto> buscarPorIds(Collection<Long> ids) {
+        return buscarEmLote(ids, cachePorId, delegate::buscarPorIds);
+    }
+
+    @Override
+    public List<Produto> buscarPorSkus(Collection<String> skus) {
+        return buscarEmLote(skus, cachePorSku, delegate::buscarPorSkus);
+    }
+
+    @Override
+    public List<Produto> buscarTodos() {
+        return delegate.buscarTodos();
+    }
+
+    @Override
+    public Pagina<Produto> buscarPagina(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho) {
+        return delegate.buscarPagina(filtro, ordenacao, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<ResumoProduto> buscarPaginaResumida(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho) {
+        return delegate.buscarPaginaResumida(filtro, ordenacao, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<Produto> buscarPorTexto(String termo, CursorBusca cursor, int tamanho) {
+        return delegate.buscarPorTexto(termo, cursor, tamanho);
+    }
+
+    @Override
+    public void exportarTodos(Consumer<Produto> consumidor) {
+        delegate.exportarTodos(consumidor);
+    }
+
+    @Override
+    public List<Produto> buscarPorCategoria(String categoria) {
+        return delegate.buscarPorCategoria(categoria);
+    }
+
+    @Override
+    public List<Produto> buscarAtivos() {
+        return delegate.buscarAtivos();
+    }
+
+    @Override
+    public List<Produto> buscarPorFaixaPreco(BigDecimal precoMin, BigDecimal precoMax) {
+        return delegate.buscarPorFaixaPreco(precoMin, precoMax);
+    }
+
+    @Override
+    public Optional<Produto> atualizarPreco(Long id, BigDecimal preco, Long versaoEsperada) {
+        Optional<Produto> produtoAtualizado = delegate.atualizarPreco(id, preco, versaoEsperada);
+        produtoAtualizado.ifPresent(this::substituir);
+        return produtoAtualizado;
+    }
+
+    @Override
+    public List<Produto> atualizarPrecos(Map<Long, BigDecimal> precosPorId) {
+        List<Produto> produtosAtualizados = delegate.atualizarPrecos(precosPorId);
+        produtosAtualizados.forEach(this::substituir);
+        return produtosAtualizados;
+    }
+
+    @Override
+    public Optional<Produto> atualizarAtivo(Long id, boolean ativo, Long versaoEsperada) {
+        Optional<Produto> produtoAtualizado = delegate.atualizarAtivo(id, ativo, versaoEsperada);
+        produtoAtualizado.ifPresent(this::substituir);
+        return produtoAtualizado;
+    }
+
+    @Override
+    public void deletar(Long id) {
+        Produto emCache = cachePorId.getIfPresent(id);
+        delegate.deletar(id);
+        if (emCache != null) {
+            invalidar(id, emCache.getSku());
+        } else {
+            cachePorId.invalidate(id);
+            cachePorSku.asMap().values().removeIf(produto -> id.equals(produto.getId()));
+        }
+    }
+
+    @Override
+    public boolean existePorSku(String sku) {
+        return delegate.existePorSku(sku);
+    }
+
+    @Override
+    public Set<String> buscarSkusExistentes(Collection<String> skus) {
+        return delegate.buscarSkusExistentes(skus);
+    }
+
+    @Override
+    public Set<Long> buscarIdsExistentes(Collection<Long> ids) {
+        return delegate.buscarIdsExistentes(ids);
+    }
+
+    @Override
+    public List<Produto> buscarLoteTravado(Long aposId, int limite) {
+        return delegate.buscarLoteTravado(aposId, limite);
+    }
+
+    @Override
+    public Map<String, Long> buscarIdsPorSkus(Collection<String> skus) {
+        return delegate.buscarIdsPorSkus(skus);
+    }
+
+    @Override
+    public long contarProdutos() {
+        return delegate.contarProdutos();
+    }
+
+    @Override
+    public long contarProdutosAtivos() {
+        return delegate.contarProdutosAtivos();
+    }
+
+    @Override
+    public EstatisticasProdutos buscarEstatisticas() {
+        return delegate.buscarEstatisticas();
+    }
+
+    // Leituras simultâneas sem a entrada em cache esperam a mesma consulta em vez de repeti-la
+    @Override
+    public List<DistribuicaoPrecosCategoria> buscarDistribuicaoPrecosPorCategoria() {
+        return cacheDistribuicaoPrecos.get(CHAVE_DISTRIBUICAO_PRECOS,
+                chave -> delegate.buscarDistribuicaoPrecosPorCategoria());
+    }
+
+    @Override
+    public void aoReceber(ProdutoEventMessage evento) {
+        log.debug("Invalidando cache do produto ID {} / SKU {} por evento {}",
+                evento.getProdutoId(), evento.getSku(), evento.getTipoEvento());
+        // A versão mínima vem antes da invalidação: um armazenar que tranque a chave depois já a enxerga
+        if (evento.getProdutoId() != null && evento.getVersao() != null) {
+            versaoMinimaPorId.asMap().merge(evento.getProdutoId(), evento.getVersao(), Math::max);
+        }
+        invalidar(evento.getProdutoId(), evento.getSku());
+        cacheDistribuicaoPrecos.invalidate(CHAVE_DISTRIBUICAO_PRECOS);
+    }
+
+    // Atende o que estiver em cache e consulta o delegate apenas para as chaves ausentes, em uma única chamada
+    private <K> List<Produto> buscarEmLote(Collection<K> chaves, Cache<K, Produto> cache,
+                                           Function<Collection<K>, List<Produto>> buscarAusentes) {
+        List<Produto> encontrados = new ArrayList<>(chaves.size());
+        List<K> ausentes = new ArrayList<>();
+        for (K chave : chaves) {
+            Produto emCache = cache.getIfPresent(chave);
+            if (emCache != null) {
+                encontrados.add(copiar(emCache));
+            } else {
+                ausentes.add(chave);
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            List<Produto> doDelegate = buscarAusentes.apply(ausentes);
+            doDelegate.forEach(this::armazenar);
+            encontrados.addAll(doDelegate);
+        }
+        return encontrados;
+    }
+
+    // Uma leitura que consultou o banco antes do commit de uma escrita pode chegar aqui depois dela: a entrada com
+    // versão maior é mantida, e sem entrada a leitura só é guardada se não for anterior à versão de um evento já
+    // recebido. A conferência roda no compute, com a chave trancada, então não cruza com a invalidação do evento
+    private void armazenar(Produto produto) {
+        Produto copia = copiar(produto);
+        cachePorId.asMap().compute(copia.getId(), (id, emCache) -> maisRecente(emCache, copia));
+        cachePorSku.asMap().compute(copia.getSku(), (sku, emCache) -> maisRecente(emCache, copia));
+    }
+
+    private void substituir(Produto produto) {
+        invalidar(produto.getId(), produto.getSku());
+        armazenarAposCommit(produto);
+    }
+
+    // O produto salvo só vai para o cache depois do commit; em rollback as entradas ficam apenas invalidadas
+    private void armazenarAposCommit(Produto produto) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                armazenar(produto);
+            }
+        });
+    }
+
+    private Produto maisRecente(Produto emCache, Produto novo) {
+        if (emCache == null) {
+            Long versaoMinima = versaoMinimaPorId.getIfPresent(novo.getId());
+            return versaoMinima != null && novo.getVersao() != null && novo.getVersao() < versaoMinima ? null : novo;
+        }
+        if (emCache.getVersao() != null && novo.getVersao() != null && emCache.getVersao() > novo.getVersao()) {
+            return emCache;
+        }
+        return novo;
+    }
+
+    private void invalidar(Long id, String sku) {
+        if (id != null) {
+            cachePorId.invalidate(id);
+        }
+        if (sku != null) {
+            cachePorSku.invalidate(sku);
+        }
+    }
+
+    private Produto copiar(Produto produto) {
+        return produto.toBuilder().build();
+    }
+}
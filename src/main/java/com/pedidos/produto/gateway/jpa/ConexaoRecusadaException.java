@@ -0,0 +1,17 @@
+package com.pedidos.produto.gateway.jpa;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Conexão recusada pelo {@link LimitadorConexoesDataSource}: o banco não falhou, a instância está saturada.
+ * Continua sendo uma {@link SQLTransientConnectionException} para o JDBC e o Hibernate; na borda dos casos
+ * de uso vira {@link com.pedidos.produto.exception.ServicoSobrecarregadoException}.
+ */
+public class ConexaoRecusadaException extends SQLTransientConnectionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConexaoRecusadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,128 @@
+package com.pedidos.produto.gateway.jpa;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulkhead na frente do pool de conexões. Com threads virtuais o Tomcat deixa de limitar quantas
+ * requisições rodam ao mesmo tempo, e cada uma que precisa do banco entraria na fila do Hikari até o
+ * connectionTimeout. Aqui no máximo {@code maximoEmprestadas} conexões ficam emprestadas, no máximo
+ * {@code maximoAguardando} threads esperam por uma, e quem passa desses limites falha rápido com
+ * {@link ConexaoRecusadaException}, que chega ao cliente como 503.
+ */
+@Slf4j
+public class LimitadorConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int maximoEmprestadas;
+    private final int maximoAguardando;
+    private final long tempoMaximoEsperaNanos;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final AtomicLong rejeicoes = new AtomicLong();
+
+    public LimitadorConexoesDataSource(DataSource dataSource, int maximoEmprestadas, int maximoAguardando,
+                                       Duration tempoMaximoEspera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(maximoEmprestadas, true);
+        this.maximoEmprestadas = maximoEmprestadas;
+        this.maximoAguardando = maximoAguardando;
+        this.tempoMaximoEsperaNanos = tempoMaximoEspera.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirirPermissao();
+        return emprestar(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirirPermissao();
+        return emprestar(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public int conexoesEmprestadas() {
+        return maximoEmprestadas - permissoes.availablePermits();
+    }
+
+    public int threadsAguardando() {
+        return aguardando.get();
+    }
+
+    public long rejeicoes() {
+        return rejeicoes.get();
+    }
+
+    private void adquirirPermissao() throws SQLException {
+        if (permissoes.tryAcquire()) {
+            return;
+        }
+        if (aguardando.incrementAndGet() > maximoAguardando) {
+            aguardando.decrementAndGet();
+            throw rejeitar("Limite de " + maximoAguardando + " threads aguardando conexão atingido");
+        }
+        try {
+            if (!permissoes.tryAcquire(tempoMaximoEsperaNanos, TimeUnit.NANOSECONDS)) {
+                throw rejeitar("Nenhuma conexão disponível em " + TimeUnit.NANOSECONDS.toMillis(tempoMaximoEsperaNanos) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão interrompida", e);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+    }
+
+    private ConexaoRecusadaException rejeitar(String motivo) {
+        rejeicoes.incrementAndGet();
+        log.warn("Conexão recusada pelo bulkhead: {}", motivo);
+        return new ConexaoRecusadaException(motivo);
+    }
+
+    // A permissão volta ao semáforo uma única vez, quando a conexão é fechada (devolvida ao pool)
+    private Connection emprestar(FonteConexao fonte) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = fonte.obter();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+        AtomicBoolean devolvida = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close") && devolvida.compareAndSet(false, true)) {
+                        try {
+                            return metodo.invoke(conexao, argumentos);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permissoes.release();
+                        }
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface FonteConexao {
+        Connection obter() throws SQLException;
+    }
+}
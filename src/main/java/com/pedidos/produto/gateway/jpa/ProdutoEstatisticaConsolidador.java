@@ -0,0 +1,36 @@
+package com.pedidos.produto.gateway.jpa;
+
+import com.pedidos.produto.config.ThreadsVirtuaisConfig;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Consolida periodicamente as variações de estatística gravadas pelos triggers de tb_produto. As leituras
+ * já somam as variações pendentes, então o intervalo só limita quantas linhas cada leitura percorre.
+ * Réplicas podem consolidar ao mesmo tempo: cada variação é removida e aplicada uma única vez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoEstatisticaConsolidador {
+
+    private final ProdutoRepository produtoRepository;
+    private final TransactionOperations transactionOperations;
+
+    @Scheduled(fixedDelayString = "${produto.estatisticas.intervalo-consolidacao-ms:5000}",
+            scheduler = ThreadsVirtuaisConfig.SCHEDULER_ESTATISTICAS)
+    public void consolidar() {
+        try {
+            Integer consolidadas = transactionOperations.execute(status -> produtoRepository.consolidarEstatisticas());
+            if (consolidadas != null && consolidadas > 0) {
+                log.debug("{} variações de estatística consolidadas", consolidadas);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao consolidar estatísticas de produtos, nova tentativa no próximo ciclo: {}", e.getMessage(), e);
+        }
+    }
+}
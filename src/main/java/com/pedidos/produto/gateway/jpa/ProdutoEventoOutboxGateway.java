@@ -0,0 +1,117 @@
+package com.pedidos.produto.gateway.jpa;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoOutboxEntity;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoOutboxRepository;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoTopicos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os eventos na tabela de outbox dentro da transação da escrita do produto.
+ * A publicação no Kafka fica a cargo do relay, fora da thread da requisição.
+ * Cada produto alterado gera também um registro com o estado completo para o tópico compactado de snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoEventoOutboxGateway implements ProdutoEventoGateway {
+
+    private final ProdutoOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String tipoEvento, Produto produto) {
+        try {
+            outboxRepository.saveAll(List.of(toEntity(tipoEvento, produto), toSnapshot(tipoEvento, produto)));
+            log.debug("Evento {} registrado no outbox para o produto ID {}", tipoEvento, produto.getId());
+        } catch (Exception e) {
+            log.error("Erro ao registrar evento {} no outbox: {}", tipoEvento, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao registrar evento no outbox", e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(String tipoEvento, List<Produto> produtos) {
+        try {
+            List<ProdutoOutboxEntity> entities = new ArrayList<>(produtos.size() * 2);
+            for (Produto produto : produtos) {
+                entities.add(toEntity(tipoEvento, produto));
+                entities.add(toSnapshot(tipoEvento, produto));
+            }
+            outboxRepository.saveAll(entities);
+            log.debug("{} eventos {} registrados no outbox", produtos.size(), tipoEvento);
+        } catch (Exception e) {
+            log.error("Erro ao registrar eventos {} no outbox: {}", tipoEvento, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao registrar eventos no outbox", e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAgrupado(String tipoEvento, List<Produto> produtos) {
+        try {
+            List<ProdutoOutboxEntity> entities = new ArrayList<>(produtos.size() + 1);
+            // Sem chave: o relay divide o evento por partição e usa a chave de um produto de cada parte
+            entities.add(toEntity(ProdutoTopicos.EVENTOS, null, tipoEvento, ProdutoEventMessage.agrupado(tipoEvento, produtos)));
+            produtos.forEach(produto -> entities.add(toSnapshot(tipoEvento, produto)));
+            outboxRepository.saveAll(entities);
+            log.debug("Evento {} agrupado com {} produtos registrado no outbox", tipoEvento, produtos.size());
+        } catch (Exception e) {
+            log.error("Erro ao registrar evento agrupado {} no outbox: {}", tipoEvento, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao registrar evento agrupado no outbox", e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarSnapshots(String tipoEvento, List<Produto> produtos) {
+        try {
+            outboxRepository.saveAll(produtos.stream().map(produto -> toSnapshot(tipoEvento, produto)).toList());
+            log.debug("{} snapshots {} registrados no outbox", produtos.size(), tipoEvento);
+        } catch (Exception e) {
+            log.error("Erro ao registrar snapshots {} no outbox: {}", tipoEvento, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao registrar snapshots no outbox", e);
+        }
+    }
+
+    private ProdutoOutboxEntity toEntity(String tipoEvento, Produto produto) {
+        return toEntity(ProdutoTopicos.EVENTOS, ProdutoTopicos.chave(produto.getId()), tipoEvento,
+                ProdutoEventMessage.de(tipoEvento, produto));
+    }
+
+    private ProdutoOutboxEntity toSnapshot(String tipoEvento, Produto produto) {
+        return toEntity(ProdutoTopicos.SNAPSHOT, ProdutoTopicos.chave(produto.getId()), tipoEvento,
+                ProdutoEventMessage.snapshot(tipoEvento, produto));
+    }
+
+    private ProdutoOutboxEntity toEntity(String topico, String chave, String tipoEvento, ProdutoEventMessage evento) {
+        ProdutoOutboxEntity entity = new ProdutoOutboxEntity();
+        entity.setTopico(topico);
+        entity.setChave(chave);
+        entity.setTipoEvento(tipoEvento);
+        entity.setPayload(serializar(evento));
+        return entity;
+    }
+
+    private String serializar(ProdutoEventMessage evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar evento de produto", e);
+        }
+    }
+}
@@ -1,18 +1,49 @@
 package com.pedidos.produto.gateway.jpa;
 
+import com.pedidos.produto.domain.CursorBusca;
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.EstatisticaCategoria;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResumoProduto;
+import com.pedidos.produto.domain.VersaoProduto;
+import com.pedidos.produto.exception.ConflitoDeVersaoException;
 import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
 import com.pedidos.produto.gateway.ProdutoGateway;
 import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
 import com.pedidos.produto.gateway.jpa.repository.ProdutoRepository;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoRepository.ResultadoBuscaTextual;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoResumoRepository.ResumoRegistro;
+import com.pedidos.produto.gateway.jpa.specification.ProdutoSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -20,20 +51,50 @@ import java.util.stream.Collectors;
 public class ProdutoJpaGateway implements ProdutoGateway {
 
     private final ProdutoRepository produtoRepository;
+    private final EntityManager entityManager;
 
     @Override
     public Produto salvar(Produto produto) {
         try {
             ProdutoEntity entity = toEntity(produto);
-            ProdutoEntity entitySalva = produtoRepository.save(entity);
+            // O flush executa o UPDATE ... WHERE versao = ? aqui, e não no commit: o conflito vira
+            // ConflitoDeVersaoException e a versão devolvida já é a incrementada
+            ProdutoEntity entitySalva = produtoRepository.saveAndFlush(entity);
             log.debug("Produto salvo no banco: ID {}", entitySalva.getId());
             return toDomain(entitySalva);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflito de versão ao salvar produto ID {} (versão {})", produto.getId(), produto.getVersao());
+            throw new ConflitoDeVersaoException("Produto ID " + produto.getId() + " foi alterado por outra requisição", e);
         } catch (Exception e) {
             log.error("Erro ao salvar produto: {}", e.getMessage(), e);
             throw new ErroAoAcessarRepositorioException("Erro ao salvar produto", e);
         }
     }
 
+    @Override
+    @Transactional
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        try {
+            List<ProdutoEntity> entities = produtos.stream()
+                    .map(this::toEntity)
+                    .collect(Collectors.toList());
+            List<ProdutoEntity> entitiesSalvas = produtoRepository.saveAll(entities);
+            List<Produto> produtosSalvos = entitiesSalvas.stream()
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+
+            // Envia o batch de INSERTs e libera o contexto de persistência antes do próximo lote
+            entityManager.flush();
+            entityManager.clear();
+
+            log.debug("Lote de {} produtos salvo no banco", produtosSalvos.size());
+            return produtosSalvos;
+        } catch (Exception e) {
+            log.error("Erro ao salvar lote de produtos: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao salvar lote de produtos", e);
+        }
+    }
+
     @Override
     public Optional<Produto> buscarPorId(Long id) {
         try {
@@ -45,6 +106,12 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         }
     }
 
+    // Este gateway não tem cache
+    @Override
+    public Optional<Produto> buscarPorIdSemCache(Long id) {
+        return buscarPorId(id);
+    }
+
     @Override
     public Optional<Produto> buscarPorSku(String sku) {
         try {
@@ -56,6 +123,54 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         }
     }
 
+    @Override
+    public Optional<VersaoProduto> buscarVersaoPorId(Long id) {
+        try {
+            return produtoRepository.buscarVersaoPorId(id)
+                    .map(registro -> new VersaoProduto(registro.getVersao(), registro.getUpdatedAt()));
+        } catch (Exception e) {
+            log.error("Erro ao buscar versão do produto por ID {}: {}", id, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar versão do produto por ID", e);
+        }
+    }
+
+    @Override
+    public Optional<VersaoProduto> buscarVersaoPorSku(String sku) {
+        try {
+            return produtoRepository.buscarVersaoPorSku(sku)
+                    .map(registro -> new VersaoProduto(registro.getVersao(), registro.getUpdatedAt()));
+        } catch (Exception e) {
+            log.error("Erro ao buscar versão do produto por SKU {}: {}", sku, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar versão do produto por SKU", e);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorIds(Collection<Long> ids) {
+        try {
+            return produtoRepository.findAllById(ids)
+                    .stream()
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("Erro ao buscar produtos por IDs: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar produtos por IDs", e);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorSkus(Collection<String> skus) {
+        try {
+            return produtoRepository.findBySkuIn(skus)
+                    .stream()
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("Erro ao buscar produtos por SKUs: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar produtos por SKUs", e);
+        }
+    }
+
     @Override
     public List<Produto> buscarTodos() {
         try {
@@ -69,10 +184,124 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         }
     }
 
+    @Override
+    public Pagina<Produto> buscarPagina(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho) {
+        try {
+            // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+            List<ProdutoEntity> entities = produtoRepository.findBy(especificacaoPagina(filtro, cursor),
+                    query -> query.sortBy(ProdutoSpecifications.ordenacao(ordenacao))
+                            .limit(tamanho + 1)
+                            .all());
+
+            boolean temProxima = entities.size() > tamanho;
+            List<Produto> itens = entities.stream()
+                    .limit(tamanho)
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+
+            String proximoCursor = temProxima
+                    ? criarCursor(ordenacao, itens.get(itens.size() - 1)).codificar()
+                    : null;
+            return new Pagina<>(itens, proximoCursor);
+        } catch (Exception e) {
+            log.error("Erro ao buscar página de produtos com filtro {}: {}", filtro, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar página de produtos", e);
+        }
+    }
+
+    @Override
+    public Pagina<ResumoProduto> buscarPaginaResumida(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho) {
+        try {
+            List<ResumoRegistro> registros = produtoRepository.buscarResumos(
+                    especificacaoPagina(filtro, cursor), ProdutoSpecifications.ordenacao(ordenacao), tamanho + 1);
+
+            boolean temProxima = registros.size() > tamanho;
+            List<ResumoProduto> itens = registros.stream()
+                    .limit(tamanho)
+                    .map(r -> new ResumoProduto(r.id(), r.nome(), r.sku(), r.preco(), r.categoria(), r.ativo()))
+                    .collect(Collectors.toList());
+
+            String proximoCursor = null;
+            if (temProxima) {
+                ResumoProduto ultimo = itens.get(itens.size() - 1);
+                proximoCursor = criarCursor(ordenacao, ultimo.getId(), ultimo.getPreco(), ultimo.getNome()).codificar();
+            }
+            return new Pagina<>(itens, proximoCursor);
+        } catch (Exception e) {
+            log.error("Erro ao buscar página resumida de produtos com filtro {}: {}", filtro, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar página de produtos", e);
+        }
+    }
+
+    private Specification<ProdutoEntity> especificacaoPagina(FiltroProduto filtro, CursorPaginacao cursor) {
+        List<Specification<ProdutoEntity>> filtros = new ArrayList<>();
+        filtros.add(ProdutoSpecifications.filtro(filtro));
+        if (cursor != null) {
+            filtros.add(ProdutoSpecifications.aposCursor(cursor));
+        }
+        return Specification.allOf(filtros);
+    }
+
+    @Override
+    public Pagina<Produto> buscarPorTexto(String termo, CursorBusca cursor, int tamanho) {
+        try {
+            String sku = termo.toLowerCase(Locale.ROOT);
+            String prefixoSku = escaparLike(sku) + "%";
+
+            // A consulta ranqueada devolve apenas (id, relevância); os produtos da página são carregados pela PK
+            List<ResultadoBuscaTextual> resultados = cursor == null
+                    ? produtoRepository.buscarPorTexto(termo, sku, prefixoSku, tamanho + 1)
+                    : produtoRepository.buscarPorTextoAposCursor(termo, sku, prefixoSku,
+                            cursor.getUltimaRelevancia(), cursor.getUltimoId(), tamanho + 1);
+
+            boolean temProxima = resultados.size() > tamanho;
+            List<ResultadoBuscaTextual> pagina = resultados.subList(0, Math.min(tamanho, resultados.size()));
+
+            Map<Long, ProdutoEntity> porId = produtoRepository.findAllById(
+                            pagina.stream().map(ResultadoBuscaTextual::getId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(ProdutoEntity::getId, Function.identity()));
+            List<Produto> itens = pagina.stream()
+                    .map(resultado -> porId.get(resultado.getId()))
+                    .filter(Objects::nonNull)
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+
+            String proximoCursor = null;
+            if (temProxima) {
+                ResultadoBuscaTextual ultimo = pagina.get(pagina.size() - 1);
+                proximoCursor = new CursorBusca(ultimo.getRelevancia(), ultimo.getId()).codificar();
+            }
+            return new Pagina<>(itens, proximoCursor);
+        } catch (Exception e) {
+            log.error("Erro ao buscar produtos por texto '{}': {}", termo, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar produtos por texto", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<Produto> consumidor) {
+        try (Stream<ProdutoEntity> entities = produtoRepository.streamTodos()) {
+            entities.forEach(entity -> {
+                Produto produto = toDomain(entity);
+                // Remove a entidade do contexto de persistência para que o heap não cresça com a tabela
+                entityManager.detach(entity);
+                consumidor.accept(produto);
+            });
+        } catch (UncheckedIOException e) {
+            // Falha de escrita no consumidor (ex.: cliente desconectou), não é erro de repositório
+            throw e;
+        } catch (Exception e) {
+            log.error("Erro ao exportar produtos: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao exportar produtos", e);
+        }
+    }
+
     @Override
     public List<Produto> buscarPorCategoria(String categoria) {
         try {
-            return produtoRepository.findByCategoriaIgnoreCaseAndAtivoTrue(categoria)
+            return produtoRepository.findByCategoriaChaveAndAtivoTrue(Produto.chaveCategoria(categoria))
                     .stream()
                     .map(this::toDomain)
                     .collect(Collectors.toList());
@@ -108,6 +337,83 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         }
     }
 
+    @Override
+    public Optional<Produto> atualizarPreco(Long id, BigDecimal preco, Long versaoEsperada) {
+        try {
+            descartarContexto();
+            return produtoRepository.atualizarPrecoCondicional(id, preco, versaoEsperada, LocalDateTime.now())
+                    .map(this::toDomain);
+        } catch (Exception e) {
+            log.error("Erro ao atualizar preço do produto ID {}: {}", id, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao atualizar preço do produto", e);
+        }
+    }
+
+    @Override
+    public List<Produto> atualizarPrecos(Map<Long, BigDecimal> precosPorId) {
+        if (precosPorId.isEmpty()) {
+            return List.of();
+        }
+        try {
+            descartarContexto();
+            List<Produto> atualizados = atualizarPrecosPorId(precosPorId, LocalDateTime.now());
+            log.debug("{} preços atualizados em lote", atualizados.size());
+            return atualizados;
+        } catch (Exception e) {
+            log.error("Erro ao atualizar preços em lote: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao atualizar preços em lote", e);
+        }
+    }
+
+    // Um único UPDATE ... FROM (VALUES ...) para o lote inteiro; linhas com o mesmo preço ficam de fora,
+    // sem nova versão de linha nem evento
+    private List<Produto> atualizarPrecosPorId(Map<Long, BigDecimal> precos, LocalDateTime agora) {
+        StringBuilder sql = new StringBuilder("UPDATE tb_produto p SET preco = v.preco, versao = p.versao + 1, updated_at = ?1 FROM (VALUES ");
+        int parametro = 2;
+        for (int i = 0; i < precos.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(CAST(?").append(parametro++).append(" AS bigint), ")
+                    .append("CAST(?").append(parametro++).append(" AS numeric))");
+        }
+        sql.append(") AS v(id, preco) WHERE p.id = v.id AND p.preco <> v.preco")
+                .append(" RETURNING p.id, p.nome, p.sku, p.descricao, p.preco, p.categoria, p.categoria_chave, p.ativo, p.created_at, p.updated_at, p.versao");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), ProdutoEntity.class);
+        query.setParameter(1, agora);
+        parametro = 2;
+        for (Map.Entry<Long, BigDecimal> preco : precos.entrySet()) {
+            query.setParameter(parametro++, preco.getKey());
+            query.setParameter(parametro++, preco.getValue());
+        }
+        @SuppressWarnings("unchecked")
+        List<ProdutoEntity> entities = query.getResultList();
+        return entities.stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    // O RETURNING dos UPDATEs nativos é resolvido pelo ID: se o produto já estiver gerenciado na transação,
+    // o Hibernate devolve a instância antiga (preço e versão de antes do UPDATE). Envia as pendências e
+    // esvazia o contexto para que o retorno venha da linha atualizada.
+    private void descartarContexto() {
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    @Override
+    public Optional<Produto> atualizarAtivo(Long id, boolean ativo, Long versaoEsperada) {
+        try {
+            descartarContexto();
+            return produtoRepository.atualizarAtivoCondicional(id, ativo, versaoEsperada, LocalDateTime.now())
+                    .map(this::toDomain);
+        } catch (Exception e) {
+            log.error("Erro ao atualizar situação do produto ID {}: {}", id, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao atualizar situação do produto", e);
+        }
+    }
+
     @Override
     public void deletar(Long id) {
         try {
@@ -130,25 +436,107 @@ public class ProdutoJpaGateway implements ProdutoGateway {
     }
 
     @Override
-    public long contarProdutos() {
+    public Set<String> buscarSkusExistentes(Collection<String> skus) {
+        try {
+            return produtoRepository.findSkusExistentes(skus);
+        } catch (Exception e) {
+            log.error("Erro ao verificar existência de SKUs: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao verificar existência de SKUs", e);
+        }
+    }
+
+    @Override
+    public Set<Long> buscarIdsExistentes(Collection<Long> ids) {
+        try {
+            return produtoRepository.findIdsExistentes(ids);
+        } catch (Exception e) {
+            log.error("Erro ao verificar existência de IDs: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao verificar existência de IDs", e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Produto> buscarLoteTravado(Long aposId, int limite) {
+        try {
+            return produtoRepository.travarLoteAposId(aposId, limite).stream()
+                    .map(this::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("Erro ao buscar lote de produtos após o ID {}: {}", aposId, e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar lote de produtos", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> buscarIdsPorSkus(Collection<String> skus) {
         try {
-            return produtoRepository.count();
+            return produtoRepository.findIdsPorSkus(skus).stream()
+                    .collect(Collectors.toMap(ProdutoRepository.IdPorSkuRegistro::getSku, ProdutoRepository.IdPorSkuRegistro::getId));
         } catch (Exception e) {
-            log.error("Erro ao contar produtos: {}", e.getMessage(), e);
-            throw new ErroAoAcessarRepositorioException("Erro ao contar produtos", e);
+            log.error("Erro ao buscar IDs por SKU: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar IDs por SKU", e);
         }
     }
 
+    @Override
+    public long contarProdutos() {
+        return buscarEstatisticas().getTotalProdutos();
+    }
+
     @Override
     public long contarProdutosAtivos() {
+        return buscarEstatisticas().getProdutosAtivos();
+    }
+
+    @Override
+    public EstatisticasProdutos buscarEstatisticas() {
         try {
-            return produtoRepository.countByAtivoTrue();
+            List<EstatisticaCategoria> categorias = produtoRepository.buscarEstatisticasPorCategoria().stream()
+                    .map(registro -> new EstatisticaCategoria(
+                            registro.getCategoria().isEmpty() ? null : registro.getCategoria(),
+                            registro.getTotal(), registro.getAtivos(), registro.getSoma(),
+                            registro.getMenor(), registro.getMaior()))
+                    .toList();
+            return EstatisticasProdutos.de(categorias);
         } catch (Exception e) {
-            log.error("Erro ao contar produtos ativos: {}", e.getMessage(), e);
-            throw new ErroAoAcessarRepositorioException("Erro ao contar produtos ativos", e);
+            log.error("Erro ao buscar estatísticas de produtos: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar estatísticas de produtos", e);
         }
     }
 
+    @Override
+    public List<DistribuicaoPrecosCategoria> buscarDistribuicaoPrecosPorCategoria() {
+        try {
+            return produtoRepository.buscarDistribuicaoPrecosPorCategoria().stream()
+                    .map(registro -> new DistribuicaoPrecosCategoria(
+                            registro.getCategoria().isEmpty() ? null : registro.getCategoria(),
+                            registro.getTotal(), registro.getAtivos(), registro.getP25(), registro.getP50(),
+                            registro.getP75(), registro.getP90(), registro.getP99()))
+                    .toList();
+        } catch (Exception e) {
+            log.error("Erro ao buscar distribuição de preços por categoria: {}", e.getMessage(), e);
+            throw new ErroAoAcessarRepositorioException("Erro ao buscar distribuição de preços por categoria", e);
+        }
+    }
+
+    private CursorPaginacao criarCursor(Ordenacao ordenacao, Produto ultimo) {
+        return criarCursor(ordenacao, ultimo.getId(), ultimo.getPreco(), ultimo.getNome());
+    }
+
+    private CursorPaginacao criarCursor(Ordenacao ordenacao, Long id, BigDecimal preco, String nome) {
+        String valor = switch (ordenacao) {
+            case PRECO -> preco.toPlainString();
+            case NOME -> nome;
+            case ID -> null;
+        };
+        return new CursorPaginacao(ordenacao, id, valor);
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     // Métodos de conversão Entity <-> Domain
     private ProdutoEntity toEntity(Produto produto) {
         ProdutoEntity entity = new ProdutoEntity();
@@ -158,9 +546,11 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         entity.setDescricao(produto.getDescricao());
         entity.setPreco(produto.getPreco());
         entity.setCategoria(produto.getCategoria());
+        entity.setCategoriaChave(produto.getCategoriaChave());
         entity.setAtivo(produto.getAtivo());
         entity.setCreatedAt(produto.getCreatedAt());
         entity.setUpdatedAt(produto.getUpdatedAt());
+        entity.setVersao(produto.getVersao());
         return entity;
     }
 
@@ -175,6 +565,7 @@ public class ProdutoJpaGateway implements ProdutoGateway {
         produto.setAtivo(entity.getAtivo());
         produto.setCreatedAt(entity.getCreatedAt());
         produto.setUpdatedAt(entity.getUpdatedAt());
+        produto.setVersao(entity.getVersao());
         return produto;
     }
 }
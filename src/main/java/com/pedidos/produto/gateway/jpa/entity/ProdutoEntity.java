@@ -8,7 +8,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -31,7 +33,9 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class ProdutoEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com alocação em blocos (pooled): permite ao Hibernate agrupar os INSERTs em batch JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_id_seq")
+    @SequenceGenerator(name = "produto_id_seq", sequenceName = "tb_produto_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -51,6 +55,9 @@ public class ProdutoEntity {
     @Column(name = "categoria", length = 100)
     private String categoria;
 
+    @Column(name = "categoria_chave", length = 100)
+    private String categoriaChave;
+
     @Column(name = "ativo", nullable = false)
     @Builder.Default
     private Boolean ativo = true;
@@ -61,6 +68,10 @@ public class ProdutoEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public ProdutoEntity(String nome, String sku, String descricao, BigDecimal preco, String categoria) {
         this.nome = nome;
         this.sku = sku;
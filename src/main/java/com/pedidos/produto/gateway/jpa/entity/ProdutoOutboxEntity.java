@@ -0,0 +1,59 @@
+package com.pedidos.produto.gateway.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tb_produto_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ProdutoOutboxEntity {
+    // Sem pré-alocação: o ID sai do nextval com a linha do produto já bloqueada pela escrita, então os eventos
+    // de um produto ficam em ordem de commit (ver V12)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_outbox_id_seq")
+    @SequenceGenerator(name = "produto_outbox_id_seq", sequenceName = "tb_produto_outbox_id_seq", allocationSize = 1)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "topico", nullable = false, length = 100)
+    private String topico;
+
+    // ID do produto; nula nos eventos que cobrem vários produtos
+    @Column(name = "chave", length = 100)
+    private String chave;
+
+    @Column(name = "tipo_evento", nullable = false, length = 50)
+    private String tipoEvento;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
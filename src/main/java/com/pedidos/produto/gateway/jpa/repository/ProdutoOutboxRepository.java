@@ -0,0 +1,30 @@
+package com.pedidos.produto.gateway.jpa.repository;
+
+import com.pedidos.produto.gateway.jpa.entity.ProdutoOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProdutoOutboxRepository extends JpaRepository<ProdutoOutboxEntity, Long> {
+
+    @Query(value = "SELECT * FROM tb_produto_outbox ORDER BY id LIMIT :limite", nativeQuery = true)
+    List<ProdutoOutboxEntity> findPendentes(@Param("limite") int limite);
+
+    @Query("SELECT MIN(o.createdAt) FROM ProdutoOutboxEntity o")
+    LocalDateTime findCreatedAtMaisAntigo();
+
+    // Move o evento para a tabela de rejeitados em um único comando
+    @Modifying
+    @Query(value = "WITH rejeitado AS (DELETE FROM tb_produto_outbox WHERE id = :id RETURNING *) " +
+            "INSERT INTO tb_produto_outbox_rejeitado (id, topico, chave, tipo_evento, payload, created_at, erro) " +
+            "SELECT id, topico, chave, tipo_evento, payload, created_at, :erro FROM rejeitado", nativeQuery = true)
+    int rejeitar(@Param("id") Long id, @Param("erro") String erro);
+
+    // Lock transacional: apenas uma réplica publica por vez, na ordem de findPendentes (por produto, a de commit)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:chave)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("chave") long chave);
+}
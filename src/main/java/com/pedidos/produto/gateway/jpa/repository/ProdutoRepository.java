@@ -1,25 +1,51 @@
 package com.pedidos.produto.gateway.jpa.repository;
 
 import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface ProdutoRepository extends JpaRepository<ProdutoEntity, Long> {
+public interface ProdutoRepository extends JpaRepository<ProdutoEntity, Long>, JpaSpecificationExecutor<ProdutoEntity>,
+        ProdutoResumoRepository {
 
     Optional<ProdutoEntity> findBySku(String sku);
 
     boolean existsBySku(String sku);
 
-    List<ProdutoEntity> findByAtivoTrue();
+    // Leitura condicional: só as colunas que formam o ETag e o Last-Modified, sem materializar a entidade
+    @Query("SELECT p.versao AS versao, p.updatedAt AS updatedAt FROM ProdutoEntity p WHERE p.id = :id")
+    Optional<VersaoRegistro> buscarVersaoPorId(@Param("id") Long id);
+
+    @Query("SELECT p.versao AS versao, p.updatedAt AS updatedAt FROM ProdutoEntity p WHERE p.sku = :sku")
+    Optional<VersaoRegistro> buscarVersaoPorSku(@Param("sku") String sku);
+
+    List<ProdutoEntity> findBySkuIn(Collection<String> skus);
+
+    @Query("SELECT p.sku FROM ProdutoEntity p WHERE p.sku IN :skus")
+    Set<String> findSkusExistentes(@Param("skus") Collection<String> skus);
+
+    @Query("SELECT p.id FROM ProdutoEntity p WHERE p.id IN :ids")
+    Set<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 
-    List<ProdutoEntity> findByCategoriaIgnoreCase(String categoria);
+    @Query("SELECT p.sku AS sku, p.id AS id FROM ProdutoEntity p WHERE p.sku IN :skus")
+    List<IdPorSkuRegistro> findIdsPorSkus(@Param("skus") Collection<String> skus);
 
-    List<ProdutoEntity> findByCategoriaIgnoreCaseAndAtivoTrue(String categoria);
+    List<ProdutoEntity> findByAtivoTrue();
+
+    // Recebe a chave já normalizada (Produto.chaveCategoria), atendida pelo índice parcial (categoria_chave, id)
+    List<ProdutoEntity> findByCategoriaChaveAndAtivoTrue(String categoriaChave);
 
     @Query("SELECT p FROM ProdutoEntity p WHERE p.preco BETWEEN :precoMin AND :precoMax")
     List<ProdutoEntity> findByFaixaPreco(@Param("precoMin") BigDecimal precoMin,
@@ -34,9 +60,158 @@ public interface ProdutoRepository extends JpaRepository<ProdutoEntity, Long> {
     @Query("SELECT COUNT(p) FROM ProdutoEntity p WHERE p.ativo = true")
     long countByAtivoTrue();
 
-    @Query("SELECT p FROM ProdutoEntity p WHERE " +
-            "LOWER(p.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR " +
-            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :termo, '%')) OR " +
-            "LOWER(p.descricao) LIKE LOWER(CONCAT('%', :termo, '%'))")
-    List<ProdutoEntity> findByTermoBusca(@Param("termo") String termo);
-}
\ No newline at end of file
+    // Escrita condicional em um único comando, sem SELECT prévio: o próprio UPDATE confere a versão esperada
+    // (COALESCE deixa a condição sempre verdadeira quando nenhuma é informada) e devolve a linha atualizada
+    String RETORNO_PRODUTO = " RETURNING id, nome, sku, descricao, preco, categoria, categoria_chave, ativo, created_at, updated_at, versao";
+
+    @Query(value = "UPDATE tb_produto SET preco = :preco, versao = versao + 1, updated_at = :agora " +
+            "WHERE id = :id AND versao = COALESCE(:versaoEsperada, versao)" + RETORNO_PRODUTO, nativeQuery = true)
+    Optional<ProdutoEntity> atualizarPrecoCondicional(@Param("id") Long id,
+                                                      @Param("preco") BigDecimal preco,
+                                                      @Param("versaoEsperada") Long versaoEsperada,
+                                                      @Param("agora") LocalDateTime agora);
+
+    @Query(value = "UPDATE tb_produto SET ativo = :ativo, versao = versao + 1, updated_at = :agora " +
+            "WHERE id = :id AND versao = COALESCE(:versaoEsperada, versao)" + RETORNO_PRODUTO, nativeQuery = true)
+    Optional<ProdutoEntity> atualizarAtivoCondicional(@Param("id") Long id,
+                                                      @Param("ativo") boolean ativo,
+                                                      @Param("versaoEsperada") Long versaoEsperada,
+                                                      @Param("agora") LocalDateTime agora);
+
+    // Relevância = rank do texto + bônus por SKU exato + similaridade do SKU (pg_trgm), calculada só para duas listas
+    // determinísticas de até LIMITE_CANDIDATOS_BUSCA produtos. A primeira sai do índice invertido da V16: as primeiras
+    // entradas de cada lexema do termo em ordem de peso, dos produtos com mais lexemas do termo e de maior peso para
+    // os demais, mantidas as que atendem à consulta completa. A segunda são os SKUs com o prefixo em ordem alfabética
+    // (B-tree de prefixo em lower(sku)), onde o SKU exato vem primeiro. O custo não cresce com o número de ocorrências
+    // do termo, e o mesmo termo sempre ranqueia o mesmo conjunto, então o cursor não pula nem repete linhas; termos
+    // muito comuns deixam de fora as ocorrências além das listas
+    int LIMITE_CANDIDATOS_BUSCA = 500;
+
+    String RELEVANCIA_BUSCA = "CAST(ts_rank(c.busca, websearch_to_tsquery('portugues_sem_acento', :termo)) " +
+            "+ CASE WHEN lower(c.sku) = :sku THEN 1 ELSE 0 END " +
+            "+ similarity(lower(c.sku), :sku) AS real)";
+
+    // Os candidatos do índice invertido entram como array: com a lista de ids o planejador busca os produtos pela PK,
+    // em vez de trocar para o GIN quando subestima as ocorrências de termos com várias palavras
+    String BUSCA_TEXTUAL = "SELECT r.id AS id, r.relevancia AS relevancia FROM (" +
+            "(SELECT c.id, " + RELEVANCIA_BUSCA + " AS relevancia FROM tb_produto c " +
+            "WHERE c.id = ANY(ARRAY(SELECT t.produto_id " +
+            "FROM unnest(tsvector_to_array(to_tsvector('portugues_sem_acento', :termo))) l(lexema) " +
+            "CROSS JOIN LATERAL (SELECT b.produto_id, b.peso FROM tb_produto_busca_termo b WHERE b.lexema = l.lexema " +
+            "ORDER BY b.peso DESC, b.produto_id LIMIT " + LIMITE_CANDIDATOS_BUSCA + ") t " +
+            "GROUP BY t.produto_id ORDER BY count(*) DESC, sum(t.peso) DESC, t.produto_id " +
+            "LIMIT " + LIMITE_CANDIDATOS_BUSCA + ")) " +
+            "AND c.busca @@ websearch_to_tsquery('portugues_sem_acento', :termo)) " +
+            "UNION " +
+            "(SELECT c.id, " + RELEVANCIA_BUSCA + " FROM tb_produto c WHERE lower(c.sku) LIKE :prefixoSku ESCAPE '\\' " +
+            "ORDER BY lower(c.sku) USING ~<~, c.id " +
+            "LIMIT " + LIMITE_CANDIDATOS_BUSCA + ")) r ";
+
+    @Query(value = BUSCA_TEXTUAL +
+            "ORDER BY r.relevancia DESC, r.id LIMIT :limite", nativeQuery = true)
+    List<ResultadoBuscaTextual> buscarPorTexto(@Param("termo") String termo,
+                                               @Param("sku") String sku,
+                                               @Param("prefixoSku") String prefixoSku,
+                                               @Param("limite") int limite);
+
+    @Query(value = BUSCA_TEXTUAL +
+            "WHERE r.relevancia < :ultimaRelevancia OR (r.relevancia = :ultimaRelevancia AND r.id > :ultimoId) " +
+            "ORDER BY r.relevancia DESC, r.id LIMIT :limite", nativeQuery = true)
+    List<ResultadoBuscaTextual> buscarPorTextoAposCursor(@Param("termo") String termo,
+                                                         @Param("sku") String sku,
+                                                         @Param("prefixoSku") String prefixoSku,
+                                                         @Param("ultimaRelevancia") float ultimaRelevancia,
+                                                         @Param("ultimoId") Long ultimoId,
+                                                         @Param("limite") int limite);
+
+    // Cursor no servidor: o driver do Postgres busca em lotes de fetch size em vez de materializar o resultado
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProdutoEntity p ORDER BY p.id")
+    Stream<ProdutoEntity> streamTodos();
+
+    // FOR SHARE: espera as escritas em andamento nas linhas do lote e bloqueia as seguintes até o fim da transação
+    @Query(value = "SELECT * FROM tb_produto WHERE id > :aposId ORDER BY id LIMIT :limite FOR SHARE", nativeQuery = true)
+    List<ProdutoEntity> travarLoteAposId(@Param("aposId") Long aposId, @Param("limite") int limite);
+
+    // Contagens consolidadas somadas às variações ainda pendentes (ver V8 e V13), por chave normalizada da categoria;
+    // o nome exibido e o menor e maior preço vêm das pontas dos índices idx_produto_categoria_chave_*. O custo
+    // depende do número de categorias, não do de produtos
+    @Query(value = "SELECT COALESCE((SELECT min(p.categoria) FROM tb_produto p WHERE COALESCE(p.categoria_chave, '') = e.chave), '') AS categoria, " +
+            "e.total AS total, e.ativos AS ativos, e.soma AS soma, " +
+            "(SELECT min(p.preco) FROM tb_produto p WHERE COALESCE(p.categoria_chave, '') = e.chave) AS menor, " +
+            "(SELECT max(p.preco) FROM tb_produto p WHERE COALESCE(p.categoria_chave, '') = e.chave) AS maior " +
+            "FROM (SELECT u.categoria_chave AS chave, sum(u.total) AS total, sum(u.ativos) AS ativos, sum(u.soma_preco) AS soma " +
+            "FROM (SELECT categoria_chave, total, ativos, soma_preco FROM tb_produto_estatistica " +
+            "UNION ALL SELECT categoria_chave, total, ativos, soma_preco FROM tb_produto_estatistica_delta) u " +
+            "GROUP BY u.categoria_chave HAVING sum(u.total) > 0) e " +
+            "ORDER BY e.chave", nativeQuery = true)
+    List<EstatisticaRegistro> buscarEstatisticasPorCategoria();
+
+    // Um único GROUP BY na expressão dos índices idx_produto_categoria_chave_* (V13), a chave normalizada das buscas
+    // por categoria; os percentis compartilham a mesma ordenação e o nome exibido é a menor grafia da categoria,
+    // como em /stats
+    @Query(value = "SELECT COALESCE(min(categoria), '') AS categoria, count(*) AS total, count(*) FILTER (WHERE ativo) AS ativos, " +
+            "CAST(percentile_cont(0.25) WITHIN GROUP (ORDER BY preco) AS NUMERIC(12,2)) AS p25, " +
+            "CAST(percentile_cont(0.5) WITHIN GROUP (ORDER BY preco) AS NUMERIC(12,2)) AS p50, " +
+            "CAST(percentile_cont(0.75) WITHIN GROUP (ORDER BY preco) AS NUMERIC(12,2)) AS p75, " +
+            "CAST(percentile_cont(0.9) WITHIN GROUP (ORDER BY preco) AS NUMERIC(12,2)) AS p90, " +
+            "CAST(percentile_cont(0.99) WITHIN GROUP (ORDER BY preco) AS NUMERIC(12,2)) AS p99 " +
+            "FROM tb_produto GROUP BY COALESCE(categoria_chave, '') ORDER BY COALESCE(categoria_chave, '')", nativeQuery = true)
+    List<DistribuicaoPrecosRegistro> buscarDistribuicaoPrecosPorCategoria();
+
+    @Query(value = "SELECT fn_produto_estatistica_consolidar()", nativeQuery = true)
+    int consolidarEstatisticas();
+
+    interface VersaoRegistro {
+        Long getVersao();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface IdPorSkuRegistro {
+        String getSku();
+
+        Long getId();
+    }
+
+    interface EstatisticaRegistro {
+        String getCategoria();
+
+        long getTotal();
+
+        long getAtivos();
+
+        BigDecimal getSoma();
+
+        BigDecimal getMenor();
+
+        BigDecimal getMaior();
+    }
+
+    interface DistribuicaoPrecosRegistro {
+        String getCategoria();
+
+        long getTotal();
+
+        long getAtivos();
+
+        BigDecimal getP25();
+
+        BigDecimal getP50();
+
+        BigDecimal getP75();
+
+        BigDecimal getP90();
+
+        BigDecimal getP99();
+    }
+
+    interface ResultadoBuscaTextual {
+        Long getId();
+
+        Float getRelevancia();
+    }
+}
@@ -0,0 +1,20 @@
+package com.pedidos.produto.gateway.jpa.repository;
+
+import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProdutoResumoRepository {
+
+    /**
+     * Mesmo filtro e ordenação de {@code findBy(Specification, ...)}, mas o SELECT traz apenas as colunas do
+     * resumo: a descrição (TEXT) não sai do banco e nenhuma entidade é gerenciada pelo contexto de persistência.
+     */
+    List<ResumoRegistro> buscarResumos(Specification<ProdutoEntity> especificacao, Sort ordenacao, int limite);
+
+    record ResumoRegistro(Long id, String nome, String sku, BigDecimal preco, String categoria, Boolean ativo) {
+    }
+}
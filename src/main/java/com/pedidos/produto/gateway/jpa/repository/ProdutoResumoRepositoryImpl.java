@@ -0,0 +1,42 @@
+package com.pedidos.produto.gateway.jpa.repository;
+
+import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+// O findBy(...).as(...) do Spring Data ainda carrega a entidade inteira; a projeção por construtor
+// na Criteria é o que restringe as colunas do SELECT
+@RequiredArgsConstructor
+class ProdutoResumoRepositoryImpl implements ProdutoResumoRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ResumoRegistro> buscarResumos(Specification<ProdutoEntity> especificacao, Sort ordenacao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResumoRegistro> query = cb.createQuery(ResumoRegistro.class);
+        Root<ProdutoEntity> root = query.from(ProdutoEntity.class);
+        query.select(cb.construct(ResumoRegistro.class,
+                root.get("id"), root.get("nome"), root.get("sku"),
+                root.get("preco"), root.get("categoria"), root.get("ativo")));
+
+        Predicate predicado = especificacao.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(ordenacao, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.pedidos.produto.gateway.jpa.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra a função {@value #CORRESPONDE_BUSCA_TEXTUAL} para usar o operador {@code @@} do Postgres em
+ * consultas Criteria, mantendo o GIN de {@code tb_produto.busca}. A coluna é referenciada sem alias, o que
+ * vale enquanto a consulta tiver apenas {@code tb_produto} no FROM.
+ */
+public class BuscaTextualFunctionContributor implements FunctionContributor {
+
+    public static final String CORRESPONDE_BUSCA_TEXTUAL = "corresponde_busca_textual";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                CORRESPONDE_BUSCA_TEXTUAL,
+                "(busca @@ websearch_to_tsquery('portugues_sem_acento', ?1))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
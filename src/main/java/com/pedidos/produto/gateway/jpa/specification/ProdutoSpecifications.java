@@ -0,0 +1,98 @@
+package com.pedidos.produto.gateway.jpa.specification;
+
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProdutoSpecifications {
+
+    private ProdutoSpecifications() {
+    }
+
+    public static Sort ordenacao(Ordenacao ordenacao) {
+        return switch (ordenacao) {
+            case PRECO -> Sort.by(Sort.Order.asc("preco"), Sort.Order.asc("id"));
+            case NOME -> Sort.by(Sort.Order.asc("nome"), Sort.Order.asc("id"));
+            case ID -> Sort.by(Sort.Order.asc("id"));
+        };
+    }
+
+    /**
+     * Combina os filtros informados em um único WHERE. Os índices parciais {@code WHERE ativo} da V6 e da V9
+     * cobrem categoria, faixa de preço e as ordenações por ID e por preço.
+     */
+    public static Specification<ProdutoEntity> filtro(FiltroProduto filtro) {
+        List<Specification<ProdutoEntity>> filtros = new ArrayList<>();
+        if (filtro.getCategoria() != null) {
+            filtros.add(categoria(filtro.getCategoria()));
+        }
+        if (Boolean.TRUE.equals(filtro.getApenasAtivos())) {
+            filtros.add(ativo());
+        }
+        if (filtro.getPrecoMin() != null) {
+            filtros.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("preco"), filtro.getPrecoMin()));
+        }
+        if (filtro.getPrecoMax() != null) {
+            filtros.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("preco"), filtro.getPrecoMax()));
+        }
+        if (filtro.getTermo() != null) {
+            filtros.add(buscaTextual(filtro.getTermo()));
+        }
+        return Specification.allOf(filtros);
+    }
+
+    // Compara a chave normalizada gravada com o produto, coberta pelos índices parciais em categoria_chave
+    public static Specification<ProdutoEntity> categoria(String categoria) {
+        return (root, query, cb) -> cb.equal(root.get("categoriaChave"), parametro(cb, Produto.chaveCategoria(categoria)));
+    }
+
+    public static Specification<ProdutoEntity> ativo() {
+        return (root, query, cb) -> cb.isTrue(root.get("ativo"));
+    }
+
+    public static Specification<ProdutoEntity> buscaTextual(String termo) {
+        return (root, query, cb) -> cb.isTrue(cb.function(
+                BuscaTextualFunctionContributor.CORRESPONDE_BUSCA_TEXTUAL, Boolean.class, parametro(cb, termo)));
+    }
+
+    // cb.literal() é escrito no SQL como literal; o valor do usuário deve ir como parâmetro JDBC
+    private static <T> Expression<T> parametro(CriteriaBuilder cb, T valor) {
+        return ((HibernateCriteriaBuilder) cb).value(valor);
+    }
+
+    /**
+     * Predicado de keyset equivalente a {@code (chave, id) > (:valor, :id)}.
+     * O termo redundante {@code chave >= :valor} permite ao Postgres iniciar a
+     * varredura direto no índice composto (chave, id), mantendo o custo constante
+     * independentemente da profundidade da página.
+     */
+    public static Specification<ProdutoEntity> aposCursor(CursorPaginacao cursor) {
+        return (root, query, cb) -> switch (cursor.getOrdenacao()) {
+            case ID -> cb.greaterThan(root.get("id"), cursor.getUltimoId());
+            case PRECO -> {
+                BigDecimal preco = new BigDecimal(cursor.getUltimoValor());
+                yield cb.and(
+                        cb.greaterThanOrEqualTo(root.get("preco"), preco),
+                        cb.or(
+                                cb.greaterThan(root.get("preco"), preco),
+                                cb.greaterThan(root.get("id"), cursor.getUltimoId())));
+            }
+            case NOME -> cb.and(
+                    cb.greaterThanOrEqualTo(root.get("nome"), cursor.getUltimoValor()),
+                    cb.or(
+                            cb.greaterThan(root.get("nome"), cursor.getUltimoValor()),
+                            cb.greaterThan(root.get("id"), cursor.getUltimoId())));
+        };
+    }
+}
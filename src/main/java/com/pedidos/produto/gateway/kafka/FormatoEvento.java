@@ -0,0 +1,25 @@
+package com.pedidos.produto.gateway.kafka;
+
+import java.util.Locale;
+
+/**
+ * Codificação dos eventos de produto no Kafka, escolhida em {@code produto.eventos.formato}.
+ * Os consumidores reconhecem os dois formatos, então a troca não exige parar quem lê os tópicos.
+ */
+public enum FormatoEvento {
+    // JSON legível, com o nome de cada campo em todas as mensagens
+    JSON,
+    // Avro binário em single-object encoding: cabeçalho de 2 bytes, fingerprint do schema e os valores
+    AVRO;
+
+    public static FormatoEvento de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return JSON;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de evento inválido: " + valor + ". Use json ou avro");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.pedidos.produto.gateway.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consome o tópico de eventos de produto em um grupo exclusivo desta instância,
+ * para que todas as réplicas recebam todas as escritas, inclusive as feitas por outras réplicas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoEventConsumer {
+
+    static final String ID_LISTENER = "produto-eventos";
+
+    private final ObjectProvider<ProdutoEventoHandler> handlers;
+    private final ProdutoEventoPosicao posicao;
+
+    @KafkaListener(
+            id = ID_LISTENER,
+            idIsGroup = false,
+            topics = ProdutoTopicos.EVENTOS,
+            groupId = "${produto.eventos.consumidor.group-id}",
+            properties = "auto.offset.reset=latest")
+    public void consumir(ProdutoEventMessage evento, Consumer<?, ?> consumer) {
+        log.debug("Evento de produto recebido: {}", evento);
+        // Os handlers tratam um produto por vez, inclusive os itens de um evento agrupado
+        List<ProdutoEventMessage> eventos = evento.individuais();
+        handlers.orderedStream().forEach(handler -> {
+            for (ProdutoEventMessage individual : eventos) {
+                try {
+                    handler.aoReceber(individual);
+                } catch (Exception e) {
+                    log.error("Erro ao processar evento de produto em {}: {}",
+                            handler.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            }
+        });
+        posicao.registrar(consumer);
+    }
+
+    // Publicado na thread do consumidor, que é a única que pode consultar o Consumer
+    @EventListener(condition = "event.listenerId.startsWith('" + ID_LISTENER + "')")
+    public void aoFicarOcioso(ListenerContainerIdleEvent evento) {
+        posicao.registrar(evento.getConsumer());
+    }
+}
@@ -0,0 +1,103 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pedidos.produto.domain.Produto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@lombok.Data
+@lombok.Builder
+@lombok.AllArgsConstructor
+@lombok.NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProdutoEventMessage {
+    private String tipoEvento;
+    private Long produtoId;
+    private String sku;
+    private String nome;
+    private BigDecimal preco;
+    private Boolean ativo;
+    private Long timestamp;
+
+    // Versão do produto após a alteração, para quem consome descartar estados mais antigos que o já aplicado
+    private Long versao;
+
+    // Preenchidos só no snapshot, que carrega o estado completo do produto
+    private String descricao;
+    private String categoria;
+
+    // Evento agrupado da reprecificação em massa: só ID, SKU, novo preço e versão de cada produto do lote
+    private List<ItemPreco> precos;
+
+    public static ProdutoEventMessage de(String tipoEvento, Produto produto) {
+        return ProdutoEventMessage.builder()
+                .tipoEvento(tipoEvento)
+                .produtoId(produto.getId())
+                .sku(produto.getSku())
+                .nome(produto.getNome())
+                .preco(produto.getPreco())
+                .ativo(produto.isAtivo())
+                .versao(produto.getVersao())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * Estado completo do produto para o tópico compactado {@link ProdutoTopicos#SNAPSHOT}.
+     */
+    public static ProdutoEventMessage snapshot(String tipoEvento, Produto produto) {
+        return ProdutoEventMessage.builder()
+                .tipoEvento(tipoEvento)
+                .produtoId(produto.getId())
+                .sku(produto.getSku())
+                .nome(produto.getNome())
+                .descricao(produto.getDescricao())
+                .preco(produto.getPreco())
+                .categoria(produto.getCategoria())
+                .ativo(produto.isAtivo())
+                .versao(produto.getVersao())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    public static ProdutoEventMessage agrupado(String tipoEvento, List<Produto> produtos) {
+        return ProdutoEventMessage.builder()
+                .tipoEvento(tipoEvento)
+                .precos(produtos.stream()
+                        .map(produto -> new ItemPreco(produto.getId(), produto.getSku(), produto.getPreco(), produto.getVersao()))
+                        .toList())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * Um evento por produto: o agrupado é desmembrado, os demais são devolvidos como estão.
+     */
+    public List<ProdutoEventMessage> individuais() {
+        if (precos == null) {
+            return List.of(this);
+        }
+        return precos.stream()
+                .map(item -> ProdutoEventMessage.builder()
+                        .tipoEvento(tipoEvento)
+                        .produtoId(item.getProdutoId())
+                        .sku(item.getSku())
+                        .preco(item.getPreco())
+                        .versao(item.getVersao())
+                        .timestamp(timestamp)
+                        .build())
+                .toList();
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    public static class ItemPreco {
+        private Long produtoId;
+        private String sku;
+        private BigDecimal preco;
+        // Nula nas mensagens gravadas antes de o item ter versão
+        private Long versao;
+    }
+}
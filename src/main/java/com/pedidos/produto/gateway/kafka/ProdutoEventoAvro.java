@@ -0,0 +1,260 @@
+package com.pedidos.produto.gateway.kafka;
+
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversão de {@link ProdutoEventMessage} para Avro binário em single-object encoding e de volta. Cada mensagem
+ * leva o fingerprint do schema de quem escreveu; os schemas conhecidos ficam em {@code resources/avro} e fazem o
+ * papel de um registry.
+ * <p>
+ * A versão atual do schema é escrita e lida campo a campo, na ordem do arquivo, sem montar um GenericRecord por
+ * mensagem (que custava o dobro do Jackson). Mensagens de versões anteriores passam pela resolução de schemas do
+ * Avro. Ao mudar o schema, crie um novo arquivo de versão e ajuste {@link #escrever} e {@link #ler}.
+ */
+final class ProdutoEventoAvro {
+
+    // Cabeçalho da single-object encoding do Avro, que diferencia a mensagem de um JSON ('{')
+    private static final byte[] CABECALHO = {(byte) 0xC3, (byte) 0x01};
+    private static final int TAMANHO_PREFIXO = CABECALHO.length + Long.BYTES;
+
+    // A versão atual vem por último; as anteriores só são usadas para ler mensagens antigas
+    private static final List<String> VERSOES_SCHEMA = List.of("/avro/produto-evento-v1.avsc", "/avro/produto-evento-v2.avsc");
+
+    // Buffer e encoder reaproveitados por thread (relay do outbox e threads do produtor)
+    private static final ThreadLocal<Codificacao> CODIFICACAO = ThreadLocal.withInitial(Codificacao::new);
+
+    private static final int ESCALA_PRECO = 2;
+    private static final int NULO = 0;
+    private static final int PRESENTE = 1;
+
+    static final Schema SCHEMA;
+    private static final long FINGERPRINT;
+    // Cabeçalho e fingerprint, iguais em todas as mensagens da versão atual
+    private static final byte[] PREFIXO;
+    private static final BinaryMessageDecoder<GenericRecord> DECODIFICADOR_VERSOES_ANTERIORES;
+
+    static {
+        GenericData modelo = new GenericData();
+        modelo.addLogicalTypeConversion(new Conversions.DecimalConversion());
+
+        SchemaStore.Cache schemasConhecidos = new SchemaStore.Cache();
+        Schema atual = null;
+        for (String versao : VERSOES_SCHEMA) {
+            atual = carregar(versao);
+            schemasConhecidos.addSchema(atual);
+        }
+        SCHEMA = atual;
+        FINGERPRINT = SchemaNormalization.parsingFingerprint64(SCHEMA);
+        PREFIXO = ByteBuffer.allocate(TAMANHO_PREFIXO).order(ByteOrder.LITTLE_ENDIAN)
+                .put(CABECALHO).putLong(FINGERPRINT).array();
+        DECODIFICADOR_VERSOES_ANTERIORES = new BinaryMessageDecoder<>(modelo, SCHEMA, schemasConhecidos);
+    }
+
+    private ProdutoEventoAvro() {
+    }
+
+    static boolean ehAvro(byte[] dados) {
+        return dados.length >= CABECALHO.length && dados[0] == CABECALHO[0] && dados[1] == CABECALHO[1];
+    }
+
+    static byte[] codificar(ProdutoEventMessage evento) throws IOException {
+        Codificacao codificacao = CODIFICACAO.get();
+        codificacao.saida.reset();
+        codificacao.saida.write(PREFIXO);
+        codificacao.encoder = EncoderFactory.get().binaryEncoder(codificacao.saida, codificacao.encoder);
+        try {
+            escrever(codificacao.encoder, evento);
+            codificacao.encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            // O encoder ainda guarda a parte já escrita, que iria parar no início da próxima mensagem
+            codificacao.encoder = null;
+            throw e;
+        }
+        return codificacao.saida.toByteArray();
+    }
+
+    static ProdutoEventMessage decodificar(byte[] dados) throws IOException {
+        if (dados.length >= TAMANHO_PREFIXO
+                && ByteBuffer.wrap(dados, CABECALHO.length, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).getLong() == FINGERPRINT) {
+            return ler(DecoderFactory.get().binaryDecoder(dados, TAMANHO_PREFIXO, dados.length - TAMANHO_PREFIXO, null));
+        }
+        return deRegistro(DECODIFICADOR_VERSOES_ANTERIORES.decode(dados));
+    }
+
+    // Mesma ordem de campos de produto-evento-v2.avsc
+    private static void escrever(BinaryEncoder encoder, ProdutoEventMessage evento) throws IOException {
+        encoder.writeString(evento.getTipoEvento());
+        escreverLong(encoder, evento.getProdutoId());
+        escreverTexto(encoder, evento.getSku());
+        escreverTexto(encoder, evento.getNome());
+        escreverPrecoOpcional(encoder, evento.getPreco());
+        if (evento.getAtivo() == null) {
+            encoder.writeIndex(NULO);
+        } else {
+            encoder.writeIndex(PRESENTE);
+            encoder.writeBoolean(evento.getAtivo());
+        }
+        escreverLong(encoder, evento.getTimestamp());
+        escreverTexto(encoder, evento.getDescricao());
+        escreverTexto(encoder, evento.getCategoria());
+        escreverLong(encoder, evento.getVersao());
+        if (evento.getPrecos() == null) {
+            encoder.writeIndex(NULO);
+        } else {
+            encoder.writeIndex(PRESENTE);
+            encoder.writeArrayStart();
+            encoder.setItemCount(evento.getPrecos().size());
+            for (ProdutoEventMessage.ItemPreco item : evento.getPrecos()) {
+                encoder.startItem();
+                encoder.writeLong(item.getProdutoId());
+                escreverTexto(encoder, item.getSku());
+                escreverPreco(encoder, item.getPreco());
+                escreverLong(encoder, item.getVersao());
+            }
+            encoder.writeArrayEnd();
+        }
+    }
+
+    private static ProdutoEventMessage ler(BinaryDecoder decoder) throws IOException {
+        ProdutoEventMessage.ProdutoEventMessageBuilder evento = ProdutoEventMessage.builder()
+                .tipoEvento(decoder.readString())
+                .produtoId(lerLong(decoder))
+                .sku(lerTexto(decoder))
+                .nome(lerTexto(decoder))
+                .preco(decoder.readIndex() == NULO ? null : lerPreco(decoder))
+                .ativo(decoder.readIndex() == NULO ? null : decoder.readBoolean())
+                .timestamp(lerLong(decoder))
+                .descricao(lerTexto(decoder))
+                .categoria(lerTexto(decoder))
+                .versao(lerLong(decoder));
+        if (decoder.readIndex() != NULO) {
+            List<ProdutoEventMessage.ItemPreco> precos = new ArrayList<>();
+            for (long bloco = decoder.readArrayStart(); bloco != 0; bloco = decoder.arrayNext()) {
+                for (long i = 0; i < bloco; i++) {
+                    precos.add(new ProdutoEventMessage.ItemPreco(decoder.readLong(), lerTexto(decoder), lerPreco(decoder),
+                            lerLong(decoder)));
+                }
+            }
+            evento.precos(precos);
+        }
+        return evento.build();
+    }
+
+    private static void escreverLong(BinaryEncoder encoder, Long valor) throws IOException {
+        if (valor == null) {
+            encoder.writeIndex(NULO);
+        } else {
+            encoder.writeIndex(PRESENTE);
+            encoder.writeLong(valor);
+        }
+    }
+
+    private static void escreverTexto(BinaryEncoder encoder, String valor) throws IOException {
+        if (valor == null) {
+            encoder.writeIndex(NULO);
+        } else {
+            encoder.writeIndex(PRESENTE);
+            encoder.writeString(valor);
+        }
+    }
+
+    private static void escreverPrecoOpcional(BinaryEncoder encoder, BigDecimal preco) throws IOException {
+        if (preco == null) {
+            encoder.writeIndex(NULO);
+        } else {
+            encoder.writeIndex(PRESENTE);
+            escreverPreco(encoder, preco);
+        }
+    }
+
+    // O decimal do schema tem escala fixa, como a coluna DECIMAL(10,2); preços com mais casas são rejeitados
+    private static void escreverPreco(BinaryEncoder encoder, BigDecimal preco) throws IOException {
+        encoder.writeBytes(preco.setScale(ESCALA_PRECO, RoundingMode.UNNECESSARY).unscaledValue().toByteArray());
+    }
+
+    private static Long lerLong(BinaryDecoder decoder) throws IOException {
+        return decoder.readIndex() == NULO ? null : decoder.readLong();
+    }
+
+    private static String lerTexto(BinaryDecoder decoder) throws IOException {
+        return decoder.readIndex() == NULO ? null : decoder.readString();
+    }
+
+    private static BigDecimal lerPreco(BinaryDecoder decoder) throws IOException {
+        ByteBuffer bytes = decoder.readBytes(null);
+        byte[] valor = new byte[bytes.remaining()];
+        bytes.get(valor);
+        return new BigDecimal(new BigInteger(valor), ESCALA_PRECO);
+    }
+
+    // Mensagens de versões anteriores, já convertidas pelo Avro para a versão atual do schema
+    private static ProdutoEventMessage deRegistro(GenericRecord registro) {
+        List<ProdutoEventMessage.ItemPreco> precos = null;
+        Object itens = registro.get("precos");
+        if (itens != null) {
+            precos = new ArrayList<>();
+            for (Object item : (List<?>) itens) {
+                GenericRecord itemRegistro = (GenericRecord) item;
+                precos.add(new ProdutoEventMessage.ItemPreco((Long) itemRegistro.get("produtoId"),
+                        texto(itemRegistro.get("sku")), (BigDecimal) itemRegistro.get("preco"),
+                        (Long) itemRegistro.get("versao")));
+            }
+        }
+        return ProdutoEventMessage.builder()
+                .tipoEvento(texto(registro.get("tipoEvento")))
+                .produtoId((Long) registro.get("produtoId"))
+                .sku(texto(registro.get("sku")))
+                .nome(texto(registro.get("nome")))
+                .preco((BigDecimal) registro.get("preco"))
+                .ativo((Boolean) registro.get("ativo"))
+                .timestamp((Long) registro.get("timestamp"))
+                .descricao(texto(registro.get("descricao")))
+                .categoria(texto(registro.get("categoria")))
+                .versao((Long) registro.get("versao"))
+                .precos(precos)
+                .build();
+    }
+
+    // Strings do Avro chegam como Utf8
+    private static String texto(Object valor) {
+        return valor == null ? null : valor.toString();
+    }
+
+    private static Schema carregar(String recurso) {
+        try (InputStream entrada = ProdutoEventoAvro.class.getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Schema Avro não encontrado: " + recurso);
+            }
+            return new Schema.Parser().parse(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler schema Avro " + recurso, e);
+        }
+    }
+
+    private static final class Codificacao {
+        private final ByteArrayOutputStream saida = new ByteArrayOutputStream(512);
+        private BinaryEncoder encoder;
+    }
+}
@@ -0,0 +1,30 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Lê eventos de produto em qualquer dos formatos de {@link FormatoEvento}, reconhecido pelo cabeçalho da
+ * mensagem. Assim um tópico pode ter mensagens JSON e Avro durante a troca de formato dos produtores.
+ */
+public class ProdutoEventoDeserializer implements Deserializer<ProdutoEventMessage> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public ProdutoEventMessage deserialize(String topic, byte[] dados) {
+        if (dados == null) {
+            return null;
+        }
+        try {
+            return ProdutoEventoAvro.ehAvro(dados)
+                    ? ProdutoEventoAvro.decodificar(dados)
+                    : objectMapper.readValue(dados, ProdutoEventMessage.class);
+        } catch (Exception e) {
+            throw new SerializationException("Erro ao ler evento de produto de " + topic, e);
+        }
+    }
+}
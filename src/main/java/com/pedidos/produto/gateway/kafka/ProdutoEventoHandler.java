@@ -0,0 +1,5 @@
+package com.pedidos.produto.gateway.kafka;
+
+public interface ProdutoEventoHandler {
+    void aoReceber(ProdutoEventMessage evento);
+}
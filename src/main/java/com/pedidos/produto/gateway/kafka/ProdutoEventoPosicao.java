@@ -0,0 +1,55 @@
+package com.pedidos.produto.gateway.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Posição do consumidor de eventos desta instância: quantos eventos do tópico ainda faltam ler (lag) e há
+ * quanto tempo isso foi confirmado. É atualizada só na thread do consumidor, a cada evento e a cada
+ * intervalo ocioso ({@code spring.kafka.listener.idle-event-interval}), e lida por qualquer thread.
+ */
+@Component
+public class ProdutoEventoPosicao {
+
+    // -1 enquanto o consumidor não tem partição atribuída ou ainda não conhece o fim do log
+    private volatile long lag = -1;
+    private volatile long confirmadaEmMs;
+
+    public ProdutoEventoPosicao(MeterRegistry meterRegistry) {
+        Gauge.builder("produto.eventos.lag", this, ProdutoEventoPosicao::lag)
+                .description("Eventos de produto publicados e ainda não consumidos por esta instância")
+                .register(meterRegistry);
+    }
+
+    void registrar(Consumer<?, ?> consumer) {
+        Set<TopicPartition> particoes = consumer.assignment();
+        if (particoes.isEmpty()) {
+            return;
+        }
+        long total = 0;
+        for (TopicPartition particao : particoes) {
+            OptionalLong lagParticao = consumer.currentLag(particao);
+            if (lagParticao.isEmpty()) {
+                return;
+            }
+            total += lagParticao.getAsLong();
+        }
+        lag = total;
+        confirmadaEmMs = System.currentTimeMillis();
+    }
+
+    public long lag() {
+        return lag;
+    }
+
+    public Duration idadeConfirmacao() {
+        return lag < 0 ? null : Duration.ofMillis(System.currentTimeMillis() - confirmadaEmMs);
+    }
+}
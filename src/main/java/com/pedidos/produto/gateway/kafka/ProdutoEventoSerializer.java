@@ -0,0 +1,49 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Serializer dos eventos de produto no formato de {@code produto.eventos.formato} (repassado ao produtor em
+ * {@code spring.kafka.producer.properties}). Não grava header de tipo: o tipo de destino é sempre
+ * {@link ProdutoEventMessage} e o formato é reconhecido pelo {@link ProdutoEventoDeserializer} no primeiro byte.
+ */
+public class ProdutoEventoSerializer implements Serializer<ProdutoEventMessage> {
+
+    public static final String CONFIG_FORMATO = "produto.eventos.formato";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FormatoEvento formato = FormatoEvento.JSON;
+
+    public ProdutoEventoSerializer() {
+    }
+
+    public ProdutoEventoSerializer(FormatoEvento formato) {
+        this.formato = formato;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object valor = configs.get(CONFIG_FORMATO);
+        if (valor != null) {
+            formato = FormatoEvento.de(valor.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, ProdutoEventMessage evento) {
+        if (evento == null) {
+            return null;
+        }
+        try {
+            return formato == FormatoEvento.AVRO
+                    ? ProdutoEventoAvro.codificar(evento)
+                    : objectMapper.writeValueAsBytes(evento);
+        } catch (Exception e) {
+            throw new SerializationException("Erro ao serializar evento de produto em " + formato + " para " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedidos.produto.config.ThreadsVirtuaisConfig;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoOutboxEntity;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publica no Kafka os eventos gravados no outbox, em lotes e em ordem de ID. O ID é gerado com a linha do
+ * produto já bloqueada pela escrita, então para um mesmo produto essa é a ordem de commit.
+ * Um advisory lock transacional garante um único relay ativo entre as réplicas; os registros
+ * só são removidos depois da confirmação do broker (entrega at-least-once).
+ * Com o broker indisponível os eventos continuam no outbox e as tentativas se espaçam com backoff
+ * exponencial; um evento que nunca poderá ser publicado vai para tb_produto_outbox_rejeitado.
+ * No tópico de snapshot só o estado de maior versão de cada produto do lote é enviado: uma rajada de alterações
+ * no mesmo produto vira um único registro, como a compactação do tópico faria depois. Os estados substituídos
+ * só saem do outbox depois que o substituto foi enviado.
+ * O evento agrupado, gravado sem chave, sai dividido por partição: cada parte leva a chave de um dos seus
+ * produtos, então o preço de cada produto chega na mesma partição dos demais eventos dele.
+ */
+@Component
+@ConditionalOnProperty(name = "produto.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ProdutoOutboxRelay {
+
+    // Chave arbitrária do advisory lock do relay, compartilhada por todas as réplicas
+    static final long CHAVE_LOCK_RELAY = 7_001_006L;
+
+    private final ProdutoOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, ProdutoEventMessage> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactionOperations;
+    private final int tamanhoLote;
+    private final long timeoutEnvioMs;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Counter eventosPublicados;
+    private final Counter eventosRejeitados;
+    private final Counter snapshotsCoalescidos;
+    private final Meter.MeterProvider<Counter> falhasPublicacao;
+    private final Meter.MeterProvider<Counter> falhasEnvio;
+    private final Timer tempoPublicacao;
+
+    // Só a thread do scheduler do relay escreve; volatile para a leitura do gauge
+    private volatile int falhasConsecutivas;
+    private long proximaTentativaNanos;
+
+    public ProdutoOutboxRelay(ProdutoOutboxRepository outboxRepository,
+                              KafkaTemplate<String, ProdutoEventMessage> kafkaTemplate,
+                              ObjectMapper objectMapper,
+                              TransactionOperations transactionOperations,
+                              MeterRegistry meterRegistry,
+                              @Value("${produto.outbox.tamanho-lote:500}") int tamanhoLote,
+                              @Value("${produto.outbox.timeout-envio-ms:10000}") long timeoutEnvioMs,
+                              @Value("${produto.outbox.espera-inicial:1s}") Duration esperaInicial,
+                              @Value("${produto.outbox.espera-maxima:1m}") Duration esperaMaxima) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionOperations = transactionOperations;
+        this.tamanhoLote = tamanhoLote;
+        this.timeoutEnvioMs = timeoutEnvioMs;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.eventosPublicados = Counter.builder("produto.outbox.publicados")
+                .description("Eventos do outbox publicados no Kafka")
+                .register(meterRegistry);
+        this.eventosRejeitados = Counter.builder("produto.outbox.rejeitados")
+                .description("Eventos movidos para tb_produto_outbox_rejeitado por erro definitivo de publicação")
+                .register(meterRegistry);
+        this.snapshotsCoalescidos = Counter.builder("produto.outbox.coalescidos")
+                .description("Snapshots removidos do outbox sem envio por um estado mais novo do produto ter sido enviado no mesmo lote")
+                .register(meterRegistry);
+        this.falhasPublicacao = Counter.builder("produto.outbox.falhas")
+                .description("Lotes do outbox que falharam ao publicar e serão reenviados")
+                .withRegistry(meterRegistry);
+        this.falhasEnvio = Counter.builder("produto.outbox.envios.falhas")
+                .description("Envios ao Kafka que o broker não confirmou, por tópico e exceção")
+                .withRegistry(meterRegistry);
+        this.tempoPublicacao = Timer.builder("produto.outbox.publicacao")
+                .description("Tempo entre o envio de um lote do outbox ao Kafka e a confirmação do broker")
+                .register(meterRegistry);
+        Gauge.builder("produto.outbox.backlog", this, ProdutoOutboxRelay::backlog)
+                .description("Eventos gravados no outbox ainda não publicados")
+                .register(meterRegistry);
+        TimeGauge.builder("produto.outbox.idade-mais-antigo", this, TimeUnit.SECONDS,
+                        ProdutoOutboxRelay::idadeMaisAntigoSegundos)
+                .description("Idade do evento mais antigo ainda não publicado")
+                .register(meterRegistry);
+        Gauge.builder("produto.outbox.falhas-consecutivas", this, relay -> relay.falhasConsecutivas)
+                .description("Ciclos seguidos do relay que falharam; zero quando a última publicação deu certo")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${produto.outbox.intervalo-ms:500}", scheduler = ThreadsVirtuaisConfig.SCHEDULER_OUTBOX_RELAY)
+    public void publicarPendentes() {
+        if (falhasConsecutivas > 0 && System.nanoTime() - proximaTentativaNanos < 0) {
+            return;
+        }
+        try {
+            Integer publicados;
+            do {
+                publicados = transactionOperations.execute(status -> publicarLote());
+            } while (publicados != null && publicados == tamanhoLote);
+            if (falhasConsecutivas > 0) {
+                log.info("Publicação do outbox restabelecida após {} falhas seguidas", falhasConsecutivas);
+                falhasConsecutivas = 0;
+            }
+        } catch (Exception e) {
+            falhasPublicacao.withTags("excecao", causaRaiz(e).getClass().getSimpleName()).increment();
+            int falhas = ++falhasConsecutivas;
+            Duration espera = esperaAposFalhas(falhas, esperaInicial, esperaMaxima);
+            proximaTentativaNanos = System.nanoTime() + espera.toNanos();
+            log.error("Erro ao publicar eventos do outbox ({} falhas seguidas), nova tentativa em {} ms: {}",
+                    falhas, espera.toMillis(), e.getMessage(), e);
+        }
+    }
+
+    // Dobra a cada falha seguida, até o máximo
+    static Duration esperaAposFalhas(int falhas, Duration esperaInicial, Duration esperaMaxima) {
+        int expoente = Math.min(falhas - 1, 30);
+        long espera = esperaInicial.toMillis() << expoente;
+        return espera < 0 || espera > esperaMaxima.toMillis() ? esperaMaxima : Duration.ofMillis(espera);
+    }
+
+    private int publicarLote() {
+        if (!outboxRepository.tryAdvisoryXactLock(CHAVE_LOCK_RELAY)) {
+            return 0;
+        }
+        List<ProdutoOutboxEntity> pendentes = outboxRepository.findPendentes(tamanhoLote);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        // Os envios saem juntos e o produtor agrupa o lote (linger/compressão) antes de aguardar as confirmações
+        Timer.Sample inicio = Timer.start();
+        Map<Long, ProdutoEventMessage> mensagens = new HashMap<>();
+        for (ProdutoOutboxEntity evento : pendentes) {
+            try {
+                mensagens.put(evento.getId(), lerPayload(evento));
+            } catch (IllegalStateException e) {
+                rejeitar(evento, e);
+            }
+        }
+        List<CompletableFuture<?>> envios = new ArrayList<>(pendentes.size());
+        List<Long> enviados = new ArrayList<>(pendentes.size());
+        Map<Long, Long> substituidos = snapshotsSubstituidos(pendentes, mensagens);
+        for (ProdutoOutboxEntity evento : pendentes) {
+            ProdutoEventMessage mensagem = mensagens.get(evento.getId());
+            if (mensagem == null || substituidos.containsKey(evento.getId())) {
+                continue;
+            }
+            CompletableFuture<?> envio;
+            try {
+                envio = evento.getChave() == null && mensagem.getPrecos() != null
+                        ? enviarPorParticao(evento.getTopico(), mensagem)
+                        : kafkaTemplate.send(evento.getTopico(), evento.getChave(), mensagem);
+            } catch (RuntimeException e) {
+                if (!ehErroDefinitivo(e)) {
+                    throw e;
+                }
+                rejeitar(evento, e);
+                continue;
+            }
+            envio.whenComplete((resultado, erro) -> {
+                if (erro != null) {
+                    falhasEnvio.withTags("topico", evento.getTopico(), "excecao", causaRaiz(erro).getClass().getSimpleName())
+                            .increment();
+                }
+            });
+            envios.add(envio);
+            enviados.add(evento.getId());
+        }
+        aguardarConfirmacoes(envios);
+        inicio.stop(tempoPublicacao);
+
+        // Com o substituto rejeitado, os substituídos ficam no outbox e o de maior versão entre eles sai no próximo ciclo
+        Set<Long> confirmados = new HashSet<>(enviados);
+        Set<Long> coalescidos = new HashSet<>();
+        substituidos.forEach((substituido, substituto) -> {
+            if (confirmados.contains(substituto)) {
+                coalescidos.add(substituido);
+            }
+        });
+        if (!enviados.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(pendentes.stream()
+                    .map(ProdutoOutboxEntity::getId)
+                    .filter(id -> confirmados.contains(id) || coalescidos.contains(id))
+                    .toList());
+            eventosPublicados.increment(enviados.size());
+            snapshotsCoalescidos.increment(coalescidos.size());
+        }
+        log.debug("{} eventos do outbox publicados, {} snapshots coalescidos", enviados.size(), coalescidos.size());
+        return pendentes.size();
+    }
+
+    /**
+     * Para cada snapshot do lote com um estado mais novo do mesmo produto, o ID do registro que o substitui: o de
+     * maior versão e, entre versões iguais ou ausentes, o gravado por último. O tópico compactado só guarda o último
+     * registro de cada chave, então enviar só o substituto não perde estado.
+     */
+    static Map<Long, Long> snapshotsSubstituidos(List<ProdutoOutboxEntity> pendentes,
+                                                 Map<Long, ProdutoEventMessage> mensagens) {
+        Comparator<ProdutoOutboxEntity> maisNovo = Comparator
+                .comparing((ProdutoOutboxEntity evento) -> mensagens.get(evento.getId()).getVersao(),
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(ProdutoOutboxEntity::getId);
+        List<ProdutoOutboxEntity> snapshots = pendentes.stream()
+                .filter(evento -> ProdutoTopicos.SNAPSHOT.equals(evento.getTopico()) && evento.getChave() != null
+                        && mensagens.containsKey(evento.getId()))
+                .toList();
+        Map<String, ProdutoOutboxEntity> maisNovoPorChave = new HashMap<>();
+        snapshots.forEach(evento -> maisNovoPorChave.merge(evento.getChave(), evento, BinaryOperator.maxBy(maisNovo)));
+        Map<Long, Long> substituidos = new HashMap<>();
+        for (ProdutoOutboxEntity evento : snapshots) {
+            ProdutoOutboxEntity substituto = maisNovoPorChave.get(evento.getChave());
+            if (substituto != evento) {
+                substituidos.put(evento.getId(), substituto.getId());
+            }
+        }
+        return substituidos;
+    }
+
+    // Uma mensagem por partição com os itens cujas chaves caem nela; o registro só sai do outbox com todas confirmadas
+    private CompletableFuture<?> enviarPorParticao(String topico, ProdutoEventMessage agrupado) {
+        int particoes = kafkaTemplate.partitionsFor(topico).size();
+        Map<Integer, List<ProdutoEventMessage.ItemPreco>> itensPorParticao = new TreeMap<>();
+        for (ProdutoEventMessage.ItemPreco item : agrupado.getPrecos()) {
+            itensPorParticao.computeIfAbsent(particao(ProdutoTopicos.chave(item.getProdutoId()), particoes),
+                    p -> new ArrayList<>()).add(item);
+        }
+        // Partição explícita: o envio vai para a mesma partição usada na divisão, qualquer que seja o particionador
+        return CompletableFuture.allOf(itensPorParticao.entrySet().stream()
+                .map(parte -> kafkaTemplate.send(topico, parte.getKey(),
+                        ProdutoTopicos.chave(parte.getValue().get(0).getProdutoId()),
+                        ProdutoEventMessage.builder()
+                                .tipoEvento(agrupado.getTipoEvento())
+                                .precos(parte.getValue())
+                                .timestamp(agrupado.getTimestamp())
+                                .build()))
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    // Mesmo cálculo do particionador padrão do produtor para uma chave: murmur2 dos bytes gravados pelo StringSerializer
+    static int particao(String chave, int particoes) {
+        return Utils.toPositive(Utils.murmur2(chave.getBytes(StandardCharsets.UTF_8))) % particoes;
+    }
+
+    // Reenviar não adianta: o evento sairia igual e travaria todos os seguintes
+    private void rejeitar(ProdutoOutboxEntity evento, RuntimeException e) {
+        outboxRepository.rejeitar(evento.getId(), causaRaiz(e).toString());
+        eventosRejeitados.increment();
+        log.error("Evento ID {} ({}) retirado do outbox por erro definitivo de publicação: {}",
+                evento.getId(), evento.getTipoEvento(), e.getMessage(), e);
+    }
+
+    // Payload que não vira ProdutoEventMessage ou que o serializer recusa; falhas do broker são sempre reenviadas
+    private static boolean ehErroDefinitivo(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof JsonProcessingException || causa instanceof SerializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable causaRaiz(Throwable erro) {
+        Throwable causa = erro;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa;
+    }
+
+    // O outbox guarda JSON independente do formato de publicação; o serializer do produtor aplica o formato
+    private ProdutoEventMessage lerPayload(ProdutoOutboxEntity evento) {
+        try {
+            return objectMapper.readValue(evento.getPayload(), ProdutoEventMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no outbox, evento ID " + evento.getId(), e);
+        }
+    }
+
+    // Qualquer falha desfaz a transação: os registros ficam no outbox e o lote inteiro é reenviado
+    private void aguardarConfirmacoes(List<CompletableFuture<?>> envios) {
+        try {
+            CompletableFuture.allOf(envios.toArray(CompletableFuture<?>[]::new)).get(timeoutEnvioMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Publicação do outbox interrompida", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Broker não confirmou o lote do outbox", e);
+        }
+    }
+
+    private double backlog() {
+        try {
+            return outboxRepository.count();
+        } catch (Exception e) {
+            log.warn("Erro ao medir backlog do outbox: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private double idadeMaisAntigoSegundos() {
+        try {
+            LocalDateTime maisAntigo = outboxRepository.findCreatedAtMaisAntigo();
+            return maisAntigo == null ? 0 : Duration.between(maisAntigo, LocalDateTime.now()).toMillis() / 1000.0;
+        } catch (Exception e) {
+            log.warn("Erro ao medir idade do outbox: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pedidos.produto.gateway.kafka;
+
+/**
+ * Tópicos de produto. Os registros de ambos têm o ID do produto como chave, então todas as mudanças de um
+ * produto caem na mesma partição, na ordem de publicação.
+ */
+public final class ProdutoTopicos {
+
+    // Mudanças (eventos enxutos), com retenção por tempo
+    public static final String EVENTOS = "produto-events";
+
+    // Estado completo de cada produto, compactado: mantém só o último registro de cada chave
+    public static final String SNAPSHOT = "produto-snapshot";
+
+    private ProdutoTopicos() {
+    }
+
+    public static String chave(Long produtoId) {
+        return String.valueOf(produtoId);
+    }
+}
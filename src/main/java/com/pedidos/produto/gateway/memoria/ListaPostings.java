@@ -0,0 +1,32 @@
+package com.pedidos.produto.gateway.memoria;
+
+import java.util.Arrays;
+
+/**
+ * Lista de documentos de um termo em {@code int[]}, sem boxing. Os documentos são sempre
+ * acrescentados com número crescente, então a lista permanece ordenada.
+ */
+final class ListaPostings {
+
+    private int[] documentos = new int[4];
+    private int tamanho;
+
+    void adicionar(int documento) {
+        if (tamanho == documentos.length) {
+            documentos = Arrays.copyOf(documentos, tamanho * 2);
+        }
+        documentos[tamanho++] = documento;
+    }
+
+    boolean contem(int documento) {
+        return Arrays.binarySearch(documentos, 0, tamanho, documento) >= 0;
+    }
+
+    int get(int indice) {
+        return documentos[indice];
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+}
@@ -0,0 +1,317 @@
+package com.pedidos.produto.gateway.memoria;
+
+import com.pedidos.produto.domain.NormalizadorTexto;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.ProdutoSugestaoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória dos produtos ativos, para sugestões de busca (typeahead) sem ir ao banco.
+ * <p>
+ * Nome, SKU, categoria e descrição são quebrados em termos sem acento; cada termo aponta para uma
+ * lista de documentos em {@code int[]} e o último termo digitado é expandido por prefixo em uma trie.
+ * O índice é carregado uma vez na subida e depois atualizado por evento: o produto é relido pelo ID,
+ * o documento antigo vira tombstone e, quando os tombstones passam de um quarto do índice, ele é
+ * reconstruído a partir dos próprios documentos em memória. A releitura acontece fora do lock, então
+ * duas releituras do mesmo produto podem terminar fora de ordem; a versão de cada produto fica guardada
+ * e uma leitura mais antiga que a já aplicada é descartada.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoIndiceMemoriaGateway implements ProdutoSugestaoGateway, ProdutoEventoHandler {
+
+    static final int MAXIMO_TERMOS_PREFIXO = 64;
+    static final int MAXIMO_CANDIDATOS = 1000;
+    static final String EVENTO_PRECO_ATUALIZADO = "PRODUTO_PRECO_ATUALIZADO";
+    private static final int MINIMO_REMOVIDOS_COMPACTACAO = 1000;
+    private static final long PONTUACAO_MAXIMA = 3;
+    // Versão de um produto que a releitura não encontrou: nenhuma leitura anterior volta a incluí-lo
+    private static final long VERSAO_REMOVIDO = Long.MAX_VALUE;
+
+    private final ProdutoGateway delegate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // IDs alterados enquanto a carga inicial ainda está em andamento
+    private final Queue<Long> pendentes = new ConcurrentLinkedQueue<>();
+    private Indice indice;
+    // Última versão aplicada de cada produto, inclusive dos inativos, que não entram no índice
+    private Map<Long, Long> versoes = new HashMap<>();
+
+    public void construir() {
+        long inicio = System.nanoTime();
+        Indice novo = new Indice();
+        Map<Long, Long> versoesCarregadas = new HashMap<>();
+        delegate.exportarTodos(produto -> {
+            if (produto.getVersao() != null) {
+                versoesCarregadas.put(produto.getId(), produto.getVersao());
+            }
+            novo.adicionar(produto);
+        });
+
+        lock.writeLock().lock();
+        try {
+            indice = novo;
+            versoes = versoesCarregadas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de sugestões carregado com {} produtos em {} ms",
+                novo.quantidadeDocumentos(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        Long id;
+        while ((id = pendentes.poll()) != null) {
+            atualizar(id);
+        }
+    }
+
+    @Override
+    public boolean estaDisponivel() {
+        lock.readLock().lock();
+        try {
+            return indice != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produto> sugerir(String termo, int limite) {
+        List<String> termos = NormalizadorTexto.tokenizar(termo);
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return indice != null ? indice.sugerir(termos, limite) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void aoReceber(ProdutoEventMessage evento) {
+        Long id = evento.getProdutoId();
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (indice == null) {
+                pendentes.add(id);
+                return;
+            }
+            // Preço não é indexado: basta trocar o documento, sem reler o produto no banco
+            if (EVENTO_PRECO_ATUALIZADO.equals(evento.getTipoEvento()) && evento.getPreco() != null) {
+                if (registrarVersao(id, evento.getVersao())) {
+                    indice.atualizarPreco(id, evento.getPreco());
+                }
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        atualizar(id);
+    }
+
+    public int quantidadeDocumentos() {
+        lock.readLock().lock();
+        try {
+            return indice != null ? indice.quantidadeDocumentos() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void atualizar(Long id) {
+        // O evento não traz todos os campos indexados; a leitura é feita fora do lock
+        Optional<Produto> produto = delegate.buscarPorId(id);
+
+        lock.writeLock().lock();
+        try {
+            if (!registrarVersao(id, produto.map(Produto::getVersao).orElse(VERSAO_REMOVIDO))) {
+                log.debug("Releitura do produto ID {} descartada: o índice já tem uma versão mais nova", id);
+                return;
+            }
+            indice.remover(id);
+            produto.ifPresent(indice::adicionar);
+            if (indice.precisaCompactar()) {
+                indice = indice.compactar();
+                log.debug("Índice de sugestões compactado: {} produtos", indice.quantidadeDocumentos());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Chamado com o write lock; false quando a versão é mais antiga que a já aplicada. Sem versão, aplica
+    private boolean registrarVersao(Long id, Long versao) {
+        if (versao == null) {
+            return true;
+        }
+        Long aplicada = versoes.get(id);
+        if (aplicada != null && versao < aplicada) {
+            return false;
+        }
+        versoes.put(id, versao);
+        return true;
+    }
+
+    private static final class Indice {
+        private final List<Produto> documentos = new ArrayList<>();
+        private final List<String> nomesNormalizados = new ArrayList<>();
+        private final Map<Long, Integer> documentoPorId = new HashMap<>();
+        private final BitSet removidos = new BitSet();
+        private final Map<String, ListaPostings> postings = new HashMap<>();
+        private final TriePrefixos trie = new TriePrefixos();
+        private int quantidadeRemovidos;
+
+        private void adicionar(Produto produto) {
+            if (!Boolean.TRUE.equals(produto.getAtivo())) {
+                return;
+            }
+            int documento = documentos.size();
+            documentos.add(produto);
+            nomesNormalizados.add(NormalizadorTexto.normalizar(produto.getNome()));
+            documentoPorId.put(produto.getId(), documento);
+
+            Set<String> termos = new LinkedHashSet<>(NormalizadorTexto.tokenizar(produto.getNome()));
+            termos.addAll(NormalizadorTexto.tokenizar(produto.getSku()));
+            termos.addAll(NormalizadorTexto.tokenizar(produto.getCategoria()));
+            termos.addAll(NormalizadorTexto.tokenizar(produto.getDescricao()));
+            for (String termo : termos) {
+                postings.computeIfAbsent(termo, novoTermo -> {
+                    trie.inserir(novoTermo);
+                    return new ListaPostings();
+                }).adicionar(documento);
+            }
+        }
+
+        private void remover(Long id) {
+            Integer documento = documentoPorId.remove(id);
+            if (documento != null) {
+                removidos.set(documento);
+                documentos.set(documento, null);
+                nomesNormalizados.set(documento, null);
+                quantidadeRemovidos++;
+            }
+        }
+
+        private void atualizarPreco(Long id, BigDecimal preco) {
+            Integer documento = documentoPorId.get(id);
+            if (documento != null) {
+                documentos.set(documento, documentos.get(documento).toBuilder().preco(preco).build());
+            }
+        }
+
+        private boolean precisaCompactar() {
+            return quantidadeRemovidos >= MINIMO_REMOVIDOS_COMPACTACAO
+                    && quantidadeRemovidos * 4L > documentos.size();
+        }
+
+        private Indice compactar() {
+            Indice novo = new Indice();
+            for (Produto produto : documentos) {
+                if (produto != null) {
+                    novo.adicionar(produto);
+                }
+            }
+            return novo;
+        }
+
+        private int quantidadeDocumentos() {
+            return documentos.size() - quantidadeRemovidos;
+        }
+
+        // Termos completos precisam aparecer no documento; o último termo vale como prefixo
+        private List<Produto> sugerir(List<String> termos, int limite) {
+            List<ListaPostings> exatos = new ArrayList<>(termos.size() - 1);
+            for (String termo : termos.subList(0, termos.size() - 1)) {
+                ListaPostings lista = postings.get(termo);
+                if (lista == null) {
+                    return List.of();
+                }
+                exatos.add(lista);
+            }
+            exatos.sort(Comparator.comparingInt(ListaPostings::tamanho));
+
+            String prefixo = termos.get(termos.size() - 1);
+            // Só os aceitos são deduplicados; são no máximo MAXIMO_CANDIDATOS por consulta
+            Set<Integer> candidatos = new LinkedHashSet<>();
+            expansao:
+            for (String termo : trie.termosComPrefixo(prefixo, MAXIMO_TERMOS_PREFIXO)) {
+                ListaPostings lista = postings.get(termo);
+                for (int i = 0; i < lista.tamanho(); i++) {
+                    int documento = lista.get(i);
+                    if (removidos.get(documento) || !contidoEmTodos(exatos, documento)) {
+                        continue;
+                    }
+                    if (candidatos.add(documento) && candidatos.size() == MAXIMO_CANDIDATOS) {
+                        break expansao;
+                    }
+                }
+            }
+
+            // Chave de ordenação em um long: pontuação (maior primeiro), tamanho do nome e número do documento
+            String consulta = String.join(" ", termos);
+            String inicioDePalavra = " " + prefixo;
+            long[] ordem = new long[candidatos.size()];
+            int posicao = 0;
+            for (int documento : candidatos) {
+                String nome = nomesNormalizados.get(documento);
+                long pontos = pontuar(nome, consulta, prefixo, inicioDePalavra);
+                long tamanhoNome = Math.min(nome.length(), 0xFFFFF);
+                ordem[posicao++] = ((PONTUACAO_MAXIMA - pontos) << 52) | (tamanhoNome << 32) | documento;
+            }
+            Arrays.sort(ordem);
+
+            List<Produto> sugestoes = new ArrayList<>(Math.min(limite, ordem.length));
+            for (int i = 0; i < ordem.length && i < limite; i++) {
+                // Produto é mutável: a cópia protege o documento indexado
+                sugestoes.add(documentos.get((int) ordem[i]).toBuilder().build());
+            }
+            return sugestoes;
+        }
+
+        private static boolean contidoEmTodos(List<ListaPostings> listas, int documento) {
+            for (ListaPostings lista : listas) {
+                if (!lista.contem(documento)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Nome que começa com a consulta vem antes de nome que apenas contém o prefixo,
+        // que vem antes de produtos encontrados só por SKU, categoria ou descrição
+        private static int pontuar(String nome, String consulta, String prefixo, String inicioDePalavra) {
+            int pontos = 0;
+            if (nome.startsWith(consulta)) {
+                pontos += 2;
+            }
+            if (nome.startsWith(prefixo) || nome.contains(inicioDePalavra)) {
+                pontos += 1;
+            }
+            return pontos;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.pedidos.produto.gateway.memoria;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.ProdutoProjecaoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoHandler;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoPosicao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projeção de leitura em memória com todos os produtos, por ID e por SKU.
+ * <p>
+ * É carregada uma vez a partir do banco e depois segue o tópico de eventos. Os eventos trazem só parte
+ * dos campos, então cada evento relê o produto pelo ID; uma releitura mais antiga que a versão já
+ * projetada é descartada. Eventos recebidos durante a carga ficam pendentes e são aplicados ao final.
+ * O atraso considerado é o do consumidor: eventos ainda no outbox, aguardando o relay, não entram na conta.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ProdutoProjecaoMemoriaGateway implements ProdutoProjecaoGateway, ProdutoEventoHandler {
+
+    private final ProdutoGateway delegate;
+    private final ProdutoEventoPosicao posicao;
+    private final long lagMaximo;
+    private final Duration atrasoMaximo;
+
+    private final Queue<Long> pendentes = new ConcurrentLinkedQueue<>();
+    private volatile Map<Long, Produto> porId = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> idPorSku = new ConcurrentHashMap<>();
+    private volatile boolean carregada;
+
+    public void construir() {
+        long inicio = System.nanoTime();
+        Map<Long, Produto> novoPorId = new ConcurrentHashMap<>();
+        Map<String, Long> novoIdPorSku = new ConcurrentHashMap<>();
+        delegate.exportarTodos(produto -> {
+            novoPorId.put(produto.getId(), produto);
+            novoIdPorSku.put(produto.getSku(), produto.getId());
+        });
+
+        synchronized (this) {
+            porId = novoPorId;
+            idPorSku = novoIdPorSku;
+            carregada = true;
+        }
+        log.info("Projeção de leitura carregada com {} produtos em {} ms",
+                novoPorId.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        Long id;
+        while ((id = pendentes.poll()) != null) {
+            atualizar(id);
+        }
+    }
+
+    @Override
+    public boolean estaAtualizada() {
+        if (!carregada) {
+            return false;
+        }
+        long lagAtual = posicao.lag();
+        Duration idade = posicao.idadeConfirmacao();
+        return lagAtual >= 0 && lagAtual <= lagMaximo && idade != null && idade.compareTo(atrasoMaximo) <= 0;
+    }
+
+    @Override
+    public long lag() {
+        return posicao.lag();
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        return Optional.ofNullable(porId.get(id)).map(this::copiar);
+    }
+
+    @Override
+    public Optional<Produto> buscarPorSku(String sku) {
+        Long id = idPorSku.get(sku);
+        return id != null ? buscarPorId(id) : Optional.empty();
+    }
+
+    @Override
+    public void aoReceber(ProdutoEventMessage evento) {
+        Long id = evento.getProdutoId();
+        if (id == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!carregada) {
+                pendentes.add(id);
+                return;
+            }
+        }
+        atualizar(id);
+    }
+
+    public int quantidadeProdutos() {
+        return porId.size();
+    }
+
+    private void atualizar(Long id) {
+        Optional<Produto> lido = delegate.buscarPorId(id);
+        if (lido.isEmpty()) {
+            Produto removido = porId.remove(id);
+            if (removido != null) {
+                idPorSku.remove(removido.getSku(), id);
+            }
+            return;
+        }
+        Produto produto = lido.get();
+        Produto anterior = porId.get(id);
+        // Evento e carga podem reler o mesmo produto ao mesmo tempo; prevalece a versão mais nova
+        Produto atual = porId.merge(id, produto, (existente, novo) -> maisNovo(existente, novo));
+        if (atual == produto) {
+            if (anterior != null && !anterior.getSku().equals(produto.getSku())) {
+                idPorSku.remove(anterior.getSku(), id);
+            }
+            idPorSku.put(produto.getSku(), id);
+        }
+    }
+
+    private static Produto maisNovo(Produto existente, Produto novo) {
+        if (existente.getVersao() != null && novo.getVersao() != null && novo.getVersao() < existente.getVersao()) {
+            return existente;
+        }
+        return novo;
+    }
+
+    private Produto copiar(Produto produto) {
+        return produto.toBuilder().build();
+    }
+}
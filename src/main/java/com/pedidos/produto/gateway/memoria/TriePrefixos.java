@@ -0,0 +1,82 @@
+package com.pedidos.produto.gateway.memoria;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Trie dos termos indexados, usada para expandir o último termo digitado na busca por prefixo.
+ */
+final class TriePrefixos {
+
+    private final No raiz = new No();
+
+    void inserir(String termo) {
+        No atual = raiz;
+        for (int i = 0; i < termo.length(); i++) {
+            atual = atual.filhoOuNovo(termo.charAt(i));
+        }
+        atual.termo = termo;
+    }
+
+    /**
+     * Termos que começam com o prefixo, dos mais curtos para os mais longos, até o máximo informado.
+     */
+    List<String> termosComPrefixo(String prefixo, int maximo) {
+        List<String> termos = new ArrayList<>();
+        No atual = raiz;
+        for (int i = 0; i < prefixo.length() && atual != null; i++) {
+            atual = atual.filho(prefixo.charAt(i));
+        }
+        if (atual == null) {
+            return termos;
+        }
+        // Busca em largura: o próprio termo digitado e as palavras mais curtas aparecem primeiro
+        Deque<No> fila = new ArrayDeque<>();
+        fila.add(atual);
+        while (!fila.isEmpty() && termos.size() < maximo) {
+            No no = fila.poll();
+            if (no.termo != null) {
+                termos.add(no.termo);
+            }
+            for (int i = 0; i < no.quantidadeFilhos; i++) {
+                fila.add(no.filhos[i]);
+            }
+        }
+        return termos;
+    }
+
+    private static final class No {
+        private char[] chaves = new char[0];
+        private No[] filhos = new No[0];
+        private int quantidadeFilhos;
+        private String termo;
+
+        private No filho(char chave) {
+            int posicao = Arrays.binarySearch(chaves, 0, quantidadeFilhos, chave);
+            return posicao >= 0 ? filhos[posicao] : null;
+        }
+
+        private No filhoOuNovo(char chave) {
+            int posicao = Arrays.binarySearch(chaves, 0, quantidadeFilhos, chave);
+            if (posicao >= 0) {
+                return filhos[posicao];
+            }
+            int insercao = -posicao - 1;
+            if (quantidadeFilhos == chaves.length) {
+                int capacidade = Math.max(2, quantidadeFilhos * 2);
+                chaves = Arrays.copyOf(chaves, capacidade);
+                filhos = Arrays.copyOf(filhos, capacidade);
+            }
+            System.arraycopy(chaves, insercao, chaves, insercao + 1, quantidadeFilhos - insercao);
+            System.arraycopy(filhos, insercao, filhos, insercao + 1, quantidadeFilhos - insercao);
+            No novo = new No();
+            chaves[insercao] = chave;
+            filhos[insercao] = novo;
+            quantidadeFilhos++;
+            return novo;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.pedidos.produto.gateway.r2dbc;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoReativoGateway;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+public class ProdutoR2dbcGateway implements ProdutoReativoGateway {
+
+    private static final String SELECT_PRODUTO =
+            "SELECT id, nome, sku, descricao, preco, categoria, ativo, created_at, updated_at, versao FROM tb_produto";
+
+    private final DatabaseClient databaseClient;
+    private final int tamanhoLote;
+
+    public ProdutoR2dbcGateway(DatabaseClient databaseClient,
+                               @Value("${produto.reativo.tamanho-lote:500}") int tamanhoLote) {
+        this.databaseClient = databaseClient;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public Mono<Produto> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT_PRODUTO + " WHERE id = :id")
+                .bind("id", id)
+                .map(this::toDomain)
+                .one()
+                .doOnError(e -> log.error("Erro ao buscar produto por ID {}: {}", id, e.getMessage(), e))
+                .onErrorMap(e -> new ErroAoAcessarRepositorioException("Erro ao buscar produto por ID", e));
+    }
+
+    @Override
+    public Mono<Produto> buscarPorSku(String sku) {
+        return databaseClient.sql(SELECT_PRODUTO + " WHERE sku = :sku")
+                .bind("sku", sku)
+                .map(this::toDomain)
+                .one()
+                .doOnError(e -> log.error("Erro ao buscar produto por SKU {}: {}", sku, e.getMessage(), e))
+                .onErrorMap(e -> new ErroAoAcessarRepositorioException("Erro ao buscar produto por SKU", e));
+    }
+
+    @Override
+    public Flux<Produto> buscarAtivos() {
+        return databaseClient.sql(SELECT_PRODUTO + " WHERE ativo ORDER BY id")
+                // Com fetch size o driver lê do banco em lotes conforme a demanda do assinante
+                .filter(statement -> statement.fetchSize(tamanhoLote))
+                .map(this::toDomain)
+                .all()
+                .doOnError(e -> log.error("Erro ao buscar produtos ativos: {}", e.getMessage(), e))
+                .onErrorMap(e -> new ErroAoAcessarRepositorioException("Erro ao buscar produtos ativos", e));
+    }
+
+    @Override
+    public Flux<Produto> buscarPorCategoria(String categoria) {
+        // Mesmo critério de findByCategoriaChaveAndAtivoTrue, atendido pelo índice parcial (categoria_chave, id)
+        return databaseClient.sql(SELECT_PRODUTO + " WHERE categoria_chave = :categoria AND ativo ORDER BY id")
+                .bind("categoria", Produto.chaveCategoria(categoria))
+                .filter(statement -> statement.fetchSize(tamanhoLote))
+                .map(this::toDomain)
+                .all()
+                .doOnError(e -> log.error("Erro ao buscar produtos por categoria {}: {}", categoria, e.getMessage(), e))
+                .onErrorMap(e -> new ErroAoAcessarRepositorioException("Erro ao buscar produtos por categoria", e));
+    }
+
+    private Produto toDomain(Readable row) {
+        Produto produto = new Produto();
+        produto.setId(row.get("id", Long.class));
+        produto.setNome(row.get("nome", String.class));
+        produto.setSku(row.get("sku", String.class));
+        produto.setDescricao(row.get("descricao", String.class));
+        produto.setPreco(row.get("preco", BigDecimal.class));
+        produto.setCategoria(row.get("categoria", String.class));
+        produto.setAtivo(row.get("ativo", Boolean.class));
+        produto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        produto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        produto.setVersao(row.get("versao", Long.class));
+        return produto;
+    }
+}
@@ -0,0 +1,179 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.LinhaAtualizacaoPreco;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoAtualizacaoPrecos;
+import com.pedidos.produto.domain.ResultadoAtualizacaoPrecos.ErroAtualizacaoPreco;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reprecificação em massa. A lista é lida em streaming e aplicada em lotes: os SKUs do lote são resolvidos para
+ * IDs em uma única consulta e cada lote vira um UPDATE por ID e um único evento agrupado no outbox, na mesma
+ * transação. Os preços seguem as regras de {@link Produto#validarPreco} sem que os produtos sejam carregados;
+ * linhas inválidas, repetidas ou de produtos inexistentes são reportadas sem interromper o processamento.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AtualizarPrecosEmLoteUsecase {
+    private final ProdutoGateway produtoGateway;
+    private final ProdutoEventoGateway produtoEventoGateway;
+    private final TransactionOperations transactionOperations;
+
+    static final int TAMANHO_LOTE = 1000;
+    static final int MAXIMO_ERROS_DETALHADOS = 1000;
+    // Limite da coluna preco DECIMAL(10,2)
+    static final int MAXIMO_DIGITOS_INTEIROS_PRECO = 8;
+
+    public ResultadoAtualizacaoPrecos executar(Iterator<LinhaAtualizacaoPreco> linhas) {
+        log.info("Iniciando atualização de preços em lote");
+
+        Atualizacao atualizacao = new Atualizacao();
+        List<LinhaAtualizacaoPreco> lote = new ArrayList<>(TAMANHO_LOTE);
+        while (linhas.hasNext()) {
+            lote.add(linhas.next());
+            if (lote.size() == TAMANHO_LOTE) {
+                atualizarLote(lote, atualizacao);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            atualizarLote(lote, atualizacao);
+        }
+
+        log.info("Atualização de preços concluída. Linhas: {}, atualizados: {}, inalterados: {}, erros: {}",
+                atualizacao.totalLinhas, atualizacao.atualizados, atualizacao.inalterados, atualizacao.totalErros);
+        return new ResultadoAtualizacaoPrecos(atualizacao.totalLinhas, atualizacao.atualizados,
+                atualizacao.inalterados, atualizacao.totalErros, atualizacao.erros);
+    }
+
+    private void atualizarLote(List<LinhaAtualizacaoPreco> lote, Atualizacao atualizacao) {
+        atualizacao.totalLinhas += lote.size();
+
+        List<LinhaAtualizacaoPreco> validas = new ArrayList<>(lote.size());
+        Set<String> skus = new LinkedHashSet<>();
+        for (LinhaAtualizacaoPreco linha : lote) {
+            if (linha.getErro() != null) {
+                atualizacao.registrarErro(linha.getNumero(), linha.getId(), linha.getSku(), linha.getErro());
+                continue;
+            }
+            try {
+                validar(linha);
+            } catch (IllegalArgumentException e) {
+                atualizacao.registrarErro(linha.getNumero(), linha.getId(), linha.getSku(), e.getMessage());
+                continue;
+            }
+            validas.add(linha);
+            if (linha.getId() == null) {
+                skus.add(sku(linha));
+            }
+        }
+
+        // Linhas por SKU passam a valer pelo ID do produto, para que o mesmo produto informado uma vez por ID e
+        // outra por SKU seja reconhecido como repetido
+        Map<String, Long> idsPorSku = skus.isEmpty() ? Map.of() : produtoGateway.buscarIdsPorSkus(skus);
+        Map<Long, BigDecimal> precosPorId = new LinkedHashMap<>();
+        Map<Long, LinhaAtualizacaoPreco> linhaPorId = new LinkedHashMap<>();
+        for (LinhaAtualizacaoPreco linha : validas) {
+            Long id = linha.getId() != null ? linha.getId() : idsPorSku.get(sku(linha));
+            if (id == null) {
+                atualizacao.registrarErro(linha.getNumero(), null, sku(linha), "Produto não encontrado com SKU: " + sku(linha));
+                continue;
+            }
+            if (!atualizacao.idsVistos.add(id)) {
+                atualizacao.registrarErro(linha.getNumero(), linha.getId(), linha.getSku(), "Produto repetido na lista: ID " + id);
+                continue;
+            }
+            precosPorId.put(id, linha.getPreco());
+            linhaPorId.put(id, linha);
+        }
+        if (precosPorId.isEmpty()) {
+            return;
+        }
+
+        // Produtos e evento agrupado do lote gravados na mesma transação
+        List<Produto> atualizados;
+        try {
+            atualizados = transactionOperations.execute(status -> {
+                List<Produto> atualizadosNoLote = produtoGateway.atualizarPrecos(precosPorId);
+                if (!atualizadosNoLote.isEmpty()) {
+                    produtoEventoGateway.registrarAgrupado("PRODUTO_PRECO_ATUALIZADO", atualizadosNoLote);
+                }
+                return atualizadosNoLote;
+            });
+        } catch (Exception e) {
+            log.error("Erro ao atualizar lote de {} preços: {}", precosPorId.size(), e.getMessage(), e);
+            linhaPorId.values().forEach(linha -> atualizacao.registrarErro(linha.getNumero(), linha.getId(),
+                    linha.getSku(), "Erro ao atualizar lote: " + e.getMessage()));
+            return;
+        }
+        atualizacao.atualizados += atualizados.size();
+
+        // O UPDATE não devolve produtos que já tinham o preço informado; só os inexistentes (ou removidos desde
+        // a busca por SKU) são erro
+        Set<Long> restantes = new LinkedHashSet<>(precosPorId.keySet());
+        atualizados.forEach(produto -> restantes.remove(produto.getId()));
+        Set<Long> existentes = restantes.isEmpty() ? Set.of() : produtoGateway.buscarIdsExistentes(restantes);
+        for (Long id : restantes) {
+            LinhaAtualizacaoPreco linha = linhaPorId.get(id);
+            if (existentes.contains(id)) {
+                atualizacao.inalterados++;
+            } else if (linha.getId() != null) {
+                atualizacao.registrarErro(linha.getNumero(), id, null, "Produto não encontrado com ID: " + id);
+            } else {
+                atualizacao.registrarErro(linha.getNumero(), null, sku(linha), "Produto não encontrado com SKU: " + sku(linha));
+            }
+        }
+    }
+
+    // SKUs são gravados em maiúsculas (ver Produto)
+    private static String sku(LinhaAtualizacaoPreco linha) {
+        return linha.getSku().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static void validar(LinhaAtualizacaoPreco linha) {
+        boolean temSku = linha.getSku() != null && !linha.getSku().isBlank();
+        if (linha.getId() == null && !temSku) {
+            throw new IllegalArgumentException("Informe o ID ou o SKU do produto");
+        }
+        if (linha.getId() != null && temSku) {
+            throw new IllegalArgumentException("Informe apenas o ID ou o SKU do produto");
+        }
+        Produto.validarPreco(linha.getPreco());
+        if (linha.getPreco().precision() - linha.getPreco().scale() > MAXIMO_DIGITOS_INTEIROS_PRECO) {
+            throw new IllegalArgumentException("Preço deve ter no máximo " + MAXIMO_DIGITOS_INTEIROS_PRECO + " dígitos inteiros");
+        }
+    }
+
+    private static class Atualizacao {
+        private final Set<Long> idsVistos = new HashSet<>();
+        private final List<ErroAtualizacaoPreco> erros = new ArrayList<>();
+        private long totalLinhas;
+        private long atualizados;
+        private long inalterados;
+        private long totalErros;
+
+        private void registrarErro(long linha, Long id, String sku, String mensagem) {
+            totalErros++;
+            if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+                erros.add(new ErroAtualizacaoPreco(linha, id, sku, mensagem));
+            }
+        }
+    }
+}
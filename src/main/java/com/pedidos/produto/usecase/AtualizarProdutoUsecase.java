@@ -1,109 +1,111 @@
 package com.pedidos.produto.usecase;
 
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ConflitoDeVersaoException;
 import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
 import com.pedidos.produto.gateway.ProdutoGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Atualizações de produto com concorrência otimista. Em todos os métodos {@code versaoEsperada} é a versão
+ * que o cliente leu (If-Match); quando informada e diferente da atual, a escrita é recusada com
+ * {@link ConflitoDeVersaoException}. Nula, a escrita não depende da versão lida.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AtualizarProdutoUsecase {
     private final ProdutoGateway produtoGateway;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-
-    private static final String PRODUTO_TOPIC = "produto-events";
+    private final ProdutoEventoGateway produtoEventoGateway;
 
-    public Produto atualizarDados(Long id, String nome, String descricao, BigDecimal preco, String categoria) {
+    @Transactional
+    public Produto atualizarDados(Long id, String nome, String descricao, BigDecimal preco, String categoria,
+                                  Long versaoEsperada) {
         log.info("Atualizando dados do produto ID: {}", id);
 
-        Produto produto = produtoGateway.buscarPorId(id)
+        // Do banco, não do cache: uma cópia em cache anterior à escrita de outra réplica tem a versão antiga,
+        // e o If-Match atual seria recusado (ou o save falharia na versão) até o evento invalidar a entrada
+        Produto produto = produtoGateway.buscarPorIdSemCache(id)
                 .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id));
+        if (versaoEsperada != null && !Objects.equals(versaoEsperada, produto.getVersao())) {
+            throw conflito(id, versaoEsperada);
+        }
 
         produto.atualizarDados(nome, descricao, preco, categoria);
 
+        // O UPDATE confere a versão lida acima, então uma escrita concorrente entre a leitura e o save também falha
         Produto produtoAtualizado = produtoGateway.salvar(produto);
 
-        // Publicar evento no Kafka
-        publicarEventoKafka("PRODUTO_ATUALIZADO", produtoAtualizado);
+        // Registrar evento no outbox
+        produtoEventoGateway.registrar("PRODUTO_ATUALIZADO", produtoAtualizado);
 
         log.info("Produto atualizado com sucesso. ID: {}", produtoAtualizado.getId());
         return produtoAtualizado;
     }
 
-    public Produto atualizarPreco(Long id, BigDecimal novoPreco) {
+    @Transactional
+    public Produto atualizarPreco(Long id, BigDecimal novoPreco, Long versaoEsperada) {
         log.info("Atualizando preço do produto ID: {} para {}", id, novoPreco);
+        Produto.validarPreco(novoPreco);
 
-        Produto produto = produtoGateway.buscarPorId(id)
-                .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id));
+        Produto produtoAtualizado = produtoGateway.atualizarPreco(id, novoPreco, versaoEsperada)
+                .orElseThrow(() -> nenhumaLinhaAtualizada(id, versaoEsperada));
 
-        produto.atualizarPreco(novoPreco);
-
-        Produto produtoAtualizado = produtoGateway.salvar(produto);
-
-        // Publicar evento no Kafka
-        publicarEventoKafka("PRODUTO_PRECO_ATUALIZADO", produtoAtualizado);
+        // Registrar evento no outbox
+        produtoEventoGateway.registrar("PRODUTO_PRECO_ATUALIZADO", produtoAtualizado);
 
         log.info("Preço do produto atualizado com sucesso. ID: {}, Novo preço: {}",
                 produtoAtualizado.getId(), produtoAtualizado.getPreco());
         return produtoAtualizado;
     }
 
-    public Produto ativar(Long id) {
+    @Transactional
+    public Produto ativar(Long id, Long versaoEsperada) {
         log.info("Ativando produto ID: {}", id);
 
-        Produto produto = produtoGateway.buscarPorId(id)
-                .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id));
+        Produto produtoAtualizado = produtoGateway.atualizarAtivo(id, true, versaoEsperada)
+                .orElseThrow(() -> nenhumaLinhaAtualizada(id, versaoEsperada));
 
-        produto.ativar();
-
-        Produto produtoAtualizado = produtoGateway.salvar(produto);
-
-        // Publicar evento no Kafka
-        publicarEventoKafka("PRODUTO_ATIVADO", produtoAtualizado);
+        // Registrar evento no outbox
+        produtoEventoGateway.registrar("PRODUTO_ATIVADO", produtoAtualizado);
 
         log.info("Produto ativado com sucesso. ID: {}", produtoAtualizado.getId());
         return produtoAtualizado;
     }
 
-    public Produto desativar(Long id) {
+    @Transactional
+    public Produto desativar(Long id, Long versaoEsperada) {
         log.info("Desativando produto ID: {}", id);
 
-        Produto produto = produtoGateway.buscarPorId(id)
-                .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id));
-
-        produto.desativar();
+        Produto produtoAtualizado = produtoGateway.atualizarAtivo(id, false, versaoEsperada)
+                .orElseThrow(() -> nenhumaLinhaAtualizada(id, versaoEsperada));
 
-        Produto produtoAtualizado = produtoGateway.salvar(produto);
-
-        // Publicar evento no Kafka
-        publicarEventoKafka("PRODUTO_DESATIVADO", produtoAtualizado);
+        // Registrar evento no outbox
+        produtoEventoGateway.registrar("PRODUTO_DESATIVADO", produtoAtualizado);
 
         log.info("Produto desativado com sucesso. ID: {}", produtoAtualizado.getId());
         return produtoAtualizado;
     }
 
-    private void publicarEventoKafka(String tipoEvento, Produto produto) {
-        try {
-            CriarProdutoUsecase.ProdutoEventMessage evento = CriarProdutoUsecase.ProdutoEventMessage.builder()
-                    .tipoEvento(tipoEvento)
-                    .produtoId(produto.getId())
-                    .sku(produto.getSku())
-                    .nome(produto.getNome())
-                    .preco(produto.getPreco())
-                    .ativo(produto.isAtivo())
-                    .timestamp(System.currentTimeMillis())
-                    .build();
-
-            kafkaTemplate.send(PRODUTO_TOPIC, evento);
-            log.debug("Evento Kafka publicado: {}", evento);
-        } catch (Exception e) {
-            log.error("Erro ao publicar evento Kafka: {}", e.getMessage(), e);
+    // Só no caminho de falha é preciso consultar o produto, para distinguir inexistente de versão divergente;
+    // a existência vem do banco, já que o cache pode guardar um produto removido por outra réplica
+    private RuntimeException nenhumaLinhaAtualizada(Long id, Long versaoEsperada) {
+        if (versaoEsperada != null && produtoGateway.buscarIdsExistentes(Set.of(id)).contains(id)) {
+            return conflito(id, versaoEsperada);
         }
+        return new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id);
+    }
+
+    private ConflitoDeVersaoException conflito(Long id, Long versaoEsperada) {
+        log.info("Versão {} do produto ID {} não é mais a atual", versaoEsperada, id);
+        return new ConflitoDeVersaoException("Produto ID " + id + " foi alterado desde a versão " + versaoEsperada);
     }
 }
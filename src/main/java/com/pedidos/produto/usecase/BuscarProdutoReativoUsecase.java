@@ -0,0 +1,39 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
+import com.pedidos.produto.gateway.ProdutoReativoGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BuscarProdutoReativoUsecase {
+    private final ProdutoReativoGateway produtoReativoGateway;
+
+    public Mono<Produto> buscarPorId(Long id) {
+        log.debug("Buscando produto por ID (reativo): {}", id);
+        return produtoReativoGateway.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id)));
+    }
+
+    public Mono<Produto> buscarPorSku(String sku) {
+        log.debug("Buscando produto por SKU (reativo): {}", sku);
+        return produtoReativoGateway.buscarPorSku(sku)
+                .switchIfEmpty(Mono.error(() -> new ProdutoNaoEncontradoException("Produto não encontrado com SKU: " + sku)));
+    }
+
+    public Flux<Produto> buscarAtivos() {
+        log.debug("Buscando produtos ativos (reativo)");
+        return produtoReativoGateway.buscarAtivos();
+    }
+
+    public Flux<Produto> buscarPorCategoria(String categoria) {
+        log.debug("Buscando produtos por categoria (reativo): {}", categoria);
+        return produtoReativoGateway.buscarPorCategoria(categoria);
+    }
+}
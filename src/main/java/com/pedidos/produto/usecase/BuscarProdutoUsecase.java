@@ -1,38 +1,184 @@
 package com.pedidos.produto.usecase;
 
+import com.pedidos.produto.domain.CursorBusca;
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoBuscaEmLote;
+import com.pedidos.produto.domain.ResumoProduto;
+import com.pedidos.produto.domain.VersaoProduto;
 import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
 import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.ProdutoProjecaoGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BuscarProdutoUsecase {
     private final ProdutoGateway produtoGateway;
+    private final ObjectProvider<ProdutoProjecaoGateway> produtoProjecaoGateway;
+
+    static final int TAMANHO_PAGINA_PADRAO = 50;
+    static final int TAMANHO_PAGINA_MAXIMO = 500;
+    static final int LIMITE_BUSCA_EM_LOTE = 200;
+    static final int TAMANHO_MAXIMO_TERMO_BUSCA = 100;
 
     public Produto buscarPorId(Long id) {
         log.debug("Buscando produto por ID: {}", id);
-        return produtoGateway.buscarPorId(id)
+        return buscarNaProjecao(projecao -> projecao.buscarPorId(id))
+                .or(() -> produtoGateway.buscarPorId(id))
                 .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com ID: " + id));
     }
 
     public Produto buscarPorSku(String sku) {
         log.debug("Buscando produto por SKU: {}", sku);
-        return produtoGateway.buscarPorSku(sku)
+        return buscarNaProjecao(projecao -> projecao.buscarPorSku(sku))
+                .or(() -> produtoGateway.buscarPorSku(sku))
                 .orElseThrow(() -> new ProdutoNaoEncontradoException("Produto não encontrado com SKU: " + sku));
     }
 
+    public Optional<VersaoProduto> buscarVersaoPorId(Long id) {
+        return produtoGateway.buscarVersaoPorId(id);
+    }
+
+    public Optional<VersaoProduto> buscarVersaoPorSku(String sku) {
+        return produtoGateway.buscarVersaoPorSku(sku);
+    }
+
+    public ResultadoBuscaEmLote buscarEmLote(List<Long> ids, List<String> skus) {
+        Set<Long> idsUnicos = ids != null ? new LinkedHashSet<>(ids) : Collections.emptySet();
+        Set<String> skusUnicos = skus != null ? new LinkedHashSet<>(skus) : Collections.emptySet();
+        idsUnicos.remove(null);
+        skusUnicos.remove(null);
+
+        if (idsUnicos.isEmpty() && skusUnicos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID ou SKU");
+        }
+        if (idsUnicos.size() + skusUnicos.size() > LIMITE_BUSCA_EM_LOTE) {
+            throw new IllegalArgumentException("Busca em lote limitada a " + LIMITE_BUSCA_EM_LOTE + " IDs e SKUs por requisição");
+        }
+
+        log.debug("Buscando em lote {} IDs e {} SKUs", idsUnicos.size(), skusUnicos.size());
+
+        Map<Long, Produto> porId = new LinkedHashMap<>();
+        Map<String, Produto> porSku = new LinkedHashMap<>();
+        if (!idsUnicos.isEmpty()) {
+            produtoGateway.buscarPorIds(idsUnicos).forEach(produto -> porId.put(produto.getId(), produto));
+        }
+        if (!skusUnicos.isEmpty()) {
+            produtoGateway.buscarPorSkus(skusUnicos).forEach(produto -> porSku.put(produto.getSku(), produto));
+        }
+
+        // Mantém a ordem da requisição e não repete produtos pedidos por ID e por SKU ao mesmo tempo
+        Map<Long, Produto> produtos = new LinkedHashMap<>();
+        idsUnicos.stream().map(porId::get).filter(Objects::nonNull)
+                .forEach(produto -> produtos.putIfAbsent(produto.getId(), produto));
+        skusUnicos.stream().map(porSku::get).filter(Objects::nonNull)
+                .forEach(produto -> produtos.putIfAbsent(produto.getId(), produto));
+
+        List<Long> idsNaoEncontrados = idsUnicos.stream().filter(id -> !porId.containsKey(id)).toList();
+        List<String> skusNaoEncontrados = skusUnicos.stream().filter(sku -> !porSku.containsKey(sku)).toList();
+
+        return new ResultadoBuscaEmLote(List.copyOf(produtos.values()), idsNaoEncontrados, skusNaoEncontrados);
+    }
+
     public List<Produto> buscarTodos() {
         log.debug("Buscando todos os produtos");
         return produtoGateway.buscarTodos();
     }
 
+    public Pagina<Produto> buscarPagina(FiltroProduto filtro, String cursor, Ordenacao ordenacao, Integer tamanho) {
+        log.debug("Buscando página de produtos. Filtro: {}, ordenação: {}, tamanho: {}", filtro, ordenacao, tamanho);
+
+        ConsultaPagina consulta = prepararConsultaPagina(filtro, cursor, ordenacao, tamanho);
+        return produtoGateway.buscarPagina(consulta.filtro(), consulta.ordenacao(), consulta.cursor(), consulta.tamanho());
+    }
+
+    /**
+     * Mesmas regras de {@link #buscarPagina}, devolvendo só o resumo de cada produto. Os cursores das duas
+     * listagens são intercambiáveis.
+     */
+    public Pagina<ResumoProduto> buscarPaginaResumida(FiltroProduto filtro, String cursor, Ordenacao ordenacao, Integer tamanho) {
+        log.debug("Buscando página resumida de produtos. Filtro: {}, ordenação: {}, tamanho: {}", filtro, ordenacao, tamanho);
+
+        ConsultaPagina consulta = prepararConsultaPagina(filtro, cursor, ordenacao, tamanho);
+        return produtoGateway.buscarPaginaResumida(consulta.filtro(), consulta.ordenacao(), consulta.cursor(), consulta.tamanho());
+    }
+
+    /**
+     * Leitura pela projeção local quando ela existe e está dentro do atraso máximo. Produto ausente na
+     * projeção (ex.: criado há pouco, evento ainda não aplicado) também segue para o gateway.
+     */
+    private Optional<Produto> buscarNaProjecao(Function<ProdutoProjecaoGateway, Optional<Produto>> leitura) {
+        ProdutoProjecaoGateway projecao = produtoProjecaoGateway.getIfAvailable();
+        if (projecao == null || !projecao.estaAtualizada()) {
+            return Optional.empty();
+        }
+        Optional<Produto> produto = leitura.apply(projecao);
+        produto.ifPresent(p -> log.debug("Produto ID {} lido da projeção com lag de {} eventos", p.getId(), projecao.lag()));
+        return produto;
+    }
+
+    private ConsultaPagina prepararConsultaPagina(FiltroProduto filtro, String cursor, Ordenacao ordenacao, Integer tamanho) {
+        FiltroProduto filtroNormalizado = normalizarFiltro(filtro != null ? filtro : FiltroProduto.VAZIO);
+        int tamanhoPagina = validarTamanhoPagina(tamanho);
+
+        CursorPaginacao cursorPaginacao = null;
+        Ordenacao ordenacaoEfetiva = ordenacao != null ? ordenacao : Ordenacao.ID;
+        if (cursor != null && !cursor.trim().isEmpty()) {
+            cursorPaginacao = CursorPaginacao.decodificar(cursor.trim());
+            if (ordenacao != null && ordenacao != cursorPaginacao.getOrdenacao()) {
+                throw new IllegalArgumentException("Cursor não corresponde à ordenação solicitada");
+            }
+            ordenacaoEfetiva = cursorPaginacao.getOrdenacao();
+        }
+        return new ConsultaPagina(filtroNormalizado, ordenacaoEfetiva, cursorPaginacao, tamanhoPagina);
+    }
+
+    public Pagina<Produto> buscarPorTexto(String termo, String cursor, Integer tamanho) {
+        log.debug("Buscando produtos por texto: {}", termo);
+
+        if (termo == null || termo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca é obrigatório");
+        }
+        String termoNormalizado = termo.trim();
+        if (termoNormalizado.length() > TAMANHO_MAXIMO_TERMO_BUSCA) {
+            throw new IllegalArgumentException("Termo de busca deve ter no máximo " + TAMANHO_MAXIMO_TERMO_BUSCA + " caracteres");
+        }
+        int tamanhoPagina = validarTamanhoPagina(tamanho);
+
+        CursorBusca cursorBusca = cursor != null && !cursor.trim().isEmpty()
+                ? CursorBusca.decodificar(cursor.trim())
+                : null;
+
+        return produtoGateway.buscarPorTexto(termoNormalizado, cursorBusca, tamanhoPagina);
+    }
+
+    public void exportarTodos(Consumer<Produto> consumidor) {
+        log.debug("Exportando todos os produtos");
+        produtoGateway.exportarTodos(consumidor);
+    }
+
     public List<Produto> buscarAtivos() {
         log.debug("Buscando produtos ativos");
         return produtoGateway.buscarAtivos();
@@ -60,4 +206,49 @@ public class BuscarProdutoUsecase {
     public long contarProdutosAtivos() {
         return produtoGateway.contarProdutosAtivos();
     }
+
+    public EstatisticasProdutos buscarEstatisticas() {
+        return produtoGateway.buscarEstatisticas();
+    }
+
+    public List<DistribuicaoPrecosCategoria> buscarDistribuicaoPrecosPorCategoria() {
+        return produtoGateway.buscarDistribuicaoPrecosPorCategoria();
+    }
+
+    private FiltroProduto normalizarFiltro(FiltroProduto filtro) {
+        if (filtro.getPrecoMin() != null && filtro.getPrecoMax() != null
+                && filtro.getPrecoMin().compareTo(filtro.getPrecoMax()) > 0) {
+            throw new IllegalArgumentException("Preço mínimo não pode ser maior que preço máximo");
+        }
+
+        String categoria = filtro.getCategoria() != null && !filtro.getCategoria().trim().isEmpty()
+                ? filtro.getCategoria().trim()
+                : null;
+        String termo = filtro.getTermo() != null && !filtro.getTermo().trim().isEmpty()
+                ? filtro.getTermo().trim()
+                : null;
+        if (termo != null && termo.length() > TAMANHO_MAXIMO_TERMO_BUSCA) {
+            throw new IllegalArgumentException("Termo de busca deve ter no máximo " + TAMANHO_MAXIMO_TERMO_BUSCA + " caracteres");
+        }
+
+        // A listagem por categoria sempre trouxe apenas ativos; apenasAtivos=false inclui os inativos
+        Boolean apenasAtivos = filtro.getApenasAtivos() != null ? filtro.getApenasAtivos() : categoria != null;
+
+        return filtro.toBuilder()
+                .categoria(categoria)
+                .termo(termo)
+                .apenasAtivos(apenasAtivos)
+                .build();
+    }
+
+    private int validarTamanhoPagina(Integer tamanho) {
+        int tamanhoPagina = tamanho != null ? tamanho : TAMANHO_PAGINA_PADRAO;
+        if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO);
+        }
+        return tamanhoPagina;
+    }
+
+    private record ConsultaPagina(FiltroProduto filtro, Ordenacao ordenacao, CursorPaginacao cursor, int tamanho) {
+    }
 }
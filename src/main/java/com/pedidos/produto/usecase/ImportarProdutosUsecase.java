@@ -0,0 +1,132 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.LinhaImportacao;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoImportacao;
+import com.pedidos.produto.domain.ResultadoImportacao.ErroImportacao;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportarProdutosUsecase {
+    private final ProdutoGateway produtoGateway;
+    private final ProdutoEventoGateway produtoEventoGateway;
+    private final TransactionOperations transactionOperations;
+
+    static final int TAMANHO_LOTE = 500;
+    static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+    public ResultadoImportacao executar(Iterator<LinhaImportacao> linhas) {
+        log.info("Iniciando importação de produtos em lote");
+
+        Importacao importacao = new Importacao();
+        List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE);
+        while (linhas.hasNext()) {
+            lote.add(linhas.next());
+            if (lote.size() == TAMANHO_LOTE) {
+                importarLote(lote, importacao);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            importarLote(lote, importacao);
+        }
+
+        log.info("Importação concluída. Linhas: {}, importados: {}, erros: {}",
+                importacao.totalLinhas, importacao.importados, importacao.totalErros);
+        return new ResultadoImportacao(importacao.totalLinhas, importacao.importados,
+                importacao.totalErros, importacao.erros);
+    }
+
+    private void importarLote(List<LinhaImportacao> lote, Importacao importacao) {
+        importacao.totalLinhas += lote.size();
+
+        List<Produto> validos = new ArrayList<>(lote.size());
+        List<Long> numerosLinha = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            if (linha.getErro() != null) {
+                importacao.registrarErro(linha.getNumero(), linha.getSku(), linha.getErro());
+                continue;
+            }
+            try {
+                Produto produto = new Produto(linha.getNome(), linha.getSku(), linha.getDescricao(),
+                        linha.getPreco(), linha.getCategoria());
+                if (!importacao.skusVistos.add(produto.getSku())) {
+                    importacao.registrarErro(linha.getNumero(), produto.getSku(), "SKU duplicado no arquivo");
+                    continue;
+                }
+                validos.add(produto);
+                numerosLinha.add(linha.getNumero());
+            } catch (IllegalArgumentException e) {
+                importacao.registrarErro(linha.getNumero(), linha.getSku(), e.getMessage());
+            }
+        }
+        if (validos.isEmpty()) {
+            return;
+        }
+
+        // Uma única consulta por lote em vez de um existePorSku por produto
+        Set<String> existentes = produtoGateway.buscarSkusExistentes(
+                validos.stream().map(Produto::getSku).collect(Collectors.toList()));
+
+        List<Produto> novos = new ArrayList<>(validos.size());
+        List<Long> numerosNovos = new ArrayList<>(validos.size());
+        for (int i = 0; i < validos.size(); i++) {
+            Produto produto = validos.get(i);
+            if (existentes.contains(produto.getSku())) {
+                importacao.registrarErro(numerosLinha.get(i), produto.getSku(), "SKU já cadastrado no sistema: " + produto.getSku());
+            } else {
+                novos.add(produto);
+                numerosNovos.add(numerosLinha.get(i));
+            }
+        }
+        if (novos.isEmpty()) {
+            return;
+        }
+
+        // Cada lote grava produtos e eventos do outbox na mesma transação
+        List<Produto> salvos;
+        try {
+            salvos = transactionOperations.execute(status -> {
+                List<Produto> salvosNoLote = produtoGateway.salvarTodos(novos);
+                produtoEventoGateway.registrarTodos("PRODUTO_CRIADO", salvosNoLote);
+                return salvosNoLote;
+            });
+        } catch (Exception e) {
+            log.error("Erro ao salvar lote de {} produtos: {}", novos.size(), e.getMessage(), e);
+            for (int i = 0; i < novos.size(); i++) {
+                importacao.registrarErro(numerosNovos.get(i), novos.get(i).getSku(), "Erro ao salvar lote: " + e.getMessage());
+            }
+            return;
+        }
+        importacao.importados += salvos.size();
+    }
+
+    private static class Importacao {
+        private final Set<String> skusVistos = new HashSet<>();
+        private final List<ErroImportacao> erros = new ArrayList<>();
+        private long totalLinhas;
+        private long importados;
+        private long totalErros;
+
+        private void registrarErro(long linha, String sku, String mensagem) {
+            totalErros++;
+            if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+                erros.add(new ErroImportacao(linha, sku, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+/**
+ * Semeia o tópico de snapshot com todos os produtos da tabela, em lotes por ordem de ID. Necessário uma vez,
+ * quando o tópico é criado ou perde dados; depois disso cada escrita mantém o tópico atualizado.
+ * <p>
+ * O snapshot não vai direto ao Kafka: cada lote é relido com as linhas travadas e registrado no outbox na mesma
+ * transação, como uma escrita comum. O relay publica então o estado semeado na mesma ordem das demais alterações
+ * de cada produto. A compactação mantém o último registro de cada chave, não a maior versão, então um envio
+ * paralelo ao outbox poderia deixar um estado antigo como definitivo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublicarSnapshotProdutosUsecase {
+    private final ProdutoGateway produtoGateway;
+    private final ProdutoEventoGateway produtoEventoGateway;
+    private final TransactionOperations transactionOperations;
+
+    static final int TAMANHO_LOTE = 1000;
+    static final String TIPO_EVENTO = "PRODUTO_SNAPSHOT";
+
+    public long publicarTodos() {
+        log.info("Registrando snapshot de todos os produtos no outbox");
+
+        long registrados = 0;
+        Long ultimoId = 0L;
+        List<Produto> lote;
+        do {
+            lote = registrarLote(ultimoId);
+            if (!lote.isEmpty()) {
+                registrados += lote.size();
+                ultimoId = lote.get(lote.size() - 1).getId();
+            }
+        } while (lote.size() == TAMANHO_LOTE);
+
+        log.info("Snapshot de {} produtos registrado no outbox", registrados);
+        return registrados;
+    }
+
+    // Leitura travada e registro no outbox na mesma transação, que dura só o lote
+    private List<Produto> registrarLote(Long aposId) {
+        return transactionOperations.execute(status -> {
+            List<Produto> produtos = produtoGateway.buscarLoteTravado(aposId, TAMANHO_LOTE);
+            if (!produtos.isEmpty()) {
+                produtoEventoGateway.registrarSnapshots(TIPO_EVENTO, produtos);
+            }
+            return produtos;
+        });
+    }
+}
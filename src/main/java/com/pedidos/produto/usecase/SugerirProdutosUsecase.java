@@ -0,0 +1,42 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.IndiceIndisponivelException;
+import com.pedidos.produto.gateway.ProdutoSugestaoGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "produto.indice-memoria.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SugerirProdutosUsecase {
+    private final ProdutoSugestaoGateway produtoSugestaoGateway;
+
+    static final int LIMITE_PADRAO = 10;
+    static final int LIMITE_MAXIMO = 50;
+    static final int TAMANHO_MAXIMO_TERMO = 100;
+
+    public List<Produto> executar(String termo, Integer limite) {
+        if (termo == null || termo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca é obrigatório");
+        }
+        if (termo.length() > TAMANHO_MAXIMO_TERMO) {
+            throw new IllegalArgumentException("Termo de busca deve ter no máximo " + TAMANHO_MAXIMO_TERMO + " caracteres");
+        }
+        int limiteEfetivo = limite != null ? limite : LIMITE_PADRAO;
+        if (limiteEfetivo < 1 || limiteEfetivo > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (!produtoSugestaoGateway.estaDisponivel()) {
+            throw new IndiceIndisponivelException("Índice de sugestões ainda está sendo carregado");
+        }
+
+        log.debug("Sugerindo produtos para: {}", termo);
+        return produtoSugestaoGateway.sugerir(termo, limiteEfetivo);
+    }
+}
@@ -0,0 +1,50 @@
+package db.migration;
+
+import com.pedidos.produto.domain.Produto;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Recalcula categoria_chave com a mesma normalização das escritas e das buscas ({@link Produto#chaveCategoria}).
+ * O preenchimento da V9 usou lower(unaccent(btrim(categoria))), que diverge da aplicação fora do português:
+ * unaccent troca ß, æ, ø e ligaduras por letras ASCII que a aplicação mantém, e com collation C lower() não
+ * converte maiúsculas fora do ASCII. Os produtos dessas categorias ficavam com uma chave que nenhuma busca gera.
+ * <p>
+ * As categorias distintas são poucas: cada uma é normalizada uma vez e só as linhas com chave divergente são
+ * regravadas. O trigger de estatísticas (V13) move as contagens para a chave corrigida.
+ */
+public class V15__recalcular_categoria_chave extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        try (Statement consulta = conexao.createStatement();
+             ResultSet categorias = consulta.executeQuery(
+                     "SELECT DISTINCT categoria, categoria_chave FROM tb_produto WHERE categoria IS NOT NULL");
+             PreparedStatement atualizacao = conexao.prepareStatement(
+                     "UPDATE tb_produto SET categoria_chave = ? WHERE categoria = ? AND categoria_chave IS DISTINCT FROM ?")) {
+            int divergentes = 0;
+            while (categorias.next()) {
+                String categoria = categorias.getString(1);
+                String chave = Produto.chaveCategoria(categoria);
+                if (Objects.equals(chave, categorias.getString(2))) {
+                    continue;
+                }
+                atualizacao.setString(1, chave);
+                atualizacao.setString(2, categoria);
+                atualizacao.setString(3, chave);
+                atualizacao.addBatch();
+                divergentes++;
+            }
+            if (divergentes > 0) {
+                atualizacao.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Chave da mensagem no Kafka (ID do produto): as mudancas de um produto ficam na mesma particao e o
+-- topico de snapshot pode ser compactado. Registros gravados antes desta versao saem sem chave, como antes
+ALTER TABLE tb_produto_outbox ADD COLUMN IF NOT EXISTS chave VARCHAR(100);
+
+COMMENT ON COLUMN tb_produto_outbox.chave IS 'Chave da mensagem (ID do produto); nula nos eventos agrupados de varios produtos';
@@ -0,0 +1,14 @@
+-- Eventos do outbox que nunca poderao ser publicados (payload invalido ou que o serializer recusa). Sao movidos
+-- para ca pelo relay para nao travar os eventos seguintes; falhas do broker nao chegam aqui, sao reenviadas
+CREATE TABLE IF NOT EXISTS tb_produto_outbox_rejeitado (
+    id BIGINT PRIMARY KEY,
+    topico VARCHAR(100) NOT NULL,
+    chave VARCHAR(100),
+    tipo_evento VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    erro TEXT NOT NULL,
+    rejeitado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE tb_produto_outbox_rejeitado IS 'Eventos retirados do outbox por erro definitivo de publicacao, para analise e reenvio manual';
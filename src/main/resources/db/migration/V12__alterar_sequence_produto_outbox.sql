@@ -0,0 +1,5 @@
+-- IDs do outbox sem pre-alocacao: cada evento pega o nextval na transacao da escrita, com a linha do produto
+-- ja bloqueada pelo UPDATE. Assim, para um mesmo produto, a ordem dos IDs e a ordem de commit e o relay
+-- (ORDER BY id) publica as versoes em sequencia. Com blocos de 50 por JVM, uma replica podia gravar a
+-- versao mais nova com um ID menor que o da anterior
+ALTER SEQUENCE tb_produto_outbox_id_seq INCREMENT BY 1;
@@ -0,0 +1,82 @@
+-- Estatisticas por categoria agrupadas pela chave normalizada da V9, o mesmo criterio das buscas por categoria:
+-- 'ELETRÔNICOS' e 'Eletrônicos' deixam de ser contadas como duas categorias. Produtos sem categoria ficam em ''
+LOCK TABLE tb_produto IN SHARE ROW EXCLUSIVE MODE;
+
+ALTER TABLE tb_produto_estatistica RENAME COLUMN categoria TO categoria_chave;
+ALTER TABLE tb_produto_estatistica_delta RENAME COLUMN categoria TO categoria_chave;
+
+-- Menor e maior preco de cada chave nas pontas do primeiro indice; o nome exibido (a menor grafia da categoria
+-- entre os produtos da chave) na ponta do segundo
+CREATE INDEX IF NOT EXISTS idx_produto_categoria_chave_preco ON tb_produto (COALESCE(categoria_chave, ''), preco);
+CREATE INDEX IF NOT EXISTS idx_produto_categoria_chave_nome ON tb_produto (COALESCE(categoria_chave, ''), categoria);
+
+CREATE OR REPLACE FUNCTION fn_produto_estatistica() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO tb_produto_estatistica_delta (categoria_chave, total, ativos, soma_preco)
+        SELECT COALESCE(categoria_chave, ''), count(*), count(*) FILTER (WHERE ativo), sum(preco)
+        FROM novas GROUP BY 1;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO tb_produto_estatistica_delta (categoria_chave, total, ativos, soma_preco)
+        SELECT COALESCE(categoria_chave, ''), -count(*), -count(*) FILTER (WHERE ativo), -sum(preco)
+        FROM antigas GROUP BY 1;
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- So as linhas em que a chave da categoria, ativo ou preco mudaram: a versao antiga sai, a nova entra.
+        -- Mudar so a grafia da categoria nao altera as estatisticas
+        INSERT INTO tb_produto_estatistica_delta (categoria_chave, total, ativos, soma_preco)
+        SELECT l.categoria_chave, sum(l.sinal), COALESCE(sum(l.sinal) FILTER (WHERE l.ativo), 0), sum(l.sinal * l.preco)
+        FROM (
+            SELECT COALESCE(n.categoria_chave, '') AS categoria_chave, n.ativo, n.preco, 1 AS sinal
+            FROM novas n JOIN antigas a ON a.id = n.id
+            WHERE (n.categoria_chave, n.ativo, n.preco) IS DISTINCT FROM (a.categoria_chave, a.ativo, a.preco)
+            UNION ALL
+            SELECT COALESCE(a.categoria_chave, ''), a.ativo, a.preco, -1
+            FROM antigas a JOIN novas n ON n.id = a.id
+            WHERE (n.categoria_chave, n.ativo, n.preco) IS DISTINCT FROM (a.categoria_chave, a.ativo, a.preco)
+        ) l
+        GROUP BY l.categoria_chave;
+    ELSE
+        DELETE FROM tb_produto_estatistica_delta;
+        DELETE FROM tb_produto_estatistica;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION fn_produto_estatistica_consolidar() RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    consolidadas INTEGER;
+BEGIN
+    WITH movidas AS (
+        DELETE FROM tb_produto_estatistica_delta RETURNING categoria_chave, total, ativos, soma_preco
+    ), agregadas AS (
+        SELECT categoria_chave, sum(total) AS total, sum(ativos) AS ativos, sum(soma_preco) AS soma_preco, count(*) AS variacoes
+        FROM movidas GROUP BY categoria_chave
+    ), aplicadas AS (
+        INSERT INTO tb_produto_estatistica AS e (categoria_chave, total, ativos, soma_preco)
+        SELECT categoria_chave, total, ativos, soma_preco FROM agregadas ORDER BY categoria_chave
+        ON CONFLICT (categoria_chave) DO UPDATE SET
+            total = e.total + EXCLUDED.total,
+            ativos = e.ativos + EXCLUDED.ativos,
+            soma_preco = e.soma_preco + EXCLUDED.soma_preco
+    )
+    SELECT COALESCE(sum(variacoes), 0) INTO consolidadas FROM agregadas;
+
+    DELETE FROM tb_produto_estatistica WHERE total = 0;
+    RETURN consolidadas;
+END;
+$$;
+
+-- Recarga com a tabela ainda travada para escrita, descartando as variacoes gravadas por categoria
+DELETE FROM tb_produto_estatistica_delta;
+DELETE FROM tb_produto_estatistica;
+INSERT INTO tb_produto_estatistica (categoria_chave, total, ativos, soma_preco)
+SELECT COALESCE(categoria_chave, ''), count(*), count(*) FILTER (WHERE ativo), sum(preco)
+FROM tb_produto
+GROUP BY 1;
+
+ANALYZE tb_produto;
+
+COMMENT ON COLUMN tb_produto_estatistica.categoria_chave IS 'Chave normalizada da categoria (tb_produto.categoria_chave), vazia para produtos sem categoria';
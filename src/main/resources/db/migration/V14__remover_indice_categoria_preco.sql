@@ -0,0 +1,3 @@
+-- Substituido por idx_produto_categoria_chave_preco (V13): estatisticas e distribuicao de precos agrupam pela chave
+-- normalizada da categoria
+DROP INDEX IF EXISTS idx_produto_categoria_preco;
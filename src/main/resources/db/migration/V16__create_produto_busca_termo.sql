@@ -0,0 +1,82 @@
+-- Indice invertido da busca textual com o peso de cada lexema em cada produto. O GIN em busca devolve as
+-- ocorrencias sem ordem, e ranquear todas custa proporcional ao numero de ocorrencias; aqui os produtos de maior
+-- peso de um lexema saem das primeiras entradas do indice, com custo limitado
+CREATE TABLE IF NOT EXISTS tb_produto_busca_termo (
+    lexema TEXT NOT NULL,
+    peso REAL NOT NULL,
+    produto_id BIGINT NOT NULL
+);
+
+COMMENT ON TABLE tb_produto_busca_termo IS 'Lexemas de tb_produto.busca com o peso de cada um no produto, mantidos por trigger';
+
+-- Soma das posicoes do lexema com os pesos padrao do ts_rank: nome e SKU (A) 1.0, categoria (B) 0.4,
+-- descricao (C) 0.2, D 0.1. Um lexema sem posicoes conta como uma ocorrencia D
+CREATE OR REPLACE FUNCTION fn_peso_lexema(pesos TEXT[]) RETURNS REAL
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT CAST(COALESCE(sum(CASE p WHEN 'A' THEN 1.0 WHEN 'B' THEN 0.4 WHEN 'C' THEN 0.2 ELSE 0.1 END), 0.1) AS REAL)
+    FROM unnest(pesos) p
+$$;
+
+CREATE OR REPLACE FUNCTION fn_produto_busca_termo() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO tb_produto_busca_termo (lexema, peso, produto_id)
+        SELECT t.lexeme, fn_peso_lexema(t.weights), n.id
+        FROM novas n CROSS JOIN LATERAL unnest(n.busca) t;
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM tb_produto_busca_termo b
+        USING antigas a CROSS JOIN LATERAL unnest(a.busca) t
+        WHERE b.lexema = t.lexeme AND b.peso = fn_peso_lexema(t.weights) AND b.produto_id = a.id;
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- So as linhas em que o documento de busca mudou, e dentro delas so os lexemas que entraram, sairam ou
+        -- mudaram de peso. Atualizar preco, estoque ou ativo nao toca no indice
+        WITH variacoes AS (
+            SELECT l.lexema, l.peso, l.produto_id, sum(l.sinal) AS sinal
+            FROM (
+                SELECT t.lexeme AS lexema, fn_peso_lexema(t.weights) AS peso, n.id AS produto_id, 1 AS sinal
+                FROM novas n JOIN antigas a ON a.id = n.id CROSS JOIN LATERAL unnest(n.busca) t
+                WHERE n.busca IS DISTINCT FROM a.busca
+                UNION ALL
+                SELECT t.lexeme, fn_peso_lexema(t.weights), a.id, -1
+                FROM antigas a JOIN novas n ON n.id = a.id CROSS JOIN LATERAL unnest(a.busca) t
+                WHERE n.busca IS DISTINCT FROM a.busca
+            ) l
+            GROUP BY l.lexema, l.peso, l.produto_id
+            HAVING sum(l.sinal) <> 0
+        ), removidas AS (
+            DELETE FROM tb_produto_busca_termo b
+            USING variacoes v
+            WHERE v.sinal < 0 AND b.lexema = v.lexema AND b.peso = v.peso AND b.produto_id = v.produto_id
+        )
+        INSERT INTO tb_produto_busca_termo (lexema, peso, produto_id)
+        SELECT lexema, peso, produto_id FROM variacoes WHERE sinal > 0;
+    ELSE
+        TRUNCATE tb_produto_busca_termo;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- Triggers e carga inicial com a tabela travada para escrita, para que nenhuma alteracao fique de fora
+LOCK TABLE tb_produto IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE OR REPLACE TRIGGER trg_produto_busca_termo_insert AFTER INSERT ON tb_produto
+    REFERENCING NEW TABLE AS novas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_busca_termo();
+CREATE OR REPLACE TRIGGER trg_produto_busca_termo_update AFTER UPDATE ON tb_produto
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_busca_termo();
+CREATE OR REPLACE TRIGGER trg_produto_busca_termo_delete AFTER DELETE ON tb_produto
+    REFERENCING OLD TABLE AS antigas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_busca_termo();
+CREATE OR REPLACE TRIGGER trg_produto_busca_termo_truncate AFTER TRUNCATE ON tb_produto
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_busca_termo();
+
+-- Carga antes do indice: inserir as linhas e ordenar uma vez sai bem mais barato que manter o indice linha a linha
+TRUNCATE tb_produto_busca_termo;
+INSERT INTO tb_produto_busca_termo (lexema, peso, produto_id)
+SELECT t.lexeme, fn_peso_lexema(t.weights), p.id
+FROM tb_produto p CROSS JOIN LATERAL unnest(p.busca) t;
+
+-- Percorrido em ordem de peso dentro do lexema; a mesma chave localiza as linhas removidas pelos triggers
+CREATE UNIQUE INDEX IF NOT EXISTS idx_produto_busca_termo ON tb_produto_busca_termo (lexema, peso DESC, produto_id);
+
+ANALYZE tb_produto_busca_termo;
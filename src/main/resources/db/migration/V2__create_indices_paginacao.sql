@@ -0,0 +1,7 @@
+-- Indices compostos para paginacao por keyset: (chave de ordenacao, id)
+CREATE INDEX IF NOT EXISTS idx_produto_preco_id ON tb_produto(preco, id);
+CREATE INDEX IF NOT EXISTS idx_produto_nome_id ON tb_produto(nome, id);
+
+-- Os indices simples passam a ser prefixo dos compostos
+DROP INDEX IF EXISTS idx_produto_preco;
+DROP INDEX IF EXISTS idx_produto_nome;
@@ -0,0 +1,2 @@
+-- Alocacao de IDs em blocos de 50 (otimizador pooled do Hibernate), permitindo INSERTs em batch
+ALTER SEQUENCE tb_produto_id_seq INCREMENT BY 50;
@@ -0,0 +1,14 @@
+CREATE SEQUENCE IF NOT EXISTS tb_produto_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tb_produto_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('tb_produto_outbox_id_seq'),
+    topico VARCHAR(100) NOT NULL,
+    tipo_evento VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER SEQUENCE tb_produto_outbox_id_seq OWNED BY tb_produto_outbox.id;
+
+COMMENT ON TABLE tb_produto_outbox IS 'Eventos de produto gravados na mesma transacao da escrita, pendentes de publicacao no Kafka';
+COMMENT ON COLUMN tb_produto_outbox.payload IS 'Evento serializado em JSON, publicado como esta';
@@ -0,0 +1,29 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Configuracao de busca em portugues que ignora acentos ("eletronico" encontra "Eletrônico")
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portugues_sem_acento') THEN
+        CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+-- Documento de busca mantido pelo proprio banco; pesos: nome e SKU (A), categoria (B), descricao (C)
+ALTER TABLE tb_produto ADD COLUMN IF NOT EXISTS busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('portugues_sem_acento', coalesce(nome, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(sku, '')), 'A') ||
+    setweight(to_tsvector('portugues_sem_acento', coalesce(categoria, '')), 'B') ||
+    setweight(to_tsvector('portugues_sem_acento', coalesce(descricao, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_produto_busca ON tb_produto USING GIN (busca);
+
+-- Prefixo de SKU (LIKE 'abc%'). Um indice de trigramas degrada quando todos os SKUs compartilham o
+-- mesmo prefixo ("SKU-000..."); o pg_trgm fica apenas no calculo de similarity() da relevancia
+CREATE INDEX IF NOT EXISTS idx_produto_sku_prefixo ON tb_produto (lower(sku) text_pattern_ops);
+
+COMMENT ON COLUMN tb_produto.busca IS 'Documento de busca textual gerado a partir de nome, SKU, categoria e descricao';
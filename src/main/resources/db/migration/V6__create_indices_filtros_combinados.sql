@@ -0,0 +1,10 @@
+-- Indices parciais para a listagem com filtros combinados sobre produtos ativos (caso da vitrine).
+-- A categoria e comparada com upper() dos dois lados, por isso o indice e sobre a expressao
+CREATE INDEX IF NOT EXISTS idx_produto_ativo_categoria_preco ON tb_produto (upper(categoria), preco, id) WHERE ativo;
+CREATE INDEX IF NOT EXISTS idx_produto_ativo_categoria_id ON tb_produto (upper(categoria), id) WHERE ativo;
+CREATE INDEX IF NOT EXISTS idx_produto_ativo_preco_id ON tb_produto (preco, id) WHERE ativo;
+
+-- categoria sem upper() nunca atende a comparacao sem maiusculas/minusculas, e ativo sozinho tem
+-- seletividade baixa demais; os indices parciais acima cobrem esses filtros
+DROP INDEX IF EXISTS idx_produto_categoria;
+DROP INDEX IF EXISTS idx_produto_ativo;
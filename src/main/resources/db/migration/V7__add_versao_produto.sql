@@ -0,0 +1,4 @@
+-- Default constante: no PostgreSQL 11+ a coluna e adicionada sem reescrever a tabela
+ALTER TABLE tb_produto ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN tb_produto.versao IS 'Versao para concorrencia otimista, incrementada a cada escrita e exposta como ETag';
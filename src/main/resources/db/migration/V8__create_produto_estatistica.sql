@@ -0,0 +1,102 @@
+-- Estatisticas do catalogo por categoria, para o /stats nao contar a tabela inteira a cada chamada.
+-- Cada comando sobre tb_produto grava sua variacao em tb_produto_estatistica_delta (so INSERT, sem
+-- disputar linhas entre transacoes); a aplicacao consolida as variacoes em tb_produto_estatistica
+-- periodicamente, e a leitura soma as duas. Produtos sem categoria ficam em ''
+CREATE TABLE IF NOT EXISTS tb_produto_estatistica (
+    categoria VARCHAR(100) PRIMARY KEY,
+    total BIGINT NOT NULL,
+    ativos BIGINT NOT NULL,
+    soma_preco NUMERIC(20,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_produto_estatistica_delta (
+    categoria VARCHAR(100) NOT NULL,
+    total BIGINT NOT NULL,
+    ativos BIGINT NOT NULL,
+    soma_preco NUMERIC(20,2) NOT NULL
+);
+
+COMMENT ON TABLE tb_produto_estatistica IS 'Contagens e soma de precos por categoria, consolidadas a partir de tb_produto_estatistica_delta';
+COMMENT ON TABLE tb_produto_estatistica_delta IS 'Variacoes das estatisticas gravadas por trigger na mesma transacao de cada escrita em tb_produto';
+
+-- Menor e maior preco de cada categoria sao lidos nas pontas deste indice, sem manutencao por trigger
+CREATE INDEX IF NOT EXISTS idx_produto_categoria_preco ON tb_produto (COALESCE(categoria, ''), preco);
+
+CREATE OR REPLACE FUNCTION fn_produto_estatistica() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO tb_produto_estatistica_delta (categoria, total, ativos, soma_preco)
+        SELECT COALESCE(categoria, ''), count(*), count(*) FILTER (WHERE ativo), sum(preco)
+        FROM novas GROUP BY 1;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO tb_produto_estatistica_delta (categoria, total, ativos, soma_preco)
+        SELECT COALESCE(categoria, ''), -count(*), -count(*) FILTER (WHERE ativo), -sum(preco)
+        FROM antigas GROUP BY 1;
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- So as linhas em que categoria, ativo ou preco mudaram: a versao antiga sai, a nova entra
+        INSERT INTO tb_produto_estatistica_delta (categoria, total, ativos, soma_preco)
+        SELECT l.categoria, sum(l.sinal), COALESCE(sum(l.sinal) FILTER (WHERE l.ativo), 0), sum(l.sinal * l.preco)
+        FROM (
+            SELECT COALESCE(n.categoria, '') AS categoria, n.ativo, n.preco, 1 AS sinal
+            FROM novas n JOIN antigas a ON a.id = n.id
+            WHERE (n.categoria, n.ativo, n.preco) IS DISTINCT FROM (a.categoria, a.ativo, a.preco)
+            UNION ALL
+            SELECT COALESCE(a.categoria, ''), a.ativo, a.preco, -1
+            FROM antigas a JOIN novas n ON n.id = a.id
+            WHERE (n.categoria, n.ativo, n.preco) IS DISTINCT FROM (a.categoria, a.ativo, a.preco)
+        ) l
+        GROUP BY l.categoria;
+    ELSE
+        DELETE FROM tb_produto_estatistica_delta;
+        DELETE FROM tb_produto_estatistica;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- Move as variacoes pendentes para tb_produto_estatistica em um unico comando, travando as categorias
+-- sempre na mesma ordem. Devolve quantas variacoes foram consolidadas
+CREATE OR REPLACE FUNCTION fn_produto_estatistica_consolidar() RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    consolidadas INTEGER;
+BEGIN
+    WITH movidas AS (
+        DELETE FROM tb_produto_estatistica_delta RETURNING categoria, total, ativos, soma_preco
+    ), agregadas AS (
+        SELECT categoria, sum(total) AS total, sum(ativos) AS ativos, sum(soma_preco) AS soma_preco, count(*) AS variacoes
+        FROM movidas GROUP BY categoria
+    ), aplicadas AS (
+        INSERT INTO tb_produto_estatistica AS e (categoria, total, ativos, soma_preco)
+        SELECT categoria, total, ativos, soma_preco FROM agregadas ORDER BY categoria
+        ON CONFLICT (categoria) DO UPDATE SET
+            total = e.total + EXCLUDED.total,
+            ativos = e.ativos + EXCLUDED.ativos,
+            soma_preco = e.soma_preco + EXCLUDED.soma_preco
+    )
+    SELECT COALESCE(sum(variacoes), 0) INTO consolidadas FROM agregadas;
+
+    DELETE FROM tb_produto_estatistica WHERE total = 0;
+    RETURN consolidadas;
+END;
+$$;
+
+-- Triggers e carga inicial com a tabela travada para escrita, para que nenhuma alteracao fique de fora
+LOCK TABLE tb_produto IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE OR REPLACE TRIGGER trg_produto_estatistica_insert AFTER INSERT ON tb_produto
+    REFERENCING NEW TABLE AS novas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_estatistica();
+CREATE OR REPLACE TRIGGER trg_produto_estatistica_update AFTER UPDATE ON tb_produto
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_estatistica();
+CREATE OR REPLACE TRIGGER trg_produto_estatistica_delete AFTER DELETE ON tb_produto
+    REFERENCING OLD TABLE AS antigas FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_estatistica();
+CREATE OR REPLACE TRIGGER trg_produto_estatistica_truncate AFTER TRUNCATE ON tb_produto
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_produto_estatistica();
+
+DELETE FROM tb_produto_estatistica_delta;
+DELETE FROM tb_produto_estatistica;
+INSERT INTO tb_produto_estatistica (categoria, total, ativos, soma_preco)
+SELECT COALESCE(categoria, ''), count(*), count(*) FILTER (WHERE ativo), sum(preco)
+FROM tb_produto
+GROUP BY 1;
@@ -0,0 +1,21 @@
+-- Chave de comparacao da categoria (minusculas, sem acentos), gravada pela aplicacao junto com o produto.
+-- Com collation C, upper()/lower() nao alteram letras acentuadas: upper(categoria) = upper(:categoria)
+-- nao casava 'Eletrônicos' com 'ELETRÔNICOS', e 'eletronicos' nunca casava
+ALTER TABLE tb_produto ADD COLUMN IF NOT EXISTS categoria_chave VARCHAR(100);
+
+-- Mesmo resultado de NormalizadorTexto para as categorias existentes; unaccent vem antes de lower()
+-- porque, com collation C, lower() so converte letras ASCII
+UPDATE tb_produto SET categoria_chave = lower(unaccent(btrim(categoria))) WHERE categoria IS NOT NULL;
+
+-- Substituem os indices de upper(categoria) da V6 na listagem de ativos por categoria
+CREATE INDEX IF NOT EXISTS idx_produto_ativo_categoria_chave_id ON tb_produto (categoria_chave, id) WHERE ativo;
+CREATE INDEX IF NOT EXISTS idx_produto_ativo_categoria_chave_preco ON tb_produto (categoria_chave, preco, id) WHERE ativo;
+
+DROP INDEX IF EXISTS idx_produto_ativo_categoria_id;
+DROP INDEX IF EXISTS idx_produto_ativo_categoria_preco;
+
+-- Sem estatisticas da coluna nova o planner estima poucas linhas por categoria e troca a varredura
+-- ordenada do indice por bitmap + sort
+ANALYZE tb_produto;
+
+COMMENT ON COLUMN tb_produto.categoria_chave IS 'Categoria em minusculas e sem acentos, usada nas buscas por categoria';
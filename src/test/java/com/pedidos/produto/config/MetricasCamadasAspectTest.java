@@ -0,0 +1,96 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricasCamadasAspect - Testes Unitários")
+class MetricasCamadasAspectTest {
+
+    @Mock
+    private ProdutoGateway produtoGateway;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProdutoGateway gatewayMedido;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(produtoGateway);
+        fabrica.addAspect(new MetricasCamadasAspect(meterRegistry));
+        gatewayMedido = fabrica.getProxy();
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo e a quantidade de itens das consultas de lista do gateway")
+    void deveMedirTempoEItensDasConsultasDeLista() {
+        // Arrange
+        when(produtoGateway.buscarPorIds(Set.of(1L, 2L))).thenReturn(List.of(new Produto(), new Produto()));
+
+        // Act
+        gatewayMedido.buscarPorIds(Set.of(1L, 2L));
+
+        // Assert
+        Timer tempo = meterRegistry.get(MetricasCamadasAspect.TEMPO_GATEWAY)
+                .tags("metodo", "buscarPorIds", "excecao", "none")
+                .timer();
+        assertThat(tempo.count()).isEqualTo(1);
+
+        DistributionSummary itens = meterRegistry.get(MetricasCamadasAspect.ITENS_GATEWAY)
+                .tag("metodo", "buscarPorIds")
+                .summary();
+        assertThat(itens.count()).isEqualTo(1);
+        assertThat(itens.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve registrar quantidade de itens para retornos que não são listas")
+    void naoDeveRegistrarItensParaRetornosQueNaoSaoListas() {
+        // Arrange
+        when(produtoGateway.contarProdutos()).thenReturn(10L);
+
+        // Act
+        gatewayMedido.contarProdutos();
+
+        // Assert
+        assertThat(meterRegistry.get(MetricasCamadasAspect.TEMPO_GATEWAY).tag("metodo", "contarProdutos").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find(MetricasCamadasAspect.ITENS_GATEWAY).summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve contar erros por tipo de exceção e marcar a exceção no tempo da operação")
+    void deveContarErrosPorTipoDeExcecao() {
+        // Arrange
+        when(produtoGateway.buscarTodos()).thenThrow(new ErroAoAcessarRepositorioException("falha"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gatewayMedido.buscarTodos())
+                .isInstanceOf(ErroAoAcessarRepositorioException.class);
+
+        assertThat(meterRegistry.get(MetricasCamadasAspect.ERROS)
+                .tags("camada", "gateway", "excecao", "ErroAoAcessarRepositorioException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MetricasCamadasAspect.TEMPO_GATEWAY)
+                .tags("metodo", "buscarTodos", "excecao", "ErroAoAcessarRepositorioException")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pedidos.produto.config;
+
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
+import com.pedidos.produto.exception.ServicoSobrecarregadoException;
+import com.pedidos.produto.gateway.jpa.ConexaoRecusadaException;
+import com.pedidos.produto.usecase.BuscarProdutoUsecase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ServicoSobrecarregadoAspect - Testes Unitários")
+class ServicoSobrecarregadoAspectTest {
+
+    @Mock
+    private BuscarProdutoUsecase buscarProdutoUsecase;
+
+    private BuscarProdutoUsecase usecaseTraduzido;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(buscarProdutoUsecase);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new ServicoSobrecarregadoAspect());
+        usecaseTraduzido = fabrica.getProxy();
+    }
+
+    @Test
+    @DisplayName("Deve traduzir a recusa do bulkhead, mesmo embrulhada, em ServicoSobrecarregadoException")
+    void deveTraduzirRecusaDoBulkhead() {
+        // Arrange
+        ConexaoRecusadaException recusa = new ConexaoRecusadaException("Nenhuma conexão disponível em 2000 ms");
+        when(buscarProdutoUsecase.buscarPorId(1L)).thenThrow(new ErroAoAcessarRepositorioException("Erro ao buscar produto",
+                new CannotCreateTransactionException("Could not open JPA EntityManager", recusa)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> usecaseTraduzido.buscarPorId(1L))
+                .isInstanceOf(ServicoSobrecarregadoException.class)
+                .hasMessageContaining("Nenhuma conexão disponível")
+                .hasRootCause(recusa);
+    }
+
+    @Test
+    @DisplayName("Deve repassar sem alteração as demais exceções")
+    void deveRepassarDemaisExcecoes() {
+        // Arrange
+        ProdutoNaoEncontradoException erro = new ProdutoNaoEncontradoException("Produto não encontrado com ID: 1");
+        when(buscarProdutoUsecase.buscarPorId(1L)).thenThrow(erro);
+
+        // Act & Assert
+        assertThatThrownBy(() -> usecaseTraduzido.buscarPorId(1L)).isSameAs(erro);
+    }
+}
@@ -0,0 +1,104 @@
+package com.pedidos.produto.controller;
+
+import com.pedidos.produto.domain.VersaoProduto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ETagProduto - Testes Unitários")
+class ETagProdutoTest {
+
+    private static final LocalDateTime ATUALIZADO_EM = LocalDateTime.of(2024, 3, 10, 14, 30, 15);
+    private static final VersaoProduto VERSAO = new VersaoProduto(3L, ATUALIZADO_EM);
+
+    private static String httpDate(LocalDateTime data) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.of(data, ZoneId.systemDefault()));
+    }
+
+    @Test
+    @DisplayName("Deve considerar não modificado quando o If-None-Match é o ETag atual")
+    void deveCasarETagAtual() {
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"3\"", null)).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"2\"", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve considerar não modificado quando o If-None-Match é *")
+    void deveCasarAsterisco() {
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "*", null)).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, " * ", null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve procurar o ETag atual em uma lista de ETags")
+    void deveCasarETagEmLista() {
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"1\", \"2\",\"3\"", null)).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"1\", \"2\"", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar ETag fraco na comparação do If-None-Match")
+    void deveCasarETagFraco() {
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "W/\"3\"", null)).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"1\", W/\"3\"", null)).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, "W/\"4\"", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve casar If-None-Match malformado")
+    void naoDeveCasarIfNoneMatchMalformado() {
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "3", null)).isFalse();
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"3", null)).isFalse();
+        assertThat(ETagProduto.naoModificado(VERSAO, "W/3", null)).isFalse();
+        assertThat(ETagProduto.naoModificado(VERSAO, "", null)).isFalse();
+        assertThat(ETagProduto.naoModificado(VERSAO, ",,", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o If-Modified-Since quando há If-None-Match")
+    void deveIgnorarIfModifiedSinceComIfNoneMatch() {
+        // Arrange
+        String depois = httpDate(ATUALIZADO_EM.plusDays(1));
+
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(VERSAO, "\"2\"", depois)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve comparar o If-Modified-Since com precisão de segundos")
+    void deveCompararIfModifiedSince() {
+        // Arrange
+        VersaoProduto comMilissegundos = new VersaoProduto(3L, ATUALIZADO_EM.plusNanos(500_000_000));
+
+        // Act & Assert
+        assertThat(ETagProduto.naoModificado(comMilissegundos, null, httpDate(ATUALIZADO_EM))).isTrue();
+        assertThat(ETagProduto.naoModificado(VERSAO, null, httpDate(ATUALIZADO_EM.minusSeconds(1)))).isFalse();
+        assertThat(ETagProduto.naoModificado(VERSAO, null, "ontem")).isFalse();
+        assertThat(ETagProduto.naoModificado(new VersaoProduto(3L, null), null, httpDate(ATUALIZADO_EM))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve extrair a versão esperada do If-Match")
+    void deveExtrairVersaoEsperada() {
+        // Act & Assert
+        assertThat(ETagProduto.versaoEsperada("\"3\"")).isEqualTo(3L);
+        assertThat(ETagProduto.versaoEsperada("W/\"3\"")).isEqualTo(3L);
+        assertThat(ETagProduto.versaoEsperada("*")).isNull();
+        assertThat(ETagProduto.versaoEsperada(null)).isNull();
+        assertThatThrownBy(() -> ETagProduto.versaoEsperada("\"1\", \"2\"")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ETagProduto.versaoEsperada("3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ETagProduto.versaoEsperada("\"abc\"")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
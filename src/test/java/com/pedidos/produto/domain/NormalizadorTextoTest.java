@@ -0,0 +1,47 @@
+package com.pedidos.produto.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NormalizadorTexto - Testes Unitários")
+class NormalizadorTextoTest {
+
+    @Test
+    @DisplayName("Deve remover acentos e converter para minúsculas")
+    void deveRemoverAcentosEConverterParaMinusculas() {
+        // Act & Assert
+        assertThat(NormalizadorTexto.normalizar("ELETRÔNICOS")).isEqualTo("eletronicos");
+        assertThat(NormalizadorTexto.normalizar("Eletrônicos")).isEqualTo("eletronicos");
+        assertThat(NormalizadorTexto.normalizar("eletronicos")).isEqualTo("eletronicos");
+    }
+
+    @Test
+    @DisplayName("Deve remover diacríticos de outros idiomas, inclusive em maiúsculas fora do ASCII")
+    void deveRemoverDiacriticosDeOutrosIdiomas() {
+        // Act & Assert
+        assertThat(NormalizadorTexto.normalizar("CRÈME BRÛLÉE")).isEqualTo("creme brulee");
+        assertThat(NormalizadorTexto.normalizar("ŞIŞLI")).isEqualTo("sisli");
+        assertThat(NormalizadorTexto.normalizar("ÇAĞ")).isEqualTo("cag");
+        assertThat(NormalizadorTexto.normalizar("Ålborg")).isEqualTo("alborg");
+    }
+
+    @Test
+    @DisplayName("Deve manter letras sem decomposição, que o unaccent do banco trocaria por ASCII")
+    void deveManterLetrasSemDecomposicao() {
+        // Act & Assert: a V15 regrava categoria_chave com este resultado, não com o do unaccent
+        assertThat(NormalizadorTexto.normalizar("Straße")).isEqualTo("straße");
+        assertThat(NormalizadorTexto.normalizar("ÆRØ")).isEqualTo("ærø");
+        assertThat(NormalizadorTexto.normalizar("Œuvre")).isEqualTo("œuvre");
+        assertThat(NormalizadorTexto.normalizar("Łódź")).isEqualTo("łodz");
+    }
+
+    @Test
+    @DisplayName("Deve gerar a chave da categoria sem espaços nas pontas")
+    void deveGerarChaveDaCategoria() {
+        // Act & Assert
+        assertThat(Produto.chaveCategoria("  Pâtisserie Française\t")).isEqualTo("patisserie francaise");
+        assertThat(Produto.chaveCategoria(null)).isNull();
+    }
+}
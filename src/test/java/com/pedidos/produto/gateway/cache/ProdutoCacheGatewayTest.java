@@ -0,0 +1,232 @@
+package com.pedidos.produto.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.VersaoProduto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProdutoCacheGateway - Testes Unitários")
+class ProdutoCacheGatewayTest {
+
+    @Mock
+    private ProdutoGateway delegate;
+
+    private ProdutoCacheGateway produtoCacheGateway;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produtoCacheGateway = new ProdutoCacheGateway(delegate,
+                Caffeine.newBuilder().maximumSize(100).build(),
+                Caffeine.newBuilder().maximumSize(100).build(),
+                Caffeine.newBuilder().maximumSize(1).build(),
+                Caffeine.newBuilder().maximumSize(100).build());
+
+        produto = Produto.builder()
+                .id(1L)
+                .nome("Produto 1")
+                .sku("PROD-001")
+                .preco(new BigDecimal("10.00"))
+                .ativo(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o delegate apenas na primeira busca por ID e por SKU")
+    void deveConsultarDelegateApenasNaPrimeiraBusca() {
+        // Arrange
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto));
+
+        // Act
+        produtoCacheGateway.buscarPorId(1L);
+        Optional<Produto> porId = produtoCacheGateway.buscarPorId(1L);
+        Optional<Produto> porSku = produtoCacheGateway.buscarPorSku("PROD-001");
+
+        // Assert
+        assertThat(porId).contains(produto);
+        assertThat(porSku).contains(produto);
+
+        verify(delegate, times(1)).buscarPorId(1L);
+        verify(delegate, times(0)).buscarPorSku("PROD-001");
+    }
+
+    @Test
+    @DisplayName("Deve devolver cópias para que alterações não vazem para o cache")
+    void deveDevolverCopiasDoCache() {
+        // Arrange
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto));
+        produtoCacheGateway.buscarPorId(1L);
+
+        // Act
+        Produto alterado = produtoCacheGateway.buscarPorId(1L).orElseThrow();
+        alterado.atualizarPreco(new BigDecimal("99.00"));
+
+        // Assert
+        assertThat(produtoCacheGateway.buscarPorId(1L).orElseThrow().getPreco())
+                .isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache ao salvar")
+    void deveInvalidarCacheAoSalvar() {
+        // Arrange
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto));
+        when(delegate.salvar(produto)).thenReturn(produto);
+        produtoCacheGateway.buscarPorId(1L);
+
+        // Act
+        produtoCacheGateway.salvar(produto);
+        produtoCacheGateway.buscarPorId(1L);
+
+        // Assert
+        verify(delegate, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache ao receber evento de outra réplica")
+    void deveInvalidarCacheAoReceberEvento() {
+        // Arrange
+        when(delegate.buscarPorSku("PROD-001")).thenReturn(Optional.of(produto));
+        produtoCacheGateway.buscarPorSku("PROD-001");
+        ProdutoEventMessage evento = ProdutoEventMessage.builder()
+                .tipoEvento("PRODUTO_PRECO_ATUALIZADO")
+                .produtoId(1L)
+                .sku("PROD-001")
+                .build();
+
+        // Act
+        produtoCacheGateway.aoReceber(evento);
+        produtoCacheGateway.buscarPorSku("PROD-001");
+
+        // Assert
+        verify(delegate, times(2)).buscarPorSku("PROD-001");
+    }
+
+    @Test
+    @DisplayName("Deve manter em cache a versão mais recente quando uma leitura antiga chega depois")
+    void deveManterVersaoMaisRecenteNoCache() {
+        // Arrange
+        Produto versaoAtual = produto.toBuilder().versao(2L).build();
+        Produto versaoAntiga = produto.toBuilder().versao(1L).build();
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(versaoAtual));
+        when(delegate.buscarPorSku("PROD-001")).thenReturn(Optional.of(versaoAntiga));
+        produtoCacheGateway.buscarPorId(1L);
+        produtoCacheGateway.aoReceber(ProdutoEventMessage.builder().sku("PROD-001").build());
+
+        // Act
+        produtoCacheGateway.buscarPorSku("PROD-001");
+        Produto emCache = produtoCacheGateway.buscarPorId(1L).orElseThrow();
+
+        // Assert
+        assertThat(emCache.getVersao()).isEqualTo(2L);
+        verify(delegate, times(1)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar uma leitura anterior ao evento recebido enquanto ela consultava o banco")
+    void naoDeveGuardarLeituraAnteriorAoEvento() {
+        // Arrange: a réplica lê a versão 1; antes da leitura terminar, a escrita da versão 2 em outra réplica
+        // é confirmada e o evento dela invalida a chave, ainda vazia
+        Produto versaoAntiga = produto.toBuilder().versao(1L).build();
+        Produto versaoAtual = produto.toBuilder().versao(2L).build();
+        when(delegate.buscarPorId(1L))
+                .thenAnswer(invocation -> {
+                    produtoCacheGateway.aoReceber(ProdutoEventMessage.builder()
+                            .tipoEvento("PRODUTO_ATUALIZADO").produtoId(1L).sku("PROD-001").versao(2L).build());
+                    return Optional.of(versaoAntiga);
+                });
+        when(delegate.buscarPorSku("PROD-001")).thenReturn(Optional.of(versaoAtual));
+
+        // Act
+        Produto lidoDuranteEvento = produtoCacheGateway.buscarPorId(1L).orElseThrow();
+        Produto porSku = produtoCacheGateway.buscarPorSku("PROD-001").orElseThrow();
+        Produto porId = produtoCacheGateway.buscarPorId(1L).orElseThrow();
+
+        // Assert: a versão 1 não ficou em cache, nem por ID nem por SKU; a 2, lida depois, fica
+        assertThat(lidoDuranteEvento.getVersao()).isEqualTo(1L);
+        assertThat(porSku.getVersao()).isEqualTo(2L);
+        assertThat(porId.getVersao()).isEqualTo(2L);
+        verify(delegate, times(1)).buscarPorSku("PROD-001");
+        verify(delegate, times(1)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve responder a versão a partir do cache sem consultar o delegate")
+    void deveResponderVersaoAPartirDoCache() {
+        // Arrange
+        Produto comVersao = produto.toBuilder().versao(3L).updatedAt(LocalDateTime.of(2024, 1, 15, 10, 30)).build();
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(comVersao));
+        produtoCacheGateway.buscarPorId(1L);
+
+        // Act
+        Optional<VersaoProduto> porId = produtoCacheGateway.buscarVersaoPorId(1L);
+        Optional<VersaoProduto> porSku = produtoCacheGateway.buscarVersaoPorSku("PROD-001");
+
+        // Assert
+        VersaoProduto esperada = new VersaoProduto(3L, LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(porId).contains(esperada);
+        assertThat(porSku).contains(esperada);
+        verify(delegate, never()).buscarVersaoPorId(any());
+        verify(delegate, never()).buscarVersaoPorSku(any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar apenas a versão no delegate quando o produto não está em cache")
+    void deveConsultarApenasVersaoQuandoForaDoCache() {
+        // Arrange
+        VersaoProduto versao = new VersaoProduto(3L, LocalDateTime.of(2024, 1, 15, 10, 30));
+        when(delegate.buscarVersaoPorId(1L)).thenReturn(Optional.of(versao));
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto));
+
+        // Act
+        Optional<VersaoProduto> resultado = produtoCacheGateway.buscarVersaoPorId(1L);
+        produtoCacheGateway.buscarPorId(1L);
+
+        // Assert
+        assertThat(resultado).contains(versao);
+        verify(delegate, times(1)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve calcular a distribuição de preços uma vez e descartá-la ao receber evento")
+    void deveDescartarDistribuicaoDePrecosAoReceberEvento() {
+        // Arrange
+        List<DistribuicaoPrecosCategoria> distribuicao = List.of(new DistribuicaoPrecosCategoria("LIVROS", 3, 2,
+                new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("30.00"),
+                new BigDecimal("38.00"), new BigDecimal("39.80")));
+        when(delegate.buscarDistribuicaoPrecosPorCategoria()).thenReturn(distribuicao);
+
+        // Act
+        produtoCacheGateway.buscarDistribuicaoPrecosPorCategoria();
+        List<DistribuicaoPrecosCategoria> emCache = produtoCacheGateway.buscarDistribuicaoPrecosPorCategoria();
+        produtoCacheGateway.aoReceber(ProdutoEventMessage.builder()
+                .produtoId(1L).sku("PROD-001").tipoEvento("PRODUTO_PRECO_ATUALIZADO").build());
+        produtoCacheGateway.buscarDistribuicaoPrecosPorCategoria();
+
+        // Assert
+        assertThat(emCache).isEqualTo(distribuicao);
+        verify(delegate, times(2)).buscarDistribuicaoPrecosPorCategoria();
+    }
+}
@@ -0,0 +1,85 @@
+package com.pedidos.produto.gateway.jpa;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LimitadorConexoesDataSource - Testes Unitários")
+class LimitadorConexoesDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection conexao;
+
+    private LimitadorConexoesDataSource limitador;
+
+    @BeforeEach
+    void setUp() {
+        limitador = new LimitadorConexoesDataSource(pool, 1, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Deve recusar conexão quando o limite de emprestadas é atingido e o tempo de espera acaba")
+    void deveRecusarConexaoQuandoLimiteAtingido() throws SQLException {
+        // Arrange
+        when(pool.getConnection()).thenReturn(conexao);
+        limitador.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(() -> limitador.getConnection())
+                .isInstanceOf(ConexaoRecusadaException.class)
+                .hasMessageContaining("Nenhuma conexão disponível");
+        assertThat(limitador.conexoesEmprestadas()).isEqualTo(1);
+        assertThat(limitador.threadsAguardando()).isZero();
+        assertThat(limitador.rejeicoes()).isEqualTo(1);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão uma única vez ao fechar a conexão")
+    void deveDevolverPermissaoAoFecharConexao() throws SQLException {
+        // Arrange
+        when(pool.getConnection()).thenReturn(conexao);
+        Connection emprestada = limitador.getConnection();
+
+        // Act
+        emprestada.close();
+        emprestada.close();
+        Connection novamente = limitador.getConnection();
+
+        // Assert
+        assertThat(novamente).isNotNull();
+        assertThat(limitador.conexoesEmprestadas()).isEqualTo(1);
+        assertThat(limitador.rejeicoes()).isZero();
+        verify(conexao, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão quando o pool falha ao entregar a conexão")
+    void deveDevolverPermissaoQuandoPoolFalha() throws SQLException {
+        // Arrange
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool esgotado"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> limitador.getConnection()).hasMessage("pool esgotado");
+        assertThat(limitador.conexoesEmprestadas()).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.pedidos.produto.domain.Produto;
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("ProdutoEventoSerializer - Testes Unitários")
+class ProdutoEventoSerializerTest {
+
+    private static final String TOPICO = ProdutoTopicos.EVENTOS;
+
+    private final ProdutoEventoDeserializer deserializer = new ProdutoEventoDeserializer();
+
+    private Produto produto() {
+        return Produto.builder()
+                .id(42L)
+                .nome("Câmera Digital")
+                .sku("CAM-042")
+                .descricao("Descrição com acentuação")
+                .preco(new BigDecimal("1299.9"))
+                .categoria("ELETRÔNICOS")
+                .ativo(true)
+                .versao(3L)
+                .build();
+    }
+
+    private static Schema schema(String recurso) throws IOException {
+        try (InputStream entrada = ProdutoEventoSerializerTest.class.getResourceAsStream(recurso)) {
+            return new Schema.Parser().parse(entrada);
+        }
+    }
+
+    private static GenericData modeloComDecimal() {
+        GenericData modelo = new GenericData();
+        modelo.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        return modelo;
+    }
+
+    @Test
+    @DisplayName("Deve codificar em Avro e ler de volta o snapshot completo")
+    void deveCodificarELerSnapshotEmAvro() {
+        // Arrange
+        ProdutoEventMessage evento = ProdutoEventMessage.snapshot("PRODUTO_ATUALIZADO", produto());
+
+        // Act
+        byte[] dados = new ProdutoEventoSerializer(FormatoEvento.AVRO).serialize(TOPICO, evento);
+        ProdutoEventMessage lido = deserializer.deserialize(TOPICO, dados);
+
+        // Assert
+        assertThat(dados[0]).isEqualTo((byte) 0xC3);
+        assertThat(lido).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(evento);
+        assertThat(lido.getPreco()).isEqualTo(new BigDecimal("1299.90"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar Avro legível por um leitor genérico com o schema publicado")
+    void deveGerarAvroConformeSchemaPublicado() throws IOException {
+        // Arrange
+        Schema schema = schema("/avro/produto-evento-v2.avsc");
+        BinaryMessageDecoder<GenericRecord> leitorGenerico = new BinaryMessageDecoder<>(modeloComDecimal(), schema);
+        Produto outro = produto().toBuilder().id(43L).sku("CAM-043").preco(new BigDecimal("10.00")).build();
+
+        // Act
+        GenericRecord snapshot = leitorGenerico.decode(new ProdutoEventoSerializer(FormatoEvento.AVRO)
+                .serialize(TOPICO, ProdutoEventMessage.snapshot("PRODUTO_ATUALIZADO", produto())));
+        GenericRecord agrupado = leitorGenerico.decode(new ProdutoEventoSerializer(FormatoEvento.AVRO)
+                .serialize(TOPICO, ProdutoEventMessage.agrupado("PRODUTO_PRECO_ATUALIZADO", List.of(produto(), outro))));
+
+        // Assert
+        assertThat(snapshot.get("sku")).hasToString("CAM-042");
+        assertThat(snapshot.get("categoria")).hasToString("ELETRÔNICOS");
+        assertThat(snapshot.get("preco")).isEqualTo(new BigDecimal("1299.90"));
+        assertThat(snapshot.get("versao")).isEqualTo(3L);
+        assertThat(snapshot.get("precos")).isNull();
+        assertThat((List<?>) agrupado.get("precos")).hasSize(2);
+        assertThat(((GenericRecord) ((List<?>) agrupado.get("precos")).get(1)).get("preco")).isEqualTo(new BigDecimal("10.00"));
+        assertThat(((GenericRecord) ((List<?>) agrupado.get("precos")).get(1)).get("versao")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Deve ler o evento agrupado gravado com a versão anterior do schema, sem versão nos itens")
+    void deveLerEventoAgrupadoDoSchemaAnterior() throws IOException {
+        // Arrange
+        Schema v1 = schema("/avro/produto-evento-v1.avsc");
+        Schema itemV1 = v1.getField("precos").schema().getTypes().get(1).getElementType();
+        GenericRecord item = new GenericData.Record(itemV1);
+        item.put("produtoId", 42L);
+        item.put("sku", "CAM-042");
+        item.put("preco", new BigDecimal("10.00"));
+        GenericRecord registro = new GenericData.Record(v1);
+        registro.put("tipoEvento", "PRODUTO_PRECO_ATUALIZADO");
+        registro.put("timestamp", 1L);
+        registro.put("precos", List.of(item));
+        byte[] dados = new BinaryMessageEncoder<GenericRecord>(modeloComDecimal(), v1).encode(registro).array();
+
+        // Act
+        ProdutoEventMessage lido = deserializer.deserialize(TOPICO, dados);
+
+        // Assert
+        assertThat(lido.individuais())
+                .extracting(ProdutoEventMessage::getProdutoId, ProdutoEventMessage::getPreco, ProdutoEventMessage::getVersao)
+                .containsExactly(tuple(42L, new BigDecimal("10.00"), null));
+    }
+
+    @Test
+    @DisplayName("Deve codificar em Avro o evento agrupado com os preços de cada produto")
+    void deveCodificarEventoAgrupadoEmAvro() {
+        // Arrange
+        Produto outro = produto().toBuilder().id(43L).sku("CAM-043").preco(new BigDecimal("10.00")).build();
+        ProdutoEventMessage evento = ProdutoEventMessage.agrupado("PRODUTO_PRECO_ATUALIZADO", List.of(produto(), outro));
+
+        // Act
+        ProdutoEventMessage lido = deserializer.deserialize(TOPICO,
+                new ProdutoEventoSerializer(FormatoEvento.AVRO).serialize(TOPICO, evento));
+
+        // Assert
+        assertThat(lido.getProdutoId()).isNull();
+        assertThat(lido.individuais())
+                .extracting(ProdutoEventMessage::getProdutoId, ProdutoEventMessage::getSku, ProdutoEventMessage::getVersao)
+                .containsExactly(tuple(42L, "CAM-042", 3L),
+                        tuple(43L, "CAM-043", 3L));
+        assertThat(lido.getPrecos().get(1).getPreco()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Deve ler JSON e Avro no mesmo consumidor e gerar Avro menor que JSON")
+    void deveLerOsDoisFormatos() {
+        // Arrange
+        ProdutoEventMessage evento = ProdutoEventMessage.de("PRODUTO_CRIADO", produto());
+        ProdutoEventoSerializer serializerJson = new ProdutoEventoSerializer();
+        serializerJson.configure(Map.of(ProdutoEventoSerializer.CONFIG_FORMATO, "json"), false);
+        ProdutoEventoSerializer serializerAvro = new ProdutoEventoSerializer();
+        serializerAvro.configure(Map.of(ProdutoEventoSerializer.CONFIG_FORMATO, "avro"), false);
+
+        // Act
+        byte[] json = serializerJson.serialize(TOPICO, evento);
+        byte[] avro = serializerAvro.serialize(TOPICO, evento);
+
+        // Assert
+        assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("{").contains("\"sku\":\"CAM-042\"");
+        assertThat(deserializer.deserialize(TOPICO, avro)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(deserializer.deserialize(TOPICO, json));
+        assertThat(avro.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar preço com mais casas decimais do que o schema Avro permite sem afetar a mensagem seguinte")
+    void deveRejeitarPrecoForaDaEscala() {
+        // Arrange
+        ProdutoEventMessage evento = ProdutoEventMessage.builder()
+                .tipoEvento("PRODUTO_PRECO_ATUALIZADO")
+                .produtoId(1L)
+                .preco(new BigDecimal("10.005"))
+                .build();
+
+        ProdutoEventoSerializer serializer = new ProdutoEventoSerializer(FormatoEvento.AVRO);
+
+        // Act & Assert
+        assertThatThrownBy(() -> serializer.serialize(TOPICO, evento))
+                .isInstanceOf(SerializationException.class);
+        // A parte escrita antes da falha não pode vazar para a mensagem seguinte
+        ProdutoEventMessage seguinte = ProdutoEventMessage.de("PRODUTO_CRIADO", produto());
+        assertThat(deserializer.deserialize(TOPICO, serializer.serialize(TOPICO, seguinte)).getSku()).isEqualTo("CAM-042");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar formato de evento desconhecido")
+    void deveRejeitarFormatoDesconhecido() {
+        // Act & Assert
+        assertThatThrownBy(() -> new ProdutoEventoSerializer()
+                .configure(Map.of(ProdutoEventoSerializer.CONFIG_FORMATO, "xml"), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("xml");
+    }
+}
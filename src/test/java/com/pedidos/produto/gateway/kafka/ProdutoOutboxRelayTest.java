@@ -0,0 +1,324 @@
+package com.pedidos.produto.gateway.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedidos.produto.gateway.jpa.entity.ProdutoOutboxEntity;
+import com.pedidos.produto.gateway.jpa.repository.ProdutoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProdutoOutboxRelay - Testes Unitários")
+class ProdutoOutboxRelayTest {
+
+    private static final String PAYLOAD_VALIDO = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1}";
+
+    @Mock
+    private ProdutoOutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, ProdutoEventMessage> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ProdutoOutboxRelay criarRelay(Duration esperaInicial) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new ProdutoOutboxRelay(outboxRepository, kafkaTemplate, objectMapper,
+                TransactionOperations.withoutTransaction(), meterRegistry, 500, 1000, esperaInicial, Duration.ofMinutes(1));
+    }
+
+    private static ProdutoOutboxEntity evento(Long id, String payload) {
+        return evento(id, ProdutoTopicos.EVENTOS, payload);
+    }
+
+    private static ProdutoOutboxEntity evento(Long id, String topico, String payload) {
+        return ProdutoOutboxEntity.builder()
+                .id(id)
+                .topico(topico)
+                .chave("1")
+                .tipoEvento("PRODUTO_ATUALIZADO")
+                .payload(payload)
+                .build();
+    }
+
+    private static CompletableFuture<SendResult<String, ProdutoEventMessage>> confirmado() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // Evento agrupado gravado sem chave, com os preços dos produtos 1 a totalProdutos
+    private static ProdutoOutboxEntity agrupado(Long id, int totalProdutos) {
+        String precos = LongStream.rangeClosed(1, totalProdutos)
+                .mapToObj(produtoId -> "{\"produtoId\":" + produtoId + ",\"sku\":\"SKU-" + produtoId + "\",\"preco\":10.00,\"versao\":2}")
+                .collect(Collectors.joining(","));
+        return ProdutoOutboxEntity.builder()
+                .id(id)
+                .topico(ProdutoTopicos.EVENTOS)
+                .tipoEvento("PRODUTO_PRECO_ATUALIZADO")
+                .payload("{\"tipoEvento\":\"PRODUTO_PRECO_ATUALIZADO\",\"timestamp\":1,\"precos\":[" + precos + "]}")
+                .build();
+    }
+
+    private static List<PartitionInfo> particoes(int total) {
+        return IntStream.range(0, total)
+                .mapToObj(particao -> new PartitionInfo(ProdutoTopicos.EVENTOS, particao, null, null, null))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve publicar os pendentes e removê-los do outbox após a confirmação do broker")
+    void devePublicarERemoverPendentes() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(evento(1L, PAYLOAD_VALIDO), evento(2L, PAYLOAD_VALIDO)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        verify(kafkaTemplate, times(2)).send(eq(ProdutoTopicos.EVENTOS), eq("1"), any(ProdutoEventMessage.class));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.get("produto.outbox.publicados").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve enviar só o último snapshot de uma rajada de alterações no mesmo produto")
+    void deveCoalescerSnapshotsDoMesmoProduto() {
+        // Arrange
+        String atualizado1 = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1,\"versao\":1}";
+        String atualizado2 = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1,\"versao\":2}";
+        String desativado = "{\"tipoEvento\":\"PRODUTO_DESATIVADO\",\"produtoId\":1,\"ativo\":false,\"versao\":3}";
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(
+                evento(1L, atualizado1), evento(2L, ProdutoTopicos.SNAPSHOT, atualizado1),
+                evento(3L, atualizado2), evento(4L, ProdutoTopicos.SNAPSHOT, atualizado2),
+                evento(5L, desativado), evento(6L, ProdutoTopicos.SNAPSHOT, desativado)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        verify(kafkaTemplate, times(3)).send(eq(ProdutoTopicos.EVENTOS), eq("1"), any(ProdutoEventMessage.class));
+        ArgumentCaptor<ProdutoEventMessage> snapshot = ArgumentCaptor.forClass(ProdutoEventMessage.class);
+        verify(kafkaTemplate).send(eq(ProdutoTopicos.SNAPSHOT), eq("1"), snapshot.capture());
+        assertThat(snapshot.getValue().getTipoEvento()).isEqualTo("PRODUTO_DESATIVADO");
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        assertThat(meterRegistry.get("produto.outbox.publicados").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("produto.outbox.coalescidos").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o snapshot de maior versão mesmo quando ele foi gravado antes")
+    void deveCoalescerSnapshotsPelaMaiorVersao() {
+        // Arrange
+        String versao5 = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1,\"versao\":5}";
+        String versao4 = "{\"tipoEvento\":\"PRODUTO_DESATIVADO\",\"produtoId\":1,\"versao\":4}";
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(
+                evento(1L, ProdutoTopicos.SNAPSHOT, versao5), evento(2L, ProdutoTopicos.SNAPSHOT, versao4)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        ArgumentCaptor<ProdutoEventMessage> snapshot = ArgumentCaptor.forClass(ProdutoEventMessage.class);
+        verify(kafkaTemplate).send(eq(ProdutoTopicos.SNAPSHOT), eq("1"), snapshot.capture());
+        assertThat(snapshot.getValue().getVersao()).isEqualTo(5L);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.get("produto.outbox.coalescidos").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter no outbox os snapshots substituídos quando o substituto é rejeitado")
+    void deveManterSnapshotsQuandoSubstitutoRejeitado() {
+        // Arrange
+        String versao1 = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1,\"versao\":1}";
+        String versao2 = "{\"tipoEvento\":\"PRODUTO_ATUALIZADO\",\"produtoId\":1,\"versao\":2}";
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(
+                evento(1L, ProdutoTopicos.SNAPSHOT, versao1), evento(2L, ProdutoTopicos.SNAPSHOT, versao2),
+                evento(3L, PAYLOAD_VALIDO)));
+        when(kafkaTemplate.send(eq(ProdutoTopicos.SNAPSHOT), anyString(), any(ProdutoEventMessage.class)))
+                .thenThrow(new SerializationException("registro recusado pelo serializer"));
+        when(kafkaTemplate.send(eq(ProdutoTopicos.EVENTOS), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        verify(outboxRepository).rejeitar(eq(2L), anyString());
+        verify(kafkaTemplate, times(1)).send(eq(ProdutoTopicos.SNAPSHOT), anyString(), any(ProdutoEventMessage.class));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(3L));
+        assertThat(meterRegistry.get("produto.outbox.coalescidos").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve dividir o evento agrupado por partição, com a chave de um produto de cada parte")
+    void deveDividirEventoAgrupadoPorParticao() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(agrupado(1L, 20)));
+        when(kafkaTemplate.partitionsFor(ProdutoTopicos.EVENTOS)).thenReturn(particoes(3));
+        when(kafkaTemplate.send(anyString(), anyInt(), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        ArgumentCaptor<Integer> particoesEnviadas = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<String> chaves = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ProdutoEventMessage> partes = ArgumentCaptor.forClass(ProdutoEventMessage.class);
+        verify(kafkaTemplate, times(3)).send(eq(ProdutoTopicos.EVENTOS), particoesEnviadas.capture(), chaves.capture(),
+                partes.capture());
+        assertThat(particoesEnviadas.getAllValues()).containsExactlyInAnyOrder(0, 1, 2);
+        for (int i = 0; i < 3; i++) {
+            int particaoDaChave = particoesEnviadas.getAllValues().get(i);
+            assertThat(ProdutoOutboxRelay.particao(chaves.getAllValues().get(i), 3)).isEqualTo(particaoDaChave);
+            ProdutoEventMessage parte = partes.getAllValues().get(i);
+            assertThat(parte.getTipoEvento()).isEqualTo("PRODUTO_PRECO_ATUALIZADO");
+            assertThat(parte.getTimestamp()).isEqualTo(1L);
+            assertThat(parte.getPrecos()).allSatisfy(item ->
+                    assertThat(ProdutoOutboxRelay.particao(ProdutoTopicos.chave(item.getProdutoId()), 3)).isEqualTo(particaoDaChave));
+        }
+        assertThat(partes.getAllValues()).flatExtracting(ProdutoEventMessage::getPrecos)
+                .extracting(ProdutoEventMessage.ItemPreco::getProdutoId)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 20).boxed().toList());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(meterRegistry.get("produto.outbox.publicados").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter o evento agrupado no outbox quando uma das partes não é confirmada")
+    void deveManterEventoAgrupadoQuandoUmaParteFalha() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(agrupado(1L, 20)));
+        when(kafkaTemplate.partitionsFor(ProdutoTopicos.EVENTOS)).thenReturn(particoes(3));
+        when(kafkaTemplate.send(anyString(), anyInt(), anyString(), any(ProdutoEventMessage.class)))
+                .thenReturn(confirmado())
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker indisponível")))
+                .thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofMinutes(1)).publicarPendentes();
+
+        // Assert
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        assertThat(meterRegistry.get("produto.outbox.falhas-consecutivas").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve mover para os rejeitados o evento com payload inválido e publicar os demais")
+    void deveRejeitarEventoComPayloadInvalido() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt()))
+                .thenReturn(List.of(evento(1L, PAYLOAD_VALIDO), evento(2L, "{nao e json"), evento(3L, PAYLOAD_VALIDO)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class))).thenReturn(confirmado());
+
+        // Act
+        criarRelay(Duration.ofSeconds(1)).publicarPendentes();
+
+        // Assert
+        verify(outboxRepository).rejeitar(eq(2L), anyString());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        assertThat(meterRegistry.get("produto.outbox.rejeitados").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("produto.outbox.falhas-consecutivas").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote no outbox e aguardar o backoff quando o broker falha")
+    void deveAguardarBackoffQuandoBrokerFalha() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(evento(1L, PAYLOAD_VALIDO)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker indisponível")));
+        ProdutoOutboxRelay relay = criarRelay(Duration.ofMinutes(1));
+
+        // Act
+        relay.publicarPendentes();
+        relay.publicarPendentes();
+
+        // Assert
+        verify(outboxRepository, times(1)).findPendentes(anyInt());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxRepository, never()).rejeitar(any(), any());
+        assertThat(meterRegistry.get("produto.outbox.falhas").tag("excecao", "KafkaException").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("produto.outbox.envios.falhas").tag("topico", ProdutoTopicos.EVENTOS).counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("produto.outbox.falhas-consecutivas").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve zerar as falhas seguidas quando a publicação volta a funcionar")
+    void deveZerarFalhasQuandoPublicacaoVolta() {
+        // Arrange
+        when(outboxRepository.tryAdvisoryXactLock(ProdutoOutboxRelay.CHAVE_LOCK_RELAY)).thenReturn(true);
+        when(outboxRepository.findPendentes(anyInt())).thenReturn(List.of(evento(1L, PAYLOAD_VALIDO)));
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProdutoEventMessage.class)))
+                .thenThrow(new KafkaException("timeout no metadata"))
+                .thenReturn(confirmado());
+        ProdutoOutboxRelay relay = criarRelay(Duration.ZERO);
+
+        // Act
+        relay.publicarPendentes();
+        double falhasAposErro = meterRegistry.get("produto.outbox.falhas-consecutivas").gauge().value();
+        relay.publicarPendentes();
+
+        // Assert
+        assertThat(falhasAposErro).isEqualTo(1);
+        assertThat(meterRegistry.get("produto.outbox.falhas-consecutivas").gauge().value()).isZero();
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve dobrar a espera a cada falha seguida até o máximo")
+    void deveDobrarEsperaAteMaximo() {
+        // Arrange
+        Duration inicial = Duration.ofSeconds(1);
+        Duration maxima = Duration.ofMinutes(1);
+
+        // Act & Assert
+        assertThat(ProdutoOutboxRelay.esperaAposFalhas(1, inicial, maxima)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(ProdutoOutboxRelay.esperaAposFalhas(4, inicial, maxima)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(ProdutoOutboxRelay.esperaAposFalhas(7, inicial, maxima)).isEqualTo(maxima);
+        assertThat(ProdutoOutboxRelay.esperaAposFalhas(200, inicial, maxima)).isEqualTo(maxima);
+    }
+}
@@ -0,0 +1,220 @@
+package com.pedidos.produto.gateway.memoria;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProdutoIndiceMemoriaGateway - Testes Unitários")
+class ProdutoIndiceMemoriaGatewayTest {
+
+    @Mock
+    private ProdutoGateway delegate;
+
+    private ProdutoIndiceMemoriaGateway indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new ProdutoIndiceMemoriaGateway(delegate);
+    }
+
+    private Produto produto(long id, String nome, String sku, String categoria, String descricao) {
+        return Produto.builder()
+                .id(id)
+                .nome(nome)
+                .sku(sku)
+                .categoria(categoria)
+                .descricao(descricao)
+                .preco(new BigDecimal("10.00"))
+                .ativo(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void carregar(Produto... produtos) {
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            Arrays.stream(produtos).forEach(consumidor);
+            return null;
+        }).when(delegate).exportarTodos(any(Consumer.class));
+        indice.construir();
+    }
+
+    private ProdutoEventMessage evento(long id) {
+        return ProdutoEventMessage.builder().tipoEvento("PRODUTO_ATUALIZADO").produtoId(id).build();
+    }
+
+    @Test
+    @DisplayName("Deve sugerir por prefixo ignorando acentos e priorizando o nome")
+    void deveSugerirPorPrefixoIgnorandoAcentos() {
+        // Arrange
+        carregar(
+                produto(1L, "Cabo HDMI", "CABO-001", "ELETRÔNICOS", "Cabo para televisão"),
+                produto(2L, "Eletrôdomestico Multiuso", "ELET-002", "CASA", null),
+                produto(3L, "Mouse", "MOUSE-003", "INFORMÁTICA", "Mouse eletrônico sem fio"));
+
+        // Act
+        List<Produto> sugestoes = indice.sugerir("ELETR", 10);
+
+        // Assert
+        assertThat(indice.estaDisponivel()).isTrue();
+        // Nome começando pelo termo primeiro; empate resolvido pelo nome mais curto
+        assertThat(sugestoes).extracting(Produto::getId).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve exigir os termos completos e tratar apenas o último como prefixo")
+    void deveExigirTermosCompletos() {
+        // Arrange
+        carregar(
+                produto(1L, "Notebook Gamer Preto", "NB-001", "INFORMÁTICA", null),
+                produto(2L, "Notebook Básico", "NB-002", "INFORMÁTICA", null),
+                produto(3L, "Mochila Gamer", "MC-003", "ACESSÓRIOS", null));
+
+        // Act & Assert
+        assertThat(indice.sugerir("notebook gam", 10)).extracting(Produto::getId).containsExactly(1L);
+        assertThat(indice.sugerir("gamer", 10)).extracting(Produto::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(indice.sugerir("noteb gamer", 10)).isEmpty();
+        assertThat(indice.sugerir("nb 002", 10)).extracting(Produto::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar alterações recebidas por evento relendo o produto")
+    void deveAplicarAlteracoesPorEvento() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null));
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto(1L, "Poltrona Reclinável", "CAD-001", "MÓVEIS", null)));
+        when(delegate.buscarPorId(2L)).thenReturn(Optional.of(produto(2L, "Mesa Gamer", "MES-002", "MÓVEIS", null)));
+
+        // Act
+        indice.aoReceber(evento(1L));
+        indice.aoReceber(evento(2L));
+
+        // Assert
+        assertThat(indice.sugerir("gamer", 10)).extracting(Produto::getId).containsExactly(2L);
+        assertThat(indice.sugerir("reclinavel", 10)).extracting(Produto::getId).containsExactly(1L);
+        assertThat(indice.quantidadeDocumentos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve remover do índice produtos desativados")
+    void deveRemoverProdutosDesativados() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null));
+        Produto desativado = produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null);
+        desativado.setAtivo(false);
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(desativado));
+
+        // Act
+        indice.aoReceber(evento(1L));
+
+        // Assert
+        assertThat(indice.sugerir("cadeira", 10)).isEmpty();
+        assertThat(indice.quantidadeDocumentos()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve guardar eventos recebidos durante a carga e aplicá-los ao final")
+    void deveAplicarEventosRecebidosDuranteCarga() {
+        // Arrange
+        when(delegate.buscarPorId(2L)).thenReturn(Optional.of(produto(2L, "Mesa Gamer", "MES-002", "MÓVEIS", null)));
+
+        // Act
+        indice.aoReceber(evento(2L));
+        assertThat(indice.estaDisponivel()).isFalse();
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null));
+
+        // Assert
+        assertThat(indice.sugerir("gamer", 10)).extracting(Produto::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Deve devolver cópias que não alteram o índice")
+    void deveDevolverCopias() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null));
+
+        // Act
+        indice.sugerir("cadeira", 10).get(0).setNome("Alterado");
+
+        // Assert
+        assertThat(indice.sugerir("cadeira", 10).get(0).getNome()).isEqualTo("Cadeira Gamer");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o novo preço recebido por evento sem reler o produto")
+    void deveAplicarPrecoSemReler() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null));
+        ProdutoEventMessage evento = ProdutoEventMessage.builder()
+                .tipoEvento("PRODUTO_PRECO_ATUALIZADO")
+                .produtoId(1L)
+                .sku("CAD-001")
+                .preco(new BigDecimal("15.90"))
+                .build();
+
+        // Act
+        indice.aoReceber(evento);
+
+        // Assert
+        assertThat(indice.sugerir("cadeira", 10).get(0).getPreco()).isEqualByComparingTo("15.90");
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a releitura de uma versão mais antiga que a já aplicada")
+    void deveDescartarReleituraMaisAntiga() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null).toBuilder().versao(1L).build());
+        Produto desativado = produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null).toBuilder()
+                .ativo(false).versao(3L).build();
+        // A releitura do segundo evento terminou depois, mas leu o estado anterior à desativação
+        Produto leituraAtrasada = produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null).toBuilder().versao(2L).build();
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(desativado), Optional.of(leituraAtrasada));
+
+        // Act
+        indice.aoReceber(evento(1L));
+        indice.aoReceber(evento(1L));
+
+        // Assert
+        assertThat(indice.sugerir("cadeira", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar evento de preço com versão mais antiga que a do índice")
+    void deveIgnorarPrecoDeVersaoAntiga() {
+        // Arrange
+        carregar(produto(1L, "Cadeira Gamer", "CAD-001", "MÓVEIS", null).toBuilder().versao(5L).build());
+        ProdutoEventMessage evento = ProdutoEventMessage.builder()
+                .tipoEvento("PRODUTO_PRECO_ATUALIZADO")
+                .produtoId(1L)
+                .preco(new BigDecimal("15.90"))
+                .versao(4L)
+                .build();
+
+        // Act
+        indice.aoReceber(evento);
+
+        // Assert
+        assertThat(indice.sugerir("cadeira", 10).get(0).getPreco()).isEqualByComparingTo("10.00");
+    }
+}
@@ -0,0 +1,158 @@
+package com.pedidos.produto.gateway.memoria;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.kafka.ProdutoEventMessage;
+import com.pedidos.produto.gateway.kafka.ProdutoEventoPosicao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProdutoProjecaoMemoriaGateway - Testes Unitários")
+class ProdutoProjecaoMemoriaGatewayTest {
+
+    private static final long LAG_MAXIMO = 10;
+    private static final Duration ATRASO_MAXIMO = Duration.ofSeconds(15);
+
+    @Mock
+    private ProdutoGateway delegate;
+
+    @Mock
+    private ProdutoEventoPosicao posicao;
+
+    private ProdutoProjecaoMemoriaGateway projecao;
+
+    @BeforeEach
+    void setUp() {
+        projecao = new ProdutoProjecaoMemoriaGateway(delegate, posicao, LAG_MAXIMO, ATRASO_MAXIMO);
+    }
+
+    private Produto produto(long id, String sku, String preco, long versao) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + id)
+                .sku(sku)
+                .preco(new BigDecimal(preco))
+                .ativo(true)
+                .versao(versao)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void carregar(Produto... produtos) {
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            Arrays.stream(produtos).forEach(consumidor);
+            return null;
+        }).when(delegate).exportarTodos(any(Consumer.class));
+        projecao.construir();
+    }
+
+    private ProdutoEventMessage evento(long id) {
+        return ProdutoEventMessage.builder().tipoEvento("PRODUTO_PRECO_ATUALIZADO").produtoId(id).build();
+    }
+
+    @Test
+    @DisplayName("Deve buscar por ID e SKU após a carga, devolvendo cópias")
+    void deveBuscarPorIdESkuAposCarga() {
+        // Arrange
+        carregar(produto(1L, "SKU-001", "10.00", 0L), produto(2L, "SKU-002", "20.00", 0L));
+
+        // Act
+        Produto porId = projecao.buscarPorId(1L).orElseThrow();
+        porId.setPreco(new BigDecimal("99.00"));
+
+        // Assert
+        assertThat(projecao.buscarPorSku("SKU-002")).map(Produto::getId).contains(2L);
+        assertThat(projecao.buscarPorId(1L)).map(Produto::getPreco).contains(new BigDecimal("10.00"));
+        assertThat(projecao.buscarPorSku("SKU-999")).isEmpty();
+        assertThat(projecao.quantidadeProdutos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve reler o produto a cada evento e remover o que não existe mais")
+    void deveRelerProdutoACadaEvento() {
+        // Arrange
+        carregar(produto(1L, "SKU-001", "10.00", 0L), produto(2L, "SKU-002", "20.00", 0L));
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto(1L, "SKU-001", "15.00", 1L)));
+        when(delegate.buscarPorId(2L)).thenReturn(Optional.empty());
+
+        // Act
+        projecao.aoReceber(evento(1L));
+        projecao.aoReceber(evento(2L));
+
+        // Assert
+        assertThat(projecao.buscarPorId(1L)).map(Produto::getPreco).contains(new BigDecimal("15.00"));
+        assertThat(projecao.buscarPorId(2L)).isEmpty();
+        assertThat(projecao.buscarPorSku("SKU-002")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter a versão mais nova quando uma releitura antiga chega depois")
+    void deveManterVersaoMaisNova() {
+        // Arrange
+        carregar(produto(1L, "SKU-001", "30.00", 3L));
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto(1L, "SKU-001", "20.00", 2L)));
+
+        // Act
+        projecao.aoReceber(evento(1L));
+
+        // Assert
+        assertThat(projecao.buscarPorId(1L)).map(Produto::getVersao).contains(3L);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar ao final da carga os eventos recebidos durante ela")
+    void deveAplicarEventosRecebidosDuranteCarga() {
+        // Arrange
+        projecao.aoReceber(evento(1L));
+        verify(delegate, never()).buscarPorId(any());
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto(1L, "SKU-001", "12.00", 1L)));
+
+        // Act
+        carregar(produto(1L, "SKU-001", "10.00", 0L));
+
+        // Assert
+        assertThat(projecao.buscarPorId(1L)).map(Produto::getPreco).contains(new BigDecimal("12.00"));
+    }
+
+    @Test
+    @DisplayName("Deve estar atualizada só depois da carga e com lag e confirmação dentro dos limites")
+    void deveEstarAtualizadaDentroDosLimites() {
+        // Arrange
+        assertThat(projecao.estaAtualizada()).isFalse();
+        carregar(produto(1L, "SKU-001", "10.00", 0L));
+
+        // Act & Assert
+        when(posicao.lag()).thenReturn(LAG_MAXIMO);
+        when(posicao.idadeConfirmacao()).thenReturn(Duration.ofSeconds(5));
+        assertThat(projecao.estaAtualizada()).isTrue();
+
+        when(posicao.lag()).thenReturn(LAG_MAXIMO + 1);
+        assertThat(projecao.estaAtualizada()).isFalse();
+
+        when(posicao.lag()).thenReturn(0L);
+        when(posicao.idadeConfirmacao()).thenReturn(ATRASO_MAXIMO.plusSeconds(1));
+        assertThat(projecao.estaAtualizada()).isFalse();
+
+        when(posicao.lag()).thenReturn(-1L);
+        assertThat(projecao.estaAtualizada()).isFalse();
+    }
+}
@@ -0,0 +1,244 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.LinhaAtualizacaoPreco;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoAtualizacaoPrecos;
+import com.pedidos.produto.domain.ResultadoAtualizacaoPrecos.ErroAtualizacaoPreco;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AtualizarPrecosEmLoteUsecase - Testes Unitários")
+class AtualizarPrecosEmLoteUsecaseTest {
+
+    @Mock
+    private ProdutoGateway produtoGateway;
+
+    @Mock
+    private ProdutoEventoGateway produtoEventoGateway;
+
+    private AtualizarPrecosEmLoteUsecase atualizarPrecosEmLoteUsecase;
+
+    @BeforeEach
+    void setUp() {
+        atualizarPrecosEmLoteUsecase = new AtualizarPrecosEmLoteUsecase(produtoGateway, produtoEventoGateway,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private LinhaAtualizacaoPreco porId(long numero, long id, String preco) {
+        return LinhaAtualizacaoPreco.builder().numero(numero).id(id).preco(new BigDecimal(preco)).build();
+    }
+
+    private LinhaAtualizacaoPreco porSku(long numero, String sku, String preco) {
+        return LinhaAtualizacaoPreco.builder().numero(numero).sku(sku).preco(new BigDecimal(preco)).build();
+    }
+
+    private Produto produto(long id, String sku, String preco) {
+        return Produto.builder().id(id).sku(sku).preco(new BigDecimal(preco)).ativo(true).versao(1L).build();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar por ID e SKU em um lote, com um único evento agrupado")
+    void deveAtualizarPorIdESkuComEventoAgrupado() {
+        // Arrange
+        List<LinhaAtualizacaoPreco> linhas = List.of(
+                porId(1, 1L, "10.00"),
+                porSku(2, "prod-002", "20.00"),
+                porId(3, 3L, "30.00"),
+                porSku(4, "PROD-004", "40.00"),
+                porId(5, 5L, "50.00"));
+        List<Produto> atualizados = List.of(produto(1L, "PROD-001", "10.00"), produto(2L, "PROD-002", "20.00"));
+        when(produtoGateway.buscarIdsPorSkus(any())).thenReturn(Map.of("PROD-002", 2L));
+        when(produtoGateway.atualizarPrecos(anyMap())).thenReturn(atualizados);
+        when(produtoGateway.buscarIdsExistentes(any())).thenReturn(Set.of(3L));
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getTotalLinhas()).isEqualTo(5);
+        assertThat(resultado.getAtualizados()).isEqualTo(2);
+        assertThat(resultado.getInalterados()).isEqualTo(1);
+        assertThat(resultado.getTotalErros()).isEqualTo(2);
+        assertThat(resultado.getErros()).extracting(ErroAtualizacaoPreco::getLinha).containsExactly(4L, 5L);
+
+        verify(produtoGateway).buscarIdsPorSkus(Set.of("PROD-002", "PROD-004"));
+        verify(produtoGateway).atualizarPrecos(Map.of(1L, new BigDecimal("10.00"), 2L, new BigDecimal("20.00"),
+                3L, new BigDecimal("30.00"), 5L, new BigDecimal("50.00")));
+        verify(produtoGateway).buscarIdsExistentes(Set.of(3L, 5L));
+        verify(produtoEventoGateway, times(1)).registrarAgrupado("PRODUTO_PRECO_ATUALIZADO", atualizados);
+        verify(produtoGateway, never()).buscarPorId(any());
+        verify(produtoGateway, never()).salvar(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linhas inválidas sem acessar o banco")
+    void deveRejeitarLinhasInvalidas() {
+        // Arrange
+        List<LinhaAtualizacaoPreco> linhas = List.of(
+                porId(1, 1L, "-1.00"),
+                porId(2, 2L, "10.123"),
+                porId(3, 3L, "123456789.00"),
+                LinhaAtualizacaoPreco.builder().numero(4).preco(new BigDecimal("10.00")).build(),
+                LinhaAtualizacaoPreco.builder().numero(5).id(5L).sku("PROD-005").preco(new BigDecimal("10.00")).build(),
+                LinhaAtualizacaoPreco.builder().numero(6).id(6L).build(),
+                LinhaAtualizacaoPreco.comErro(7, "JSON inválido"));
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getTotalLinhas()).isEqualTo(7);
+        assertThat(resultado.getTotalErros()).isEqualTo(7);
+        assertThat(resultado.getErros()).extracting(ErroAtualizacaoPreco::getMensagem).containsExactly(
+                "Preço não pode ser negativo",
+                "Preço deve ter no máximo 2 casas decimais",
+                "Preço deve ter no máximo 8 dígitos inteiros",
+                "Informe o ID ou o SKU do produto",
+                "Informe apenas o ID ou o SKU do produto",
+                "Preço é obrigatório",
+                "JSON inválido");
+        verify(produtoGateway, never()).buscarIdsPorSkus(any());
+        verify(produtoGateway, never()).atualizarPrecos(anyMap());
+        verify(produtoEventoGateway, never()).registrarAgrupado(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar produto repetido na lista mantendo a primeira ocorrência")
+    void deveRejeitarProdutoRepetido() {
+        // Arrange
+        List<LinhaAtualizacaoPreco> linhas = List.of(
+                porSku(1, "PROD-001", "10.00"),
+                porSku(2, " prod-001 ", "11.00"));
+        when(produtoGateway.buscarIdsPorSkus(any())).thenReturn(Map.of("PROD-001", 1L));
+        when(produtoGateway.atualizarPrecos(anyMap())).thenReturn(List.of(produto(1L, "PROD-001", "10.00")));
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getAtualizados()).isEqualTo(1);
+        assertThat(resultado.getErros()).extracting(ErroAtualizacaoPreco::getLinha).containsExactly(2L);
+        verify(produtoGateway).buscarIdsPorSkus(Set.of("PROD-001"));
+        verify(produtoGateway).atualizarPrecos(Map.of(1L, new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer como repetido o mesmo produto informado por ID e por SKU, inclusive em outro lote")
+    void deveRejeitarMesmoProdutoPorIdESku() {
+        // Arrange
+        List<LinhaAtualizacaoPreco> linhas = new ArrayList<>();
+        linhas.add(porId(1, 1L, "10.00"));
+        linhas.add(porSku(2, "PROD-001", "11.00"));
+        for (int i = 3; i <= AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE; i++) {
+            linhas.add(porId(i, 1000L + i, "10.00"));
+        }
+        linhas.add(porSku(AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE + 1, "prod-001", "12.00"));
+        when(produtoGateway.buscarIdsPorSkus(any())).thenReturn(Map.of("PROD-001", 1L));
+        when(produtoGateway.atualizarPrecos(anyMap())).thenAnswer(invocation -> {
+            Map<Long, BigDecimal> precosPorId = invocation.getArgument(0);
+            return precosPorId.keySet().stream().map(id -> produto(id, "PROD-" + id, "10.00")).toList();
+        });
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getAtualizados()).isEqualTo(AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE - 1);
+        assertThat(resultado.getInalterados()).isZero();
+        assertThat(resultado.getErros())
+                .extracting(ErroAtualizacaoPreco::getLinha, ErroAtualizacaoPreco::getMensagem)
+                .containsExactly(tuple(2L, "Produto repetido na lista: ID 1"),
+                        tuple((long) AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE + 1, "Produto repetido na lista: ID 1"));
+        verify(produtoGateway, times(1)).atualizarPrecos(anyMap());
+        verify(produtoGateway, never()).buscarIdsExistentes(any());
+    }
+
+    @Test
+    @DisplayName("Deve dividir a lista em lotes com um UPDATE e um evento por lote")
+    void deveDividirEmLotes() {
+        // Arrange
+        int total = AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE * 2 + 500;
+        List<LinhaAtualizacaoPreco> linhas = new ArrayList<>(total);
+        for (int i = 1; i <= total; i++) {
+            linhas.add(porId(i, i, "10.00"));
+        }
+        when(produtoGateway.atualizarPrecos(anyMap())).thenAnswer(invocation -> {
+            Map<Long, BigDecimal> precosPorId = invocation.getArgument(0);
+            return precosPorId.keySet().stream().map(id -> produto(id, "PROD-" + id, "10.00")).toList();
+        });
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getAtualizados()).isEqualTo(total);
+        assertThat(resultado.getTotalErros()).isZero();
+        verify(produtoGateway, times(3)).atualizarPrecos(anyMap());
+        verify(produtoEventoGateway, times(3)).registrarAgrupado(eq("PRODUTO_PRECO_ATUALIZADO"), anyList());
+        verify(produtoGateway, never()).buscarIdsExistentes(any());
+    }
+
+    @Test
+    @DisplayName("Deve reportar as linhas do lote com falha e seguir com os próximos")
+    void deveReportarFalhaDoLoteEContinuar() {
+        // Arrange
+        int total = AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE + 1;
+        List<LinhaAtualizacaoPreco> linhas = new ArrayList<>(total);
+        for (int i = 1; i <= total; i++) {
+            linhas.add(porId(i, i, "10.00"));
+        }
+        when(produtoGateway.atualizarPrecos(anyMap()))
+                .thenThrow(new ErroAoAcessarRepositorioException("Erro ao atualizar preços em lote", new RuntimeException()))
+                .thenReturn(List.of(produto(total, "PROD-" + total, "10.00")));
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getAtualizados()).isEqualTo(1);
+        assertThat(resultado.getTotalErros()).isEqualTo(AtualizarPrecosEmLoteUsecase.TAMANHO_LOTE);
+        verify(produtoEventoGateway, times(1)).registrarAgrupado(eq("PRODUTO_PRECO_ATUALIZADO"), anyList());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar evento quando nenhum preço mudou")
+    void naoDeveRegistrarEventoSemAlteracoes() {
+        // Arrange
+        when(produtoGateway.atualizarPrecos(anyMap())).thenReturn(List.of());
+        when(produtoGateway.buscarIdsExistentes(any())).thenReturn(Set.of(1L));
+
+        // Act
+        ResultadoAtualizacaoPrecos resultado = atualizarPrecosEmLoteUsecase.executar(List.of(porId(1, 1L, "10.00")).iterator());
+
+        // Assert
+        assertThat(resultado.getInalterados()).isEqualTo(1);
+        assertThat(resultado.getTotalErros()).isZero();
+        verify(produtoEventoGateway, never()).registrarAgrupado(any(), anyList());
+    }
+}
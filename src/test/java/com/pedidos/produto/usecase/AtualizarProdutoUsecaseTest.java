@@ -1,8 +1,13 @@
 package com.pedidos.produto.usecase;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ConflitoDeVersaoException;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
 import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
 import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.cache.ProdutoCacheGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,19 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,7 +40,7 @@ class AtualizarProdutoUsecaseTest {
     private ProdutoGateway produtoGateway;
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ProdutoEventoGateway produtoEventoGateway;
 
     @InjectMocks
     private AtualizarProdutoUsecase atualizarProdutoUsecase;
@@ -69,11 +75,11 @@ class AtualizarProdutoUsecaseTest {
         BigDecimal novoPreco = new BigDecimal("75.00");
         String novaCategoria = "NOVA_CATEGORIA";
 
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto));
         when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
 
         // Act
-        Produto resultado = atualizarProdutoUsecase.atualizarDados(id, novoNome, novaDescricao, novoPreco, novaCategoria);
+        Produto resultado = atualizarProdutoUsecase.atualizarDados(id, novoNome, novaDescricao, novoPreco, novaCategoria, null);
 
         // Assert
         assertThat(resultado).isNotNull();
@@ -83,9 +89,9 @@ class AtualizarProdutoUsecaseTest {
         assertThat(resultado.getPreco()).isEqualTo(novoPreco);
         assertThat(resultado.getCategoria()).isEqualTo(novaCategoria);
 
-        verify(produtoGateway).buscarPorId(id);
+        verify(produtoGateway).buscarPorIdSemCache(id);
         verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATUALIZADO"), any(Produto.class));
     }
 
     @Test
@@ -93,39 +99,40 @@ class AtualizarProdutoUsecaseTest {
     void deveLancarExcecaoQuandoProdutoNaoEncontradoParaAtualizarDados() {
         // Arrange
         Long id = 999L;
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.empty());
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat"))
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat", null))
                 .isInstanceOf(ProdutoNaoEncontradoException.class)
                 .hasMessage("Produto não encontrado com ID: " + id);
 
-        verify(produtoGateway).buscarPorId(id);
+        verify(produtoGateway).buscarPorIdSemCache(id);
         verify(produtoGateway, never()).salvar(any(Produto.class));
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
     }
 
     @Test
-    @DisplayName("Deve atualizar preço do produto com sucesso")
+    @DisplayName("Deve atualizar preço do produto com sucesso sem ler o produto antes")
     void deveAtualizarPrecoDoProdutoComSucesso() {
         // Arrange
         Long id = 1L;
         BigDecimal novoPreco = new BigDecimal("99.99");
+        Produto atualizado = produto.toBuilder().preco(novoPreco).versao(4L).build();
 
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
-        when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
+        when(produtoGateway.atualizarPreco(id, novoPreco, 3L)).thenReturn(Optional.of(atualizado));
 
         // Act
-        Produto resultado = atualizarProdutoUsecase.atualizarPreco(id, novoPreco);
+        Produto resultado = atualizarProdutoUsecase.atualizarPreco(id, novoPreco, 3L);
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(id);
         assertThat(resultado.getPreco()).isEqualTo(novoPreco);
+        assertThat(resultado.getVersao()).isEqualTo(4L);
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoGateway, never()).buscarPorIdSemCache(any());
+        verify(produtoGateway, never()).salvar(any(Produto.class));
+        verify(produtoEventoGateway).registrar("PRODUTO_PRECO_ATUALIZADO", atualizado);
     }
 
     @Test
@@ -134,16 +141,56 @@ class AtualizarProdutoUsecaseTest {
         // Arrange
         Long id = 999L;
         BigDecimal novoPreco = new BigDecimal("99.99");
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.empty());
+        when(produtoGateway.atualizarPreco(id, novoPreco, null)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(id, novoPreco))
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(id, novoPreco, null))
                 .isInstanceOf(ProdutoNaoEncontradoException.class)
                 .hasMessage("Produto não encontrado com ID: " + id);
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway, never()).salvar(any(Produto.class));
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(produtoGateway, never()).buscarPorIdSemCache(any());
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando a versão esperada do preço não é mais a atual")
+    void deveLancarConflitoQuandoVersaoDoPrecoDiverge() {
+        // Arrange
+        Long id = 1L;
+        BigDecimal novoPreco = new BigDecimal("99.99");
+        when(produtoGateway.atualizarPreco(id, novoPreco, 2L)).thenReturn(Optional.empty());
+        when(produtoGateway.buscarIdsExistentes(Set.of(id))).thenReturn(Set.of(id));
+
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(id, novoPreco, 2L))
+                .isInstanceOf(ConflitoDeVersaoException.class);
+
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto com versão esperada não existe")
+    void deveLancarExcecaoQuandoProdutoComVersaoEsperadaNaoExiste() {
+        // Arrange
+        Long id = 999L;
+        BigDecimal novoPreco = new BigDecimal("99.99");
+        when(produtoGateway.atualizarPreco(id, novoPreco, 2L)).thenReturn(Optional.empty());
+        when(produtoGateway.buscarIdsExistentes(Set.of(id))).thenReturn(Set.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(id, novoPreco, 2L))
+                .isInstanceOf(ProdutoNaoEncontradoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve validar o preço antes de acessar o banco")
+    void deveValidarPrecoAntesDeAcessarBanco() {
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(1L, new BigDecimal("-1.00"), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Preço não pode ser negativo");
+
+        verify(produtoGateway, never()).atualizarPreco(any(), any(), any());
     }
 
     @Test
@@ -151,22 +198,20 @@ class AtualizarProdutoUsecaseTest {
     void deveAtivarProdutoComSucesso() {
         // Arrange
         Long id = 1L;
-        produto.setAtivo(false); // Produto inicialmente inativo
+        Produto ativado = produto.toBuilder().ativo(true).versao(1L).build();
 
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
-        when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
+        when(produtoGateway.atualizarAtivo(id, true, null)).thenReturn(Optional.of(ativado));
 
         // Act
-        Produto resultado = atualizarProdutoUsecase.ativar(id);
+        Produto resultado = atualizarProdutoUsecase.ativar(id, null);
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(id);
         assertThat(resultado.isAtivo()).isTrue();
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoGateway, never()).salvar(any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATIVADO"), any(Produto.class));
     }
 
     @Test
@@ -174,16 +219,14 @@ class AtualizarProdutoUsecaseTest {
     void deveLancarExcecaoQuandoProdutoNaoEncontradoParaAtivar() {
         // Arrange
         Long id = 999L;
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.empty());
+        when(produtoGateway.atualizarAtivo(id, true, null)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> atualizarProdutoUsecase.ativar(id))
+        assertThatThrownBy(() -> atualizarProdutoUsecase.ativar(id, null))
                 .isInstanceOf(ProdutoNaoEncontradoException.class)
                 .hasMessage("Produto não encontrado com ID: " + id);
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway, never()).salvar(any(Produto.class));
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
     }
 
     @Test
@@ -191,22 +234,20 @@ class AtualizarProdutoUsecaseTest {
     void deveDesativarProdutoComSucesso() {
         // Arrange
         Long id = 1L;
-        produto.setAtivo(true); // Produto inicialmente ativo
+        Produto desativado = produto.toBuilder().ativo(false).versao(1L).build();
 
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
-        when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
+        when(produtoGateway.atualizarAtivo(id, false, null)).thenReturn(Optional.of(desativado));
 
         // Act
-        Produto resultado = atualizarProdutoUsecase.desativar(id);
+        Produto resultado = atualizarProdutoUsecase.desativar(id, null);
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(id);
         assertThat(resultado.isAtivo()).isFalse();
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoGateway, never()).salvar(any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_DESATIVADO"), any(Produto.class));
     }
 
     @Test
@@ -214,80 +255,116 @@ class AtualizarProdutoUsecaseTest {
     void deveLancarExcecaoQuandoProdutoNaoEncontradoParaDesativar() {
         // Arrange
         Long id = 999L;
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.empty());
+        when(produtoGateway.atualizarAtivo(id, false, null)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> atualizarProdutoUsecase.desativar(id))
+        assertThatThrownBy(() -> atualizarProdutoUsecase.desativar(id, null))
                 .isInstanceOf(ProdutoNaoEncontradoException.class)
                 .hasMessage("Produto não encontrado com ID: " + id);
 
-        verify(produtoGateway).buscarPorId(id);
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito sem salvar quando a versão esperada dos dados não é a atual")
+    void deveLancarConflitoQuandoVersaoDosDadosDiverge() {
+        // Arrange
+        Long id = 1L;
+        produto.setVersao(5L);
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto));
+
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat", 4L))
+                .isInstanceOf(ConflitoDeVersaoException.class);
+
         verify(produtoGateway, never()).salvar(any(Produto.class));
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
     }
 
     @Test
-    @DisplayName("Deve continuar funcionando mesmo quando Kafka falha ao atualizar dados")
-    void deveContinuarFuncionandoMesmoQuandoKafkaFalhaAoAtualizarDados() {
+    @DisplayName("Deve conferir o If-Match com a versão do banco mesmo com uma versão antiga em cache")
+    void deveConferirVersaoDoBancoComVersaoAntigaEmCache() {
+        // Arrange: o cache guardou a versão 1; outra réplica já gravou a 2 e o evento ainda não chegou
+        ProdutoCacheGateway cacheGateway = new ProdutoCacheGateway(produtoGateway,
+                Caffeine.newBuilder().maximumSize(100).build(),
+                Caffeine.newBuilder().maximumSize(100).build(),
+                Caffeine.newBuilder().maximumSize(1).build(),
+                Caffeine.newBuilder().maximumSize(100).build());
+        AtualizarProdutoUsecase usecaseComCache = new AtualizarProdutoUsecase(cacheGateway, produtoEventoGateway);
+        Long id = 1L;
+        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto.toBuilder().versao(1L).build()));
+        cacheGateway.buscarPorId(id);
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto.toBuilder().versao(2L).build()));
+        when(produtoGateway.salvar(any(Produto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Produto resultado = usecaseComCache.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat", 2L);
+
+        // Assert
+        assertThat(resultado.getVersao()).isEqualTo(2L);
+        verify(produtoGateway).salvar(any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATUALIZADO"), any(Produto.class));
+    }
+
+    @Test
+    @DisplayName("Deve propagar erro quando o registro do evento falha ao atualizar dados")
+    void devePropagarErroQuandoRegistroDoEventoFalhaAoAtualizarDados() {
         // Arrange
         Long id = 1L;
         String novoNome = "Produto Atualizado";
         
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto));
         when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
-        when(kafkaTemplate.send(anyString(), any())).thenThrow(new RuntimeException("Kafka indisponível"));
-
-        // Act
-        Produto resultado = atualizarProdutoUsecase.atualizarDados(id, novoNome, "desc", new BigDecimal("10.00"), "cat");
+        doThrow(new ErroAoAcessarRepositorioException("Erro ao registrar evento no outbox", new RuntimeException()))
+                .when(produtoEventoGateway).registrar(anyString(), any(Produto.class));
 
-        // Assert
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.getId()).isEqualTo(id);
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarDados(id, novoNome, "desc", new BigDecimal("10.00"), "cat", null))
+                .isInstanceOf(ErroAoAcessarRepositorioException.class);
 
-        verify(produtoGateway).buscarPorId(id);
         verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATUALIZADO"), eq(produto));
     }
 
     @Test
-    @DisplayName("Deve continuar funcionando mesmo quando Kafka falha ao atualizar preço")
-    void deveContinuarFuncionandoMesmoQuandoKafkaFalhaAoAtualizarPreco() {
+    @DisplayName("Deve propagar erro quando o registro do evento falha ao atualizar preço")
+    void devePropagarErroQuandoRegistroDoEventoFalhaAoAtualizarPreco() {
         // Arrange
         Long id = 1L;
         BigDecimal novoPreco = new BigDecimal("99.99");
-        
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
-        when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
-        when(kafkaTemplate.send(anyString(), any())).thenThrow(new RuntimeException("Kafka indisponível"));
 
-        // Act
-        Produto resultado = atualizarProdutoUsecase.atualizarPreco(id, novoPreco);
+        when(produtoGateway.atualizarPreco(id, novoPreco, null)).thenReturn(Optional.of(produto));
+        doThrow(new ErroAoAcessarRepositorioException("Erro ao registrar evento no outbox", new RuntimeException()))
+                .when(produtoEventoGateway).registrar(anyString(), any(Produto.class));
 
-        // Assert
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.getId()).isEqualTo(id);
+        // Act & Assert
+        assertThatThrownBy(() -> atualizarProdutoUsecase.atualizarPreco(id, novoPreco, null))
+                .isInstanceOf(ErroAoAcessarRepositorioException.class);
 
-        verify(produtoGateway).buscarPorId(id);
-        verify(produtoGateway).salvar(produto);
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_PRECO_ATUALIZADO"), eq(produto));
     }
 
     @Test
-    @DisplayName("Deve verificar se eventos Kafka são publicados com tipos corretos")
-    void deveVerificarSeEventosKafkaSaoPublicadosComTiposCorretos() {
+    @DisplayName("Deve verificar se eventos são registrados com tipos corretos")
+    void deveVerificarSeEventosSaoRegistradosComTiposCorretos() {
         // Arrange
         Long id = 1L;
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto));
         when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
+        when(produtoGateway.atualizarPreco(eq(id), any(BigDecimal.class), any())).thenReturn(Optional.of(produto));
+        when(produtoGateway.atualizarAtivo(eq(id), anyBoolean(), any())).thenReturn(Optional.of(produto));
 
         // Act - Testar diferentes operações
-        atualizarProdutoUsecase.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat");
-        atualizarProdutoUsecase.atualizarPreco(id, new BigDecimal("20.00"));
-        atualizarProdutoUsecase.ativar(id);
-        atualizarProdutoUsecase.desativar(id);
+        atualizarProdutoUsecase.atualizarDados(id, "Nome", "Desc", new BigDecimal("10.00"), "Cat", null);
+        atualizarProdutoUsecase.atualizarPreco(id, new BigDecimal("20.00"), null);
+        atualizarProdutoUsecase.ativar(id, null);
+        atualizarProdutoUsecase.desativar(id, null);
 
         // Assert
-        verify(kafkaTemplate, times(4)).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATUALIZADO"), any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_PRECO_ATUALIZADO"), any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_ATIVADO"), any(Produto.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_DESATIVADO"), any(Produto.class));
     }
 
     @Test
@@ -299,11 +376,11 @@ class AtualizarProdutoUsecaseTest {
         String descricaoComEspacos = "  Descrição com espaços  ";
         String categoriaComEspacos = "  categoria  ";
         
-        when(produtoGateway.buscarPorId(id)).thenReturn(Optional.of(produto));
+        when(produtoGateway.buscarPorIdSemCache(id)).thenReturn(Optional.of(produto));
         when(produtoGateway.salvar(any(Produto.class))).thenReturn(produto);
 
         // Act
-        atualizarProdutoUsecase.atualizarDados(id, nomeComEspacos, descricaoComEspacos, new BigDecimal("10.00"), categoriaComEspacos);
+        atualizarProdutoUsecase.atualizarDados(id, nomeComEspacos, descricaoComEspacos, new BigDecimal("10.00"), categoriaComEspacos, null);
 
         // Assert
         // Verificar se o produto foi atualizado com dados normalizados
@@ -311,7 +388,7 @@ class AtualizarProdutoUsecaseTest {
         assertThat(produto.getDescricao()).isEqualTo("Descrição com espaços");
         assertThat(produto.getCategoria()).isEqualTo("categoria");
 
-        verify(produtoGateway).buscarPorId(id);
+        verify(produtoGateway).buscarPorIdSemCache(id);
         verify(produtoGateway).salvar(produto);
     }
 }
\ No newline at end of file
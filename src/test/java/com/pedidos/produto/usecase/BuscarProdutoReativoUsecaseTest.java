@@ -0,0 +1,109 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
+import com.pedidos.produto.gateway.ProdutoReativoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BuscarProdutoReativoUsecase - Testes Unitários")
+class BuscarProdutoReativoUsecaseTest {
+
+    @Mock
+    private ProdutoReativoGateway produtoReativoGateway;
+
+    @InjectMocks
+    private BuscarProdutoReativoUsecase buscarProdutoReativoUsecase;
+
+    private Produto produto1;
+    private Produto produto2;
+
+    @BeforeEach
+    void setUp() {
+        produto1 = Produto.builder()
+                .id(1L)
+                .nome("Produto 1")
+                .sku("PROD-001")
+                .preco(new BigDecimal("10.00"))
+                .categoria("CATEGORIA_A")
+                .ativo(true)
+                .build();
+
+        produto2 = Produto.builder()
+                .id(2L)
+                .nome("Produto 2")
+                .sku("PROD-002")
+                .preco(new BigDecimal("20.00"))
+                .categoria("CATEGORIA_A")
+                .ativo(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve buscar produto por ID")
+    void deveBuscarProdutoPorId() {
+        // Arrange
+        when(produtoReativoGateway.buscarPorId(1L)).thenReturn(Mono.just(produto1));
+
+        // Act & Assert
+        StepVerifier.create(buscarProdutoReativoUsecase.buscarPorId(1L))
+                .expectNext(produto1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve emitir erro quando produto não é encontrado por ID")
+    void deveEmitirErroQuandoProdutoNaoEncontradoPorId() {
+        // Arrange
+        when(produtoReativoGateway.buscarPorId(999L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(buscarProdutoReativoUsecase.buscarPorId(999L))
+                .expectErrorSatisfies(erro -> assertThat(erro)
+                        .isInstanceOf(ProdutoNaoEncontradoException.class)
+                        .hasMessage("Produto não encontrado com ID: 999"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deve emitir erro quando produto não é encontrado por SKU")
+    void deveEmitirErroQuandoProdutoNaoEncontradoPorSku() {
+        // Arrange
+        when(produtoReativoGateway.buscarPorSku("PROD-999")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(buscarProdutoReativoUsecase.buscarPorSku("PROD-999"))
+                .expectError(ProdutoNaoEncontradoException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deve entregar os produtos da categoria conforme a demanda do assinante")
+    void deveEntregarProdutosConformeDemanda() {
+        // Arrange
+        when(produtoReativoGateway.buscarPorCategoria("CATEGORIA_A")).thenReturn(Flux.just(produto1, produto2));
+
+        // Act & Assert
+        StepVerifier.create(buscarProdutoReativoUsecase.buscarPorCategoria("CATEGORIA_A"), 1)
+                .expectNext(produto1)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(1)
+                .expectNext(produto2)
+                .verifyComplete();
+    }
+}
@@ -1,8 +1,19 @@
 package com.pedidos.produto.usecase;
 
+import com.pedidos.produto.domain.CursorBusca;
+import com.pedidos.produto.domain.CursorPaginacao;
+import com.pedidos.produto.domain.DistribuicaoPrecosCategoria;
+import com.pedidos.produto.domain.EstatisticaCategoria;
+import com.pedidos.produto.domain.EstatisticasProdutos;
+import com.pedidos.produto.domain.FiltroProduto;
+import com.pedidos.produto.domain.Ordenacao;
+import com.pedidos.produto.domain.Pagina;
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoBuscaEmLote;
+import com.pedidos.produto.domain.ResumoProduto;
 import com.pedidos.produto.exception.ProdutoNaoEncontradoException;
 import com.pedidos.produto.gateway.ProdutoGateway;
+import com.pedidos.produto.gateway.ProdutoProjecaoGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,16 +21,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,9 +44,17 @@ import static org.mockito.Mockito.when;
 @DisplayName("BuscarProdutoUsecase - Testes Unitários")
 class BuscarProdutoUsecaseTest {
 
+    private static final FiltroProduto FILTRO_SEM_RESTRICAO = FiltroProduto.builder().apenasAtivos(false).build();
+
     @Mock
     private ProdutoGateway produtoGateway;
 
+    @Mock
+    private ObjectProvider<ProdutoProjecaoGateway> produtoProjecaoGateway;
+
+    @Mock
+    private ProdutoProjecaoGateway projecao;
+
     @InjectMocks
     private BuscarProdutoUsecase buscarProdutoUsecase;
 
@@ -89,6 +114,54 @@ class BuscarProdutoUsecaseTest {
         verify(produtoGateway).buscarPorId(id);
     }
 
+    @Test
+    @DisplayName("Deve buscar produto por ID na projeção quando ela está atualizada")
+    void deveBuscarProdutoPorIdNaProjecaoAtualizada() {
+        // Arrange
+        when(produtoProjecaoGateway.getIfAvailable()).thenReturn(projecao);
+        when(projecao.estaAtualizada()).thenReturn(true);
+        when(projecao.buscarPorId(1L)).thenReturn(Optional.of(produto1));
+
+        // Act
+        Produto resultado = buscarProdutoUsecase.buscarPorId(1L);
+
+        // Assert
+        assertThat(resultado).isEqualTo(produto1);
+        verify(produtoGateway, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar produto por SKU no gateway quando a projeção está atrasada")
+    void deveBuscarProdutoPorSkuNoGatewayQuandoProjecaoAtrasada() {
+        // Arrange
+        when(produtoProjecaoGateway.getIfAvailable()).thenReturn(projecao);
+        when(projecao.estaAtualizada()).thenReturn(false);
+        when(produtoGateway.buscarPorSku("PROD-001")).thenReturn(Optional.of(produto1));
+
+        // Act
+        Produto resultado = buscarProdutoUsecase.buscarPorSku("PROD-001");
+
+        // Assert
+        assertThat(resultado).isEqualTo(produto1);
+        verify(projecao, never()).buscarPorSku(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no gateway o produto que ainda não está na projeção")
+    void deveBuscarNoGatewayProdutoAusenteNaProjecao() {
+        // Arrange
+        when(produtoProjecaoGateway.getIfAvailable()).thenReturn(projecao);
+        when(projecao.estaAtualizada()).thenReturn(true);
+        when(projecao.buscarPorId(2L)).thenReturn(Optional.empty());
+        when(produtoGateway.buscarPorId(2L)).thenReturn(Optional.of(produto2));
+
+        // Act
+        Produto resultado = buscarProdutoUsecase.buscarPorId(2L);
+
+        // Assert
+        assertThat(resultado).isEqualTo(produto2);
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando produto não encontrado por ID")
     void deveLancarExcecaoQuandoProdutoNaoEncontradoPorId() {
@@ -137,6 +210,54 @@ class BuscarProdutoUsecaseTest {
         verify(produtoGateway).buscarPorSku(sku);
     }
 
+    @Test
+    @DisplayName("Deve buscar em lote informando chaves não encontradas")
+    void deveBuscarEmLoteInformandoChavesNaoEncontradas() {
+        // Arrange
+        when(produtoGateway.buscarPorIds(any())).thenReturn(Arrays.asList(produto1));
+        when(produtoGateway.buscarPorSkus(any())).thenReturn(Arrays.asList(produto1, produto2));
+
+        // Act
+        ResultadoBuscaEmLote resultado = buscarProdutoUsecase.buscarEmLote(
+                Arrays.asList(1L, 99L, 1L), Arrays.asList("PROD-002", "PROD-001", "SKU-INEXISTENTE"));
+
+        // Assert
+        assertThat(resultado.getProdutos()).containsExactly(produto1, produto2);
+        assertThat(resultado.getIdsNaoEncontrados()).containsExactly(99L);
+        assertThat(resultado.getSkusNaoEncontrados()).containsExactly("SKU-INEXISTENTE");
+
+        verify(produtoGateway).buscarPorIds(any());
+        verify(produtoGateway).buscarPorSkus(any());
+        verify(produtoGateway, never()).buscarPorId(any());
+        verify(produtoGateway, never()).buscarPorSku(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando busca em lote não tem chaves")
+    void deveLancarExcecaoQuandoBuscaEmLoteSemChaves() {
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarEmLote(null, Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Informe ao menos um ID ou SKU");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando busca em lote excede o limite")
+    void deveLancarExcecaoQuandoBuscaEmLoteExcedeLimite() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i <= BuscarProdutoUsecase.LIMITE_BUSCA_EM_LOTE; i++) {
+            ids.add(i);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarEmLote(ids, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Busca em lote limitada a " + BuscarProdutoUsecase.LIMITE_BUSCA_EM_LOTE + " IDs e SKUs por requisição");
+
+        verify(produtoGateway, never()).buscarPorIds(any());
+    }
+
     @Test
     @DisplayName("Deve buscar todos os produtos")
     void deveBuscarTodosOsProdutos() {
@@ -169,6 +290,227 @@ class BuscarProdutoUsecaseTest {
         verify(produtoGateway).buscarTodos();
     }
 
+    @Test
+    @DisplayName("Deve buscar primeira página com tamanho padrão ordenada por ID")
+    void deveBuscarPrimeiraPaginaComTamanhoPadrao() {
+        // Arrange
+        Pagina<Produto> pagina = new Pagina<>(Arrays.asList(produto1, produto2), "cursor-proximo");
+        when(produtoGateway.buscarPagina(FILTRO_SEM_RESTRICAO, Ordenacao.ID, null, BuscarProdutoUsecase.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(pagina);
+
+        // Act
+        Pagina<Produto> resultado = buscarProdutoUsecase.buscarPagina(null, null, null, null);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(produto1, produto2);
+        assertThat(resultado.temProxima()).isTrue();
+
+        verify(produtoGateway).buscarPagina(FILTRO_SEM_RESTRICAO, Ordenacao.ID, null, BuscarProdutoUsecase.TAMANHO_PAGINA_PADRAO);
+    }
+
+    @Test
+    @DisplayName("Deve decodificar cursor e seguir a ordenação nele registrada")
+    void deveDecodificarCursorESeguirOrdenacao() {
+        // Arrange
+        CursorPaginacao cursor = new CursorPaginacao(Ordenacao.PRECO, 2L, "20.00");
+        Pagina<Produto> pagina = new Pagina<>(Collections.singletonList(produto3), null);
+        when(produtoGateway.buscarPagina(FILTRO_SEM_RESTRICAO, Ordenacao.PRECO, cursor, 10)).thenReturn(pagina);
+
+        // Act
+        Pagina<Produto> resultado = buscarProdutoUsecase.buscarPagina(null, cursor.codificar(), null, 10);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(produto3);
+        assertThat(resultado.temProxima()).isFalse();
+
+        verify(produtoGateway).buscarPagina(FILTRO_SEM_RESTRICAO, Ordenacao.PRECO, cursor, 10);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando cursor não corresponde à ordenação")
+    void deveLancarExcecaoQuandoCursorNaoCorrespondeAOrdenacao() {
+        // Arrange
+        String cursor = new CursorPaginacao(Ordenacao.NOME, 2L, "Produto 2").codificar();
+
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPagina(null, cursor, Ordenacao.PRECO, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor não corresponde à ordenação solicitada");
+
+        verify(produtoGateway, never()).buscarPagina(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve buscar página resumida com o cursor e o filtro da listagem completa")
+    void deveBuscarPaginaResumidaComCursorEFiltroDaListagemCompleta() {
+        // Arrange
+        CursorPaginacao cursor = new CursorPaginacao(Ordenacao.NOME, 1L, "Produto 1");
+        FiltroProduto filtro = FiltroProduto.builder().categoria(" eletrônicos ").build();
+        FiltroProduto filtroNormalizado = FiltroProduto.builder().categoria("eletrônicos").apenasAtivos(true).build();
+        ResumoProduto resumo = new ResumoProduto(2L, "Produto 2", "SKU-002", new BigDecimal("20.00"), "eletrônicos", true);
+        when(produtoGateway.buscarPaginaResumida(filtroNormalizado, Ordenacao.NOME, cursor, 10))
+                .thenReturn(new Pagina<>(Collections.singletonList(resumo), null));
+
+        // Act
+        Pagina<ResumoProduto> resultado = buscarProdutoUsecase.buscarPaginaResumida(filtro, cursor.codificar(), null, 10);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(resumo);
+        assertThat(resultado.temProxima()).isFalse();
+
+        verify(produtoGateway, never()).buscarPagina(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve validar tamanho da página resumida antes de consultar")
+    void deveValidarTamanhoDaPaginaResumida() {
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPaginaResumida(null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Tamanho da página deve estar entre 1 e " + BuscarProdutoUsecase.TAMANHO_PAGINA_MAXIMO);
+
+        verify(produtoGateway, never()).buscarPaginaResumida(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para cursor inválido")
+    void deveLancarExcecaoParaCursorInvalido() {
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPagina(null, "nao-e-um-cursor", null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor inválido");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para tamanho de página fora do limite")
+    void deveLancarExcecaoParaTamanhoDePaginaForaDoLimite() {
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPagina(null, null, Ordenacao.ID, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Tamanho da página deve estar entre 1 e " + BuscarProdutoUsecase.TAMANHO_PAGINA_MAXIMO);
+
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPagina(null, null, Ordenacao.ID, BuscarProdutoUsecase.TAMANHO_PAGINA_MAXIMO + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve combinar categoria, faixa de preço e termo em um único filtro")
+    void deveCombinarFiltrosEmUmaUnicaBusca() {
+        // Arrange
+        FiltroProduto filtro = FiltroProduto.builder()
+                .categoria("  CATEGORIA_A ")
+                .precoMin(new BigDecimal("5.00"))
+                .precoMax(new BigDecimal("15.00"))
+                .termo(" produto ")
+                .build();
+        FiltroProduto filtroEsperado = FiltroProduto.builder()
+                .categoria("CATEGORIA_A")
+                .apenasAtivos(true)
+                .precoMin(new BigDecimal("5.00"))
+                .precoMax(new BigDecimal("15.00"))
+                .termo("produto")
+                .build();
+        Pagina<Produto> pagina = new Pagina<>(Collections.singletonList(produto1), null);
+        when(produtoGateway.buscarPagina(filtroEsperado, Ordenacao.PRECO, null, 10)).thenReturn(pagina);
+
+        // Act
+        Pagina<Produto> resultado = buscarProdutoUsecase.buscarPagina(filtro, null, Ordenacao.PRECO, 10);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(produto1);
+
+        verify(produtoGateway).buscarPagina(filtroEsperado, Ordenacao.PRECO, null, 10);
+    }
+
+    @Test
+    @DisplayName("Deve incluir inativos da categoria quando apenasAtivos for falso")
+    void deveIncluirInativosDaCategoriaQuandoSolicitado() {
+        // Arrange
+        FiltroProduto filtro = FiltroProduto.builder()
+                .categoria("CATEGORIA_C")
+                .apenasAtivos(false)
+                .build();
+        Pagina<Produto> pagina = new Pagina<>(Collections.singletonList(produto3), null);
+        when(produtoGateway.buscarPagina(filtro, Ordenacao.ID, null, BuscarProdutoUsecase.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(pagina);
+
+        // Act
+        Pagina<Produto> resultado = buscarProdutoUsecase.buscarPagina(filtro, null, null, null);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(produto3);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção na listagem quando preço mínimo for maior que o máximo")
+    void deveLancarExcecaoNaListagemQuandoPrecoMinimoMaiorQueMaximo() {
+        // Arrange
+        FiltroProduto filtro = FiltroProduto.builder()
+                .precoMin(new BigDecimal("100.00"))
+                .precoMax(new BigDecimal("50.00"))
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPagina(filtro, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Preço mínimo não pode ser maior que preço máximo");
+
+        verify(produtoGateway, never()).buscarPagina(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve buscar por texto com termo normalizado e cursor decodificado")
+    void deveBuscarPorTextoComCursor() {
+        // Arrange
+        CursorBusca cursor = new CursorBusca(0.6079271f, 2L);
+        Pagina<Produto> pagina = new Pagina<>(Collections.singletonList(produto3), null);
+        when(produtoGateway.buscarPorTexto("notebook gamer", cursor, BuscarProdutoUsecase.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(pagina);
+
+        // Act
+        Pagina<Produto> resultado = buscarProdutoUsecase.buscarPorTexto("  notebook gamer ", cursor.codificar(), null);
+
+        // Assert
+        assertThat(resultado.getItens()).containsExactly(produto3);
+
+        verify(produtoGateway).buscarPorTexto("notebook gamer", cursor, BuscarProdutoUsecase.TAMANHO_PAGINA_PADRAO);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando termo de busca está vazio ou é longo demais")
+    void deveLancarExcecaoParaTermoDeBuscaInvalido() {
+        // Act & Assert
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPorTexto("  ", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Termo de busca é obrigatório");
+        assertThatThrownBy(() -> buscarProdutoUsecase.buscarPorTexto(
+                "a".repeat(BuscarProdutoUsecase.TAMANHO_MAXIMO_TERMO_BUSCA + 1), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(produtoGateway, never()).buscarPorTexto(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve exportar produtos repassando cada um ao consumidor")
+    void deveExportarProdutosRepassandoAoConsumidor() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            consumidor.accept(produto1);
+            consumidor.accept(produto2);
+            return null;
+        }).when(produtoGateway).exportarTodos(any());
+        List<Produto> exportados = new ArrayList<>();
+
+        // Act
+        buscarProdutoUsecase.exportarTodos(exportados::add);
+
+        // Assert
+        assertThat(exportados).containsExactly(produto1, produto2);
+
+        verify(produtoGateway).exportarTodos(any());
+    }
+
     @Test
     @DisplayName("Deve buscar apenas produtos ativos")
     void deveBuscarApenasProdutosAtivos() {
@@ -322,4 +664,64 @@ class BuscarProdutoUsecaseTest {
 
         verify(produtoGateway).contarProdutosAtivos();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve retornar estatísticas com totais e preços derivados das categorias")
+    void deveRetornarEstatisticasDerivadasDasCategorias() {
+        // Arrange
+        EstatisticasProdutos estatisticas = EstatisticasProdutos.de(List.of(
+                new EstatisticaCategoria("ELETRÔNICOS", 2, 1, new BigDecimal("3000.00"), new BigDecimal("500.00"), new BigDecimal("2500.00")),
+                new EstatisticaCategoria("LIVROS", 3, 3, new BigDecimal("100.00"), new BigDecimal("20.00"), new BigDecimal("50.00")),
+                new EstatisticaCategoria(null, 1, 0, new BigDecimal("10.00"), new BigDecimal("10.00"), new BigDecimal("10.00"))));
+        when(produtoGateway.buscarEstatisticas()).thenReturn(estatisticas);
+
+        // Act
+        EstatisticasProdutos resultado = buscarProdutoUsecase.buscarEstatisticas();
+
+        // Assert
+        assertThat(resultado.getTotalProdutos()).isEqualTo(6);
+        assertThat(resultado.getProdutosAtivos()).isEqualTo(4);
+        assertThat(resultado.getPrecoMinimo()).isEqualByComparingTo("10.00");
+        assertThat(resultado.getPrecoMedio()).isEqualByComparingTo("518.33");
+        assertThat(resultado.getPrecoMaximo()).isEqualByComparingTo("2500.00");
+        assertThat(resultado.getCategorias()).extracting(EstatisticaCategoria::getPrecoMedio)
+                .containsExactly(new BigDecimal("1500.00"), new BigDecimal("33.33"), new BigDecimal("10.00"));
+
+        verify(produtoGateway).buscarEstatisticas();
+    }
+
+    @Test
+    @DisplayName("Deve retornar estatísticas vazias sem produtos cadastrados")
+    void deveRetornarEstatisticasVazias() {
+        // Arrange
+        when(produtoGateway.buscarEstatisticas()).thenReturn(EstatisticasProdutos.de(List.of()));
+
+        // Act
+        EstatisticasProdutos resultado = buscarProdutoUsecase.buscarEstatisticas();
+
+        // Assert
+        assertThat(resultado.getTotalProdutos()).isZero();
+        assertThat(resultado.getPrecoMedio()).isNull();
+        assertThat(resultado.getPrecoMinimo()).isNull();
+        assertThat(resultado.getCategorias()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve retornar a distribuição de preços por categoria do gateway")
+    void deveRetornarDistribuicaoDePrecosPorCategoria() {
+        // Arrange
+        List<DistribuicaoPrecosCategoria> distribuicao = List.of(new DistribuicaoPrecosCategoria("LIVROS", 3, 2,
+                new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("30.00"),
+                new BigDecimal("38.00"), new BigDecimal("39.80")));
+        when(produtoGateway.buscarDistribuicaoPrecosPorCategoria()).thenReturn(distribuicao);
+
+        // Act
+        List<DistribuicaoPrecosCategoria> resultado = buscarProdutoUsecase.buscarDistribuicaoPrecosPorCategoria();
+
+        // Assert
+        assertThat(resultado).isEqualTo(distribuicao);
+
+        verify(produtoGateway).buscarDistribuicaoPrecosPorCategoria();
+        verify(produtoGateway, never()).buscarTodos();
+    }
+}
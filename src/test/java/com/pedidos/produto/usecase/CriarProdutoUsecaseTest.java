@@ -1,7 +1,9 @@
 package com.pedidos.produto.usecase;
 
 import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
 import com.pedidos.produto.exception.SkuJaExisteException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
 import com.pedidos.produto.gateway.ProdutoGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,7 +12,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
 
@@ -19,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,7 +34,7 @@ class CriarProdutoUsecaseTest {
     private ProdutoGateway produtoGateway;
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ProdutoEventoGateway produtoEventoGateway;
 
     @InjectMocks
     private CriarProdutoUsecase criarProdutoUsecase;
@@ -78,7 +80,7 @@ class CriarProdutoUsecaseTest {
 
         verify(produtoGateway).existePorSku(sku);
         verify(produtoGateway).salvar(any(Produto.class));
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_CRIADO"), any(Produto.class));
     }
 
     @Test
@@ -94,12 +96,12 @@ class CriarProdutoUsecaseTest {
 
         verify(produtoGateway).existePorSku(sku);
         verify(produtoGateway, never()).salvar(any(Produto.class));
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(produtoEventoGateway, never()).registrar(anyString(), any());
     }
 
     @Test
-    @DisplayName("Deve criar produto mesmo quando publicação no Kafka falha")
-    void deveCriarProdutoMesmoQuandoKafkaFalha() {
+    @DisplayName("Deve propagar erro quando o registro do evento no outbox falha")
+    void devePropagarErroQuandoRegistroDoEventoFalha() {
         // Arrange
         when(produtoGateway.existePorSku(sku)).thenReturn(false);
         
@@ -107,18 +109,16 @@ class CriarProdutoUsecaseTest {
         produtoEsperado.setId(1L);
         
         when(produtoGateway.salvar(any(Produto.class))).thenReturn(produtoEsperado);
-        when(kafkaTemplate.send(anyString(), any())).thenThrow(new RuntimeException("Kafka indisponível"));
+        doThrow(new ErroAoAcessarRepositorioException("Erro ao registrar evento no outbox", new RuntimeException()))
+                .when(produtoEventoGateway).registrar(anyString(), any(Produto.class));
 
-        // Act
-        Produto resultado = criarProdutoUsecase.executar(nome, sku, descricao, preco, categoria);
-
-        // Assert
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.getId()).isEqualTo(1L);
+        // Act & Assert
+        // Sem o evento a transação inteira é desfeita, em vez de salvar o produto e perder a notificação
+        assertThatThrownBy(() -> criarProdutoUsecase.executar(nome, sku, descricao, preco, categoria))
+                .isInstanceOf(ErroAoAcessarRepositorioException.class);
 
-        verify(produtoGateway).existePorSku(sku);
         verify(produtoGateway).salvar(any(Produto.class));
-        verify(kafkaTemplate).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway).registrar(eq("PRODUTO_CRIADO"), eq(produtoEsperado));
     }
 
     @Test
@@ -196,6 +196,6 @@ class CriarProdutoUsecaseTest {
         criarProdutoUsecase.executar(nome, sku, descricao, preco, categoria);
 
         // Assert
-        verify(kafkaTemplate, times(1)).send(eq("produto-events"), any(CriarProdutoUsecase.ProdutoEventMessage.class));
+        verify(produtoEventoGateway, times(1)).registrar(eq("PRODUTO_CRIADO"), any(Produto.class));
     }
 }
\ No newline at end of file
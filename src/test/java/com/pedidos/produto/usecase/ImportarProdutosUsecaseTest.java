@@ -0,0 +1,168 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.LinhaImportacao;
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.domain.ResultadoImportacao;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportarProdutosUsecase - Testes Unitários")
+class ImportarProdutosUsecaseTest {
+
+    @Mock
+    private ProdutoGateway produtoGateway;
+
+    @Mock
+    private ProdutoEventoGateway produtoEventoGateway;
+
+    private ImportarProdutosUsecase importarProdutosUsecase;
+
+    @BeforeEach
+    void setUp() {
+        importarProdutosUsecase = new ImportarProdutosUsecase(produtoGateway, produtoEventoGateway,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private LinhaImportacao linha(long numero, String sku) {
+        return LinhaImportacao.builder()
+                .numero(numero)
+                .nome("Produto " + numero)
+                .sku(sku)
+                .preco(new BigDecimal("10.00"))
+                .categoria("CATEGORIA_A")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simularSalvamento() {
+        when(produtoGateway.salvarTodos(anyList())).thenAnswer(invocation -> {
+            List<Produto> produtos = invocation.getArgument(0);
+            long id = 1;
+            for (Produto produto : produtos) {
+                produto.setId(id++);
+            }
+            return produtos;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve importar produtos válidos e reportar erros por linha sem abortar a carga")
+    void deveImportarValidosEReportarErros() {
+        // Arrange
+        List<LinhaImportacao> linhas = Arrays.asList(
+                linha(2, "PROD-001"),
+                linha(3, "PROD-002"),
+                linha(4, "PROD-001"),
+                LinhaImportacao.comErro(5, "Preço inválido: abc"),
+                linha(6, "sku invalido"),
+                linha(7, "PROD-003"));
+        when(produtoGateway.buscarSkusExistentes(anyList())).thenReturn(Set.of("PROD-003"));
+        simularSalvamento();
+
+        // Act
+        ResultadoImportacao resultado = importarProdutosUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getTotalLinhas()).isEqualTo(6);
+        assertThat(resultado.getImportados()).isEqualTo(2);
+        assertThat(resultado.getTotalErros()).isEqualTo(4);
+        assertThat(resultado.getErros())
+                .extracting(ResultadoImportacao.ErroImportacao::getLinha)
+                .containsExactlyInAnyOrder(4L, 5L, 6L, 7L);
+        assertThat(resultado.getErros())
+                .filteredOn(erro -> erro.getLinha() == 7L)
+                .extracting(ResultadoImportacao.ErroImportacao::getMensagem)
+                .containsExactly("SKU já cadastrado no sistema: PROD-003");
+
+        verify(produtoGateway, times(1)).buscarSkusExistentes(anyList());
+        verify(produtoGateway, never()).existePorSku(anyString());
+        verify(produtoGateway, never()).salvar(any(Produto.class));
+        verify(produtoEventoGateway, times(1)).registrarTodos(eq("PRODUTO_CRIADO"), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve dividir a carga em lotes")
+    void deveDividirCargaEmLotes() {
+        // Arrange
+        List<LinhaImportacao> linhas = new ArrayList<>();
+        for (int i = 0; i < ImportarProdutosUsecase.TAMANHO_LOTE * 2 + 1; i++) {
+            linhas.add(linha(i + 2, "PROD-" + i));
+        }
+        when(produtoGateway.buscarSkusExistentes(anyList())).thenReturn(Collections.emptySet());
+        simularSalvamento();
+
+        // Act
+        ResultadoImportacao resultado = importarProdutosUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getImportados()).isEqualTo(ImportarProdutosUsecase.TAMANHO_LOTE * 2 + 1);
+        assertThat(resultado.getErros()).isEmpty();
+
+        verify(produtoGateway, times(3)).salvarTodos(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reportar as linhas do lote quando o salvamento falha e seguir para o próximo")
+    void deveReportarLinhasDoLoteQuandoSalvamentoFalha() {
+        // Arrange
+        List<LinhaImportacao> linhas = Arrays.asList(linha(2, "PROD-001"), linha(3, "PROD-002"));
+        when(produtoGateway.buscarSkusExistentes(anyList())).thenReturn(Collections.emptySet());
+        when(produtoGateway.salvarTodos(anyList()))
+                .thenThrow(new ErroAoAcessarRepositorioException("Erro ao salvar lote de produtos"));
+
+        // Act
+        ResultadoImportacao resultado = importarProdutosUsecase.executar(linhas.iterator());
+
+        // Assert
+        assertThat(resultado.getImportados()).isZero();
+        assertThat(resultado.getTotalErros()).isEqualTo(2);
+
+        verify(produtoEventoGateway, never()).registrarTodos(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reportar as linhas do lote quando o registro dos eventos falha")
+    void deveReportarLinhasDoLoteQuandoRegistroDosEventosFalha() {
+        // Arrange
+        List<LinhaImportacao> linhas = Arrays.asList(linha(2, "PROD-001"), linha(3, "PROD-002"));
+        when(produtoGateway.buscarSkusExistentes(anyList())).thenReturn(Collections.emptySet());
+        simularSalvamento();
+        doThrow(new ErroAoAcessarRepositorioException("Erro ao registrar eventos no outbox"))
+                .when(produtoEventoGateway).registrarTodos(anyString(), anyList());
+
+        // Act
+        ResultadoImportacao resultado = importarProdutosUsecase.executar(linhas.iterator());
+
+        // Assert
+        // Produtos e eventos do lote são gravados na mesma transação, então o lote conta como não importado
+        assertThat(resultado.getImportados()).isZero();
+        assertThat(resultado.getTotalErros()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,125 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.ErroAoAcessarRepositorioException;
+import com.pedidos.produto.gateway.ProdutoEventoGateway;
+import com.pedidos.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublicarSnapshotProdutosUsecase - Testes Unitários")
+class PublicarSnapshotProdutosUsecaseTest {
+
+    @Mock
+    private ProdutoGateway produtoGateway;
+
+    @Mock
+    private ProdutoEventoGateway produtoEventoGateway;
+
+    private PublicarSnapshotProdutosUsecase publicarSnapshotProdutosUsecase;
+
+    @BeforeEach
+    void setUp() {
+        publicarSnapshotProdutosUsecase = new PublicarSnapshotProdutosUsecase(produtoGateway, produtoEventoGateway,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private void simularTabela(int totalProdutos) {
+        when(produtoGateway.buscarLoteTravado(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long aposId = invocation.getArgument(0);
+            int limite = invocation.getArgument(1);
+            return LongStream.rangeClosed(aposId + 1, Math.min(aposId + limite, totalProdutos))
+                    .mapToObj(id -> Produto.builder().id(id).sku("SKU-" + id).ativo(true).build())
+                    .toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve registrar o snapshot de todos os produtos no outbox em lotes, incluindo o lote final incompleto")
+    @SuppressWarnings("unchecked")
+    void deveRegistrarTodosOsProdutosEmLotes() {
+        // Arrange
+        int total = PublicarSnapshotProdutosUsecase.TAMANHO_LOTE * 2 + 5;
+        simularTabela(total);
+
+        // Act
+        long registrados = publicarSnapshotProdutosUsecase.publicarTodos();
+
+        // Assert
+        assertThat(registrados).isEqualTo(total);
+        verify(produtoGateway).buscarLoteTravado(0L, PublicarSnapshotProdutosUsecase.TAMANHO_LOTE);
+        verify(produtoGateway).buscarLoteTravado((long) PublicarSnapshotProdutosUsecase.TAMANHO_LOTE * 2,
+                PublicarSnapshotProdutosUsecase.TAMANHO_LOTE);
+        ArgumentCaptor<List<Produto>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(produtoEventoGateway, times(3)).registrarSnapshots(eq(PublicarSnapshotProdutosUsecase.TIPO_EVENTO), lotes.capture());
+        assertThat(lotes.getAllValues()).extracting(List::size)
+                .containsExactly(PublicarSnapshotProdutosUsecase.TAMANHO_LOTE, PublicarSnapshotProdutosUsecase.TAMANHO_LOTE, 5);
+        assertThat(lotes.getAllValues().get(2).get(4).getId()).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma última busca vazia quando o total é múltiplo do lote")
+    void deveEncerrarComLoteVazio() {
+        // Arrange
+        simularTabela(PublicarSnapshotProdutosUsecase.TAMANHO_LOTE);
+
+        // Act
+        long registrados = publicarSnapshotProdutosUsecase.publicarTodos();
+
+        // Assert
+        assertThat(registrados).isEqualTo(PublicarSnapshotProdutosUsecase.TAMANHO_LOTE);
+        verify(produtoGateway, times(2)).buscarLoteTravado(anyLong(), anyInt());
+        verify(produtoEventoGateway, times(1)).registrarSnapshots(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar nada quando não há produtos")
+    void naoDeveRegistrarSemProdutos() {
+        // Arrange
+        simularTabela(0);
+
+        // Act
+        long registrados = publicarSnapshotProdutosUsecase.publicarTodos();
+
+        // Assert
+        assertThat(registrados).isZero();
+        verify(produtoEventoGateway, never()).registrarSnapshots(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a semeadura quando o registro de um lote falha")
+    void deveInterromperQuandoRegistroFalha() {
+        // Arrange
+        simularTabela(PublicarSnapshotProdutosUsecase.TAMANHO_LOTE + 1);
+        doThrow(new ErroAoAcessarRepositorioException("Erro ao registrar snapshots no outbox"))
+                .when(produtoEventoGateway).registrarSnapshots(any(), anyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> publicarSnapshotProdutosUsecase.publicarTodos())
+                .isInstanceOf(ErroAoAcessarRepositorioException.class);
+        verify(produtoGateway, times(1)).buscarLoteTravado(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,72 @@
+package com.pedidos.produto.usecase;
+
+import com.pedidos.produto.domain.Produto;
+import com.pedidos.produto.exception.IndiceIndisponivelException;
+import com.pedidos.produto.gateway.ProdutoSugestaoGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SugerirProdutosUsecase - Testes Unitários")
+class SugerirProdutosUsecaseTest {
+
+    @Mock
+    private ProdutoSugestaoGateway produtoSugestaoGateway;
+
+    @InjectMocks
+    private SugerirProdutosUsecase sugerirProdutosUsecase;
+
+    @Test
+    @DisplayName("Deve sugerir produtos com o limite padrão")
+    void deveSugerirComLimitePadrao() {
+        // Arrange
+        Produto produto = new Produto("Cabo HDMI", "CABO-001", null, new BigDecimal("10.00"), "ELETRÔNICOS");
+        when(produtoSugestaoGateway.estaDisponivel()).thenReturn(true);
+        when(produtoSugestaoGateway.sugerir("cab", SugerirProdutosUsecase.LIMITE_PADRAO)).thenReturn(List.of(produto));
+
+        // Act
+        List<Produto> resultado = sugerirProdutosUsecase.executar("cab", null);
+
+        // Assert
+        assertThat(resultado).containsExactly(produto);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para termo vazio ou limite fora da faixa")
+    void deveLancarExcecaoParaParametrosInvalidos() {
+        // Act & Assert
+        assertThatThrownBy(() -> sugerirProdutosUsecase.executar(" ", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Termo de busca é obrigatório");
+        assertThatThrownBy(() -> sugerirProdutosUsecase.executar("cab", SugerirProdutosUsecase.LIMITE_MAXIMO + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(produtoSugestaoGateway, never()).sugerir(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção enquanto o índice não terminou de carregar")
+    void deveLancarExcecaoQuandoIndiceIndisponivel() {
+        // Arrange
+        when(produtoSugestaoGateway.estaDisponivel()).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> sugerirProdutosUsecase.executar("cab", null))
+                .isInstanceOf(IndiceIndisponivelException.class);
+    }
+}